@@ -34,7 +34,8 @@ public interface EmailTemplateManager {
                               String tenantDomain) throws I18nEmailMgtException;
 
     /**
-     * Delete a template type from tenant registry.
+     * Delete a template type from tenant registry. If the default templates are not persisted in the tenant
+     * registry, a default template type cannot be deleted.
      *
      * @param templateDisplayName
      * @param tenantDomain
@@ -66,7 +67,9 @@ public interface EmailTemplateManager {
 
     /**
      * Delete an email template from the tenant registry. Email template is identified with the templateTypeName and
-     * localeCode.
+     * localeCode. If the default templates are not persisted in the tenant registry, deleting the tenant copy of a
+     * default template brings back the default template, and a default template without a tenant copy cannot be
+     * deleted.
      *
      * @param templateTypeName
      * @param localeCode
@@ -16,20 +16,27 @@
 
 package org.wso2.carbon.email.mgt;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonSyntaxException;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.email.mgt.cache.NotificationTemplateCache;
+import org.wso2.carbon.email.mgt.cache.NotificationTemplateCacheEntry;
+import org.wso2.carbon.email.mgt.cache.NotificationTemplateCacheKey;
+import org.wso2.carbon.email.mgt.cache.NotificationTemplateLocaleIndexCache;
+import org.wso2.carbon.email.mgt.cache.NotificationTemplateLocaleIndexCacheEntry;
+import org.wso2.carbon.email.mgt.cache.NotificationTemplateLocaleIndexCacheKey;
 import org.wso2.carbon.email.mgt.constants.I18nMgtConstants;
 import org.wso2.carbon.email.mgt.exceptions.I18nEmailMgtClientException;
 import org.wso2.carbon.email.mgt.exceptions.I18nEmailMgtException;
 import org.wso2.carbon.email.mgt.exceptions.I18nEmailMgtInternalException;
 import org.wso2.carbon.email.mgt.exceptions.I18nEmailMgtServerException;
 import org.wso2.carbon.email.mgt.exceptions.I18nMgtEmailConfigException;
+import org.wso2.carbon.email.mgt.internal.DefaultTemplateCatalog;
 import org.wso2.carbon.email.mgt.internal.I18nMgtDataHolder;
 import org.wso2.carbon.email.mgt.model.EmailTemplate;
 import org.wso2.carbon.email.mgt.util.I18nEmailUtil;
+import org.wso2.carbon.email.mgt.util.TemplateContentSerializer;
 import org.wso2.carbon.identity.base.IdentityRuntimeException;
 import org.wso2.carbon.identity.base.IdentityValidationUtil;
 import org.wso2.carbon.identity.core.persistence.registry.RegistryResourceMgtService;
@@ -48,10 +55,14 @@ import org.wso2.carbon.registry.core.Resource;
 import org.wso2.carbon.registry.core.ResourceImpl;
 import org.wso2.carbon.registry.core.exceptions.RegistryException;
 
-import java.nio.charset.Charset;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
 
 import static org.wso2.carbon.email.mgt.constants.I18nMgtConstants.DEFAULT_EMAIL_LOCALE;
 import static org.wso2.carbon.email.mgt.constants.I18nMgtConstants.DEFAULT_SMS_NOTIFICATION_LOCALE;
@@ -72,6 +83,8 @@ public class EmailTemplateManagerImpl implements EmailTemplateManager, Notificat
 
     private I18nMgtDataHolder dataHolder = I18nMgtDataHolder.getInstance();
     private RegistryResourceMgtService resourceMgtService = dataHolder.getRegistryResourceMgtService();
+    private NotificationTemplateCache notificationTemplateCache = NotificationTemplateCache.getInstance();
+    private NotificationTemplateLocaleIndexCache localeIndexCache = NotificationTemplateLocaleIndexCache.getInstance();
 
     private static final Log log = LogFactory.getLog(EmailTemplateManagerImpl.class);
 
@@ -148,7 +161,21 @@ public class EmailTemplateManagerImpl implements EmailTemplateManager, Notificat
         String templateType = I18nEmailUtil.getNormalizedName(emailTemplateDisplayName);
         String path = EMAIL_TEMPLATE_PATH + PATH_SEPARATOR + templateType;
 
+        // A default template type is merged into the template types of the tenant even after the tenant copy is
+        // deleted, so the deletion is rejected instead of reporting a success.
+        if (dataHolder.isDefaultTemplatesCopyOnWrite() && !dataHolder.getDefaultTemplateCatalog().getLocales(
+                NotificationChannels.EMAIL_CHANNEL.getChannelType(), templateType).isEmpty()) {
+            String message = String.format("Default email template type: %s cannot be deleted from %s tenant.",
+                    emailTemplateDisplayName, tenantDomain);
+            throw new I18nEmailMgtClientException(
+                    I18nMgtConstants.ErrorCodes.DEFAULT_EMAIL_TEMPLATE_DELETION_NOT_ALLOWED, message);
+        }
+
         try {
+            clearTemplateTypeFromCache(path, NotificationChannels.EMAIL_CHANNEL.getChannelType(), templateType,
+                    tenantDomain);
+            clearLocaleIndexFromCache(buildLocaleIndexCacheKey(NotificationChannels.EMAIL_CHANNEL.getChannelType(),
+                    templateType), tenantDomain);
             resourceMgtService.deleteIdentityResource(path, tenantDomain);
         } catch (IdentityRuntimeException ex) {
             String errorMsg = String.format
@@ -170,11 +197,28 @@ public class EmailTemplateManagerImpl implements EmailTemplateManager, Notificat
             Collection collection = (Collection) resourceMgtService.getIdentityResource(EMAIL_TEMPLATE_PATH,
                     tenantDomain);
 
-            for (String templatePath : collection.getChildren()) {
-                Resource templateTypeResource = resourceMgtService.getIdentityResource(templatePath, tenantDomain);
-                if (templateTypeResource != null) {
-                    String emailTemplateType = templateTypeResource.getProperty(EMAIL_TEMPLATE_TYPE_DISPLAY_NAME);
-                    templateTypeList.add(emailTemplateType);
+            // The email templates directory is not created for tenants which do not have customized templates when
+            // the default templates are not persisted in the tenant registry.
+            if (collection != null || !dataHolder.isDefaultTemplatesCopyOnWrite()) {
+                for (Resource templateTypeResource : getIdentityResources(Arrays.asList(collection.getChildren()),
+                        tenantDomain)) {
+                    if (templateTypeResource != null) {
+                        String emailTemplateType =
+                                templateTypeResource.getProperty(EMAIL_TEMPLATE_TYPE_DISPLAY_NAME);
+                        templateTypeList.add(emailTemplateType);
+                    }
+                }
+            }
+            if (dataHolder.isDefaultTemplatesCopyOnWrite()) {
+                Set<String> templateTypes = new HashSet<>();
+                for (String templateTypeDisplayName : templateTypeList) {
+                    templateTypes.add(I18nEmailUtil.getNormalizedName(templateTypeDisplayName));
+                }
+                for (String defaultTemplateType : dataHolder.getDefaultTemplateCatalog().getTemplateTypes(
+                        NotificationChannels.EMAIL_CHANNEL.getChannelType())) {
+                    if (templateTypes.add(I18nEmailUtil.getNormalizedName(defaultTemplateType))) {
+                        templateTypeList.add(defaultTemplateType);
+                    }
                 }
             }
             return templateTypeList;
@@ -194,11 +238,19 @@ public class EmailTemplateManagerImpl implements EmailTemplateManager, Notificat
                     tenantDomain);
 
             if (baseDirectory != null) {
-                for (String templateTypeDirectory : baseDirectory.getChildren()) {
-                    templateList.addAll(
-                            getAllTemplatesOfTemplateTypeFromRegistry(templateTypeDirectory, tenantDomain));
+                // Read the template type directories and then the templates of all the types in parallel batches.
+                List<String> templateTypePaths = Arrays.asList(baseDirectory.getChildren());
+                List<Resource> templateTypes = getIdentityResources(templateTypePaths, tenantDomain);
+                List<String> templatePaths = new ArrayList<>();
+                for (int i = 0; i < templateTypePaths.size(); i++) {
+                    if (templateTypes.get(i) instanceof Collection) {
+                        templatePaths.addAll(getTemplatePaths(templateTypePaths.get(i),
+                                (Collection) templateTypes.get(i), tenantDomain));
+                    }
                 }
+                templateList.addAll(getEmailTemplates(templatePaths, tenantDomain));
             }
+            addDefaultEmailTemplates(templateList, null);
         } catch (RegistryException | IdentityRuntimeException e) {
             String error = String.format("Error when retrieving email templates of %s tenant.", tenantDomain);
             throw new I18nEmailMgtServerException(error, e);
@@ -294,20 +346,56 @@ public class EmailTemplateManagerImpl implements EmailTemplateManager, Notificat
         validateTemplateLocale(locale);
         validateDisplayNameOfTemplateType(templateType);
         NotificationTemplate notificationTemplate = null;
+        String normalizedTemplateType = I18nEmailUtil.getNormalizedName(templateType);
 
         // Get notification template registry path.
-        String path;
-        if (NotificationChannels.SMS_CHANNEL.getChannelType().equals(notificationChannel)) {
-            path = SMS_TEMPLATE_PATH + PATH_SEPARATOR + I18nEmailUtil.getNormalizedName(templateType);
-        } else {
-            path = EMAIL_TEMPLATE_PATH + PATH_SEPARATOR + I18nEmailUtil.getNormalizedName(templateType);
-        }
+        String path = buildTemplateRootDirectoryPath(normalizedTemplateType, notificationChannel);
 
-        // Get registry resource.
+        // Resolve the locale of the template from the locales available for the template type.
+        String defaultLocale = getDefaultNotificationLocale(notificationChannel);
+        NotificationTemplateLocaleIndexCacheKey localeIndexKey =
+                buildLocaleIndexCacheKey(notificationChannel, normalizedTemplateType);
+        String resolvedLocale = locale;
         try {
-            Resource registryResource = resourceMgtService.getIdentityResource(path, tenantDomain, locale);
-            if (registryResource != null) {
-                notificationTemplate = getNotificationTemplate(registryResource, notificationChannel);
+            NotificationTemplateLocaleIndexCacheEntry localeIndex =
+                    getLocaleIndex(localeIndexKey, path, tenantDomain);
+            // An empty index means the template type is not available. The requested locale is looked up as it
+            // is then, without reading the template type collection again.
+            boolean indexedLocales = localeIndex != null && !localeIndex.getLocales().isEmpty();
+            if (indexedLocales) {
+                resolvedLocale = localeIndex.resolveLocale(locale, defaultLocale);
+                if (resolvedLocale == null) {
+                    String error = String
+                            .format(IdentityMgtConstants.ErrorMessages.ERROR_CODE_NO_TEMPLATE_FOUND.getMessage(),
+                                    templateType, locale, tenantDomain);
+                    throw new NotificationTemplateManagerServerException(
+                            IdentityMgtConstants.ErrorMessages.ERROR_CODE_NO_TEMPLATE_FOUND.getCode(), error);
+                }
+                if (log.isDebugEnabled() && !StringUtils.equalsIgnoreCase(locale, resolvedLocale)) {
+                    log.debug(String.format("'%s' template in '%s' locale was not found in '%s' tenant. Returning "
+                            + "the template in '%s' locale.", templateType, locale, tenantDomain, resolvedLocale));
+                }
+            }
+
+            // Get the template from the cache or else from the registry resource.
+            NotificationTemplateCacheKey cacheKey =
+                    buildTemplateCacheKey(notificationChannel, normalizedTemplateType, resolvedLocale);
+            NotificationTemplateCacheEntry cacheEntry = getTemplateFromCache(cacheKey, tenantDomain);
+            if (cacheEntry != null) {
+                notificationTemplate = cacheEntry.getNotificationTemplate();
+            } else {
+                Resource registryResource = resourceMgtService.getIdentityResource(path, tenantDomain,
+                        resolvedLocale);
+                if (registryResource != null) {
+                    notificationTemplate = getNotificationTemplate(registryResource, notificationChannel);
+                    addTemplateToCache(cacheKey, notificationTemplate, tenantDomain);
+                } else if ((notificationTemplate = getDefaultNotificationTemplate(notificationChannel,
+                        normalizedTemplateType, resolvedLocale)) != null) {
+                    addTemplateToCache(cacheKey, notificationTemplate, tenantDomain);
+                } else if (indexedLocales) {
+                    // The index is out of date. It is rebuilt from the registry on the next request.
+                    clearLocaleIndexFromCache(localeIndexKey, tenantDomain);
+                }
             }
         } catch (IdentityRuntimeException exception) {
             String error = String
@@ -320,8 +408,7 @@ public class EmailTemplateManagerImpl implements EmailTemplateManager, Notificat
 
         // Handle not having the requested SMS template type in required locale for this tenantDomain.
         if (notificationTemplate == null) {
-            String defaultLocale = getDefaultNotificationLocale(notificationChannel);
-            if (StringUtils.equalsIgnoreCase(defaultLocale, locale)) {
+            if (StringUtils.equalsIgnoreCase(defaultLocale, resolvedLocale)) {
 
                 // Template is not available in the default locale. Therefore, breaking the flow at the consuming side
                 // to avoid NPE.
@@ -334,8 +421,8 @@ public class EmailTemplateManagerImpl implements EmailTemplateManager, Notificat
                 if (log.isDebugEnabled()) {
                     String message = String
                             .format("'%s' template in '%s' locale was not found in '%s' tenant. Trying to return the "
-                                            + "template in default locale : '%s'", templateType, locale, tenantDomain,
-                                    DEFAULT_SMS_NOTIFICATION_LOCALE);
+                                            + "template in default locale : '%s'", templateType, resolvedLocale,
+                                    tenantDomain, defaultLocale);
                     log.debug(message);
                 }
                 // Try to get the template type in default locale.
@@ -406,13 +493,10 @@ public class EmailTemplateManagerImpl implements EmailTemplateManager, Notificat
         try {
             Object content = templateResource.getContent();
             if (content != null) {
-                byte[] templateContentArray = (byte[]) content;
-                String templateContent = new String(templateContentArray, Charset.forName("UTF-8"));
-
                 String[] templateContentElements;
                 try {
-                    templateContentElements = new Gson().fromJson(templateContent, String[].class);
-                } catch (JsonSyntaxException exception) {
+                    templateContentElements = TemplateContentSerializer.deserialize((byte[]) content);
+                } catch (JsonSyntaxException | IllegalArgumentException exception) {
                     String error = String.format(IdentityMgtConstants.ErrorMessages.
                             ERROR_CODE_DESERIALIZING_TEMPLATE_FROM_TENANT_REGISTRY.getMessage(), displayName, locale);
                     throw new NotificationTemplateManagerServerException(IdentityMgtConstants.ErrorMessages.
@@ -502,10 +586,9 @@ public class EmailTemplateManagerImpl implements EmailTemplateManager, Notificat
             templateContent = new String[]{body};
         }
         templateResource.setMediaType(RegistryConstants.TAG_MEDIA_TYPE);
-        String content = new Gson().toJson(templateContent);
         try {
-            byte[] contentByteArray = content.getBytes(StandardCharsets.UTF_8);
-            templateResource.setContent(contentByteArray);
+            templateResource.setContent(TemplateContentSerializer.serialize(templateContent,
+                    dataHolder.isCompactTemplateContent()));
         } catch (RegistryException e) {
             String code =
                     I18nEmailUtil.prependOperationScenarioToErrorCode(
@@ -544,6 +627,8 @@ public class EmailTemplateManagerImpl implements EmailTemplateManager, Notificat
                 }
             }
             resourceMgtService.putIdentityResource(templateResource, path, tenantDomain, locale);
+            clearTemplateFromCache(buildTemplateCacheKey(notificationChannel, type, locale), tenantDomain);
+            addLocaleToLocaleIndex(buildLocaleIndexCacheKey(notificationChannel, type), locale, tenantDomain);
         } catch (IdentityRuntimeException e) {
             String code = I18nEmailUtil.prependOperationScenarioToErrorCode(
                     I18nMgtConstants.ErrorMessages.ERROR_CODE_ERROR_ERROR_ADDING_TEMPLATE.getCode(),
@@ -594,7 +679,21 @@ public class EmailTemplateManagerImpl implements EmailTemplateManager, Notificat
         String path = EMAIL_TEMPLATE_PATH + PATH_SEPARATOR + templateType;
 
         try {
+            // Deleting the tenant copy of a default template brings back the default template. A default template
+            // without a tenant copy cannot be deleted.
+            if (getDefaultNotificationTemplate(NotificationChannels.EMAIL_CHANNEL.getChannelType(), templateType,
+                    localeCode) != null && resourceMgtService.getIdentityResource(path + PATH_SEPARATOR +
+                    localeCode.toLowerCase(), tenantDomain) == null) {
+                String message = String.format("Default email template: %s:%s cannot be deleted from %s tenant.",
+                        templateTypeName, localeCode, tenantDomain);
+                throw new I18nEmailMgtClientException(
+                        I18nMgtConstants.ErrorCodes.DEFAULT_EMAIL_TEMPLATE_DELETION_NOT_ALLOWED, message);
+            }
             resourceMgtService.deleteIdentityResource(path, tenantDomain, localeCode);
+            clearTemplateFromCache(buildTemplateCacheKey(NotificationChannels.EMAIL_CHANNEL.getChannelType(),
+                    templateType, localeCode), tenantDomain);
+            removeLocaleFromLocaleIndex(buildLocaleIndexCacheKey(NotificationChannels.EMAIL_CHANNEL.getChannelType(),
+                    templateType), localeCode, tenantDomain);
         } catch (IdentityRuntimeException ex) {
             String msg = String.format("Error deleting %s:%s template from %s tenant registry.", templateTypeName,
                     localeCode, tenantDomain);
@@ -635,6 +734,14 @@ public class EmailTemplateManagerImpl implements EmailTemplateManager, Notificat
     public void addDefaultNotificationTemplates(String notificationChannel, String tenantDomain)
             throws NotificationTemplateManagerException {
 
+        if (dataHolder.isDefaultTemplatesCopyOnWrite()) {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Default %s templates are served from memory. Hence not adding them to the "
+                        + "tenant registry : %s", notificationChannel, tenantDomain));
+            }
+            return;
+        }
+
         // Get the list of Default notification templates.
         List<NotificationTemplate> notificationTemplates =
                 getDefaultNotificationTemplates(notificationChannel);
@@ -677,15 +784,72 @@ public class EmailTemplateManagerImpl implements EmailTemplateManager, Notificat
      * Get the notification templates which matches the given notification template type.
      *
      * @param notificationChannel Notification channel type. (Eg: EMAIL, SMS)
-     * @return List of default notification templates
+     * @return List of copies of the default notification templates
      */
     @Override
     public List<NotificationTemplate> getDefaultNotificationTemplates(String notificationChannel) {
 
+        DefaultTemplateCatalog defaultTemplateCatalog = I18nMgtDataHolder.getInstance().getDefaultTemplateCatalog();
         if (NotificationChannels.SMS_CHANNEL.getChannelType().equals(notificationChannel)) {
-            return I18nMgtDataHolder.getInstance().getDefaultSMSTemplates();
+            return defaultTemplateCatalog.getSMSTemplates();
         }
-        return I18nMgtDataHolder.getInstance().getDefaultEmailTemplates();
+        return defaultTemplateCatalog.getEmailTemplates();
+    }
+
+    /**
+     * Get the default notification templates of the given template type.
+     *
+     * @param notificationChannel Notification channel (SMS or EMAIL)
+     * @param templateType        Normalized template type
+     * @return Default notification templates of the template type
+     */
+    private List<NotificationTemplate> getDefaultNotificationTemplates(String notificationChannel,
+                                                                       String templateType) {
+
+        return I18nMgtDataHolder.getInstance().getDefaultTemplateCatalog().getTemplates(notificationChannel,
+                templateType);
+    }
+
+    /**
+     * Get a copy of the default notification template of the given type and locale, if the default templates are
+     * not persisted in the tenant registry.
+     *
+     * @param notificationChannel Notification channel (SMS or EMAIL)
+     * @param templateType        Normalized template type
+     * @param locale              Locale of the template
+     * @return Default notification template or null if it is not available
+     */
+    private NotificationTemplate getDefaultNotificationTemplate(String notificationChannel, String templateType,
+                                                                String locale) {
+
+        if (!dataHolder.isDefaultTemplatesCopyOnWrite()) {
+            return null;
+        }
+        NotificationTemplate defaultTemplate = I18nMgtDataHolder.getInstance().getDefaultTemplateCatalog()
+                .getTemplate(notificationChannel, templateType, locale);
+        return defaultTemplate != null ? normalizeDefaultNotificationTemplate(defaultTemplate) : null;
+    }
+
+    /**
+     * Set the fields of a copy of a default notification template as they would be read from the tenant registry.
+     *
+     * @param defaultTemplate Copy of a default notification template
+     * @return Notification template
+     */
+    private NotificationTemplate normalizeDefaultNotificationTemplate(NotificationTemplate defaultTemplate) {
+
+        defaultTemplate.setType(I18nEmailUtil.getNormalizedName(defaultTemplate.getDisplayName()));
+        if (NotificationChannels.SMS_CHANNEL.getChannelType().equals(defaultTemplate.getNotificationChannel())) {
+            defaultTemplate.setContentType(null);
+            defaultTemplate.setSubject(null);
+            defaultTemplate.setFooter(null);
+        } else {
+            String contentType = defaultTemplate.getContentType();
+            if (contentType != null && !contentType.toLowerCase().contains(I18nEmailUtil.CHARSET_CONSTANT)) {
+                defaultTemplate.setContentType(contentType + "; " + I18nEmailUtil.CHARSET_UTF_8);
+            }
+        }
+        return defaultTemplate;
     }
 
     @Override
@@ -699,7 +863,8 @@ public class EmailTemplateManagerImpl implements EmailTemplateManager, Notificat
 
         try {
             Resource template = resourceMgtService.getIdentityResource(path, tenantDomain);
-            return template != null;
+            return template != null || getDefaultNotificationTemplate(
+                    NotificationChannels.EMAIL_CHANNEL.getChannelType(), normalizedTemplateName, locale) != null;
         } catch (IdentityRuntimeException e) {
             String error = String.format("Error when retrieving email templates of %s tenant.", tenantDomain);
             throw new I18nEmailMgtServerException(error, e);
@@ -716,7 +881,9 @@ public class EmailTemplateManagerImpl implements EmailTemplateManager, Notificat
 
         try {
             Resource templateType = resourceMgtService.getIdentityResource(path, tenantDomain);
-            return templateType != null;
+            return templateType != null || (dataHolder.isDefaultTemplatesCopyOnWrite() &&
+                    !dataHolder.getDefaultTemplateCatalog().getLocales(
+                            NotificationChannels.EMAIL_CHANNEL.getChannelType(), normalizedTemplateName).isEmpty());
         } catch (IdentityRuntimeException e) {
             String error = String.format("Error when retrieving email templates of %s tenant.", tenantDomain);
             throw new I18nEmailMgtServerException(error, e);
@@ -832,23 +999,115 @@ public class EmailTemplateManagerImpl implements EmailTemplateManager, Notificat
                                                                           String tenantDomain)
             throws RegistryException, I18nEmailMgtClientException {
 
-        List<EmailTemplate> templateList = new ArrayList<>();
         Collection templateType = (Collection) resourceMgtService.getIdentityResource(templateTypeRegistryPath,
                 tenantDomain);
-
+        String type = templateTypeRegistryPath.substring(templateTypeRegistryPath.lastIndexOf(PATH_SEPARATOR) + 1);
+
+        if (templateType == null && dataHolder.isDefaultTemplatesCopyOnWrite()
+                && !dataHolder.getDefaultTemplateCatalog().getLocales(
+                NotificationChannels.EMAIL_CHANNEL.getChannelType(), type).isEmpty()) {
+            List<EmailTemplate> templateList = new ArrayList<>();
+            addDefaultEmailTemplates(templateList, type);
+            return templateList;
+        }
         if (templateType == null) {
-            String type = templateTypeRegistryPath.split(PATH_SEPARATOR)[
-                    templateTypeRegistryPath.split(PATH_SEPARATOR).length - 1];
             String message =
                     String.format("Email Template Type: %s not found in %s tenant registry.", type, tenantDomain);
             throw new I18nEmailMgtClientException(EMAIL_TEMPLATE_TYPE_NOT_FOUND, message);
         }
-        for (String template : templateType.getChildren()) {
-            Resource templateResource = resourceMgtService.getIdentityResource(template, tenantDomain);
+        List<EmailTemplate> templateList = getEmailTemplates(getTemplatePaths(templateTypeRegistryPath,
+                templateType, tenantDomain), tenantDomain);
+        addDefaultEmailTemplates(templateList, type);
+        return templateList;
+    }
+
+    /**
+     * Add the default email templates which are not customized by the tenant to the given template list, if the
+     * default templates are not persisted in the tenant registry.
+     *
+     * @param templateList Email templates of the tenant
+     * @param templateType Normalized template type of the default templates to be added, or null to add all
+     */
+    private void addDefaultEmailTemplates(List<EmailTemplate> templateList, String templateType) {
+
+        if (!dataHolder.isDefaultTemplatesCopyOnWrite()) {
+            return;
+        }
+        Set<String> tenantTemplates = new HashSet<>();
+        for (EmailTemplate emailTemplate : templateList) {
+            tenantTemplates.add(emailTemplate.getTemplateType() + PATH_SEPARATOR
+                    + StringUtils.lowerCase(emailTemplate.getLocale()));
+        }
+        List<NotificationTemplate> defaultTemplates = templateType == null ?
+                getDefaultNotificationTemplates(NotificationChannels.EMAIL_CHANNEL.getChannelType()) :
+                getDefaultNotificationTemplates(NotificationChannels.EMAIL_CHANNEL.getChannelType(), templateType);
+        for (NotificationTemplate defaultTemplate : defaultTemplates) {
+            String type = I18nEmailUtil.getNormalizedName(defaultTemplate.getDisplayName());
+            if (tenantTemplates.add(type + PATH_SEPARATOR + StringUtils.lowerCase(defaultTemplate.getLocale()))) {
+                templateList.add(buildEmailTemplate(normalizeDefaultNotificationTemplate(defaultTemplate)));
+            }
+        }
+    }
+
+    /**
+     * Get the template paths of a template type. The locale index of the template type is built from the paths as a
+     * side effect, if it is not cached already.
+     *
+     * @param templateTypePath Template type registry path
+     * @param templateType     Template type collection
+     * @param tenantDomain     Tenant domain
+     * @return Template paths
+     * @throws RegistryException Error reading the template type collection
+     */
+    private List<String> getTemplatePaths(String templateTypePath, Collection templateType, String tenantDomain)
+            throws RegistryException {
+
+        String[] templatePaths = templateType.getChildren();
+        String type = templateTypePath.substring(templateTypePath.lastIndexOf(PATH_SEPARATOR) + 1);
+        NotificationTemplateLocaleIndexCacheKey localeIndexKey =
+                buildLocaleIndexCacheKey(NotificationChannels.EMAIL_CHANNEL.getChannelType(), type);
+        if (StringUtils.isNotBlank(tenantDomain) && localeIndexCache.getValueFromCache(localeIndexKey,
+                tenantDomain) == null) {
+            localeIndexCache.addToCache(localeIndexKey, buildLocaleIndex(localeIndexKey, templatePaths),
+                    tenantDomain);
+        }
+        return Arrays.asList(templatePaths);
+    }
+
+    /**
+     * Get the email templates of the given paths. Templates available in the template cache are not read from the
+     * registry. The rest are read in parallel batches and added to the template cache.
+     *
+     * @param templatePaths Email template registry paths
+     * @param tenantDomain  Tenant domain
+     * @return Email templates
+     */
+    private List<EmailTemplate> getEmailTemplates(List<String> templatePaths, String tenantDomain) {
+
+        String channel = NotificationChannels.EMAIL_CHANNEL.getChannelType();
+        List<EmailTemplate> templateList = new ArrayList<>(templatePaths.size());
+        List<String> uncachedTemplatePaths = new ArrayList<>();
+        for (String templatePath : templatePaths) {
+            NotificationTemplateCacheEntry cacheEntry = getTemplateFromCache(
+                    buildTemplateCacheKeyFromPath(channel, templatePath), tenantDomain);
+            if (cacheEntry != null) {
+                templateList.add(buildEmailTemplate(cacheEntry.getNotificationTemplate()));
+            } else {
+                uncachedTemplatePaths.add(templatePath);
+            }
+        }
+
+        List<Resource> templateResources = getIdentityResources(uncachedTemplatePaths, tenantDomain);
+        for (int i = 0; i < uncachedTemplatePaths.size(); i++) {
+            Resource templateResource = templateResources.get(i);
             if (templateResource != null) {
                 try {
                     EmailTemplate templateDTO = I18nEmailUtil.getEmailTemplate(templateResource);
                     templateList.add(templateDTO);
+                    if (templateDTO.getBody() != null) {
+                        addTemplateToCache(buildTemplateCacheKeyFromPath(channel, uncachedTemplatePaths.get(i)),
+                                buildNotificationTemplateFromEmailTemplate(templateDTO), tenantDomain);
+                    }
                 } catch (I18nEmailMgtException ex) {
                     log.error("Failed retrieving a template object from the registry resource", ex);
                 }
@@ -857,6 +1116,43 @@ public class EmailTemplateManagerImpl implements EmailTemplateManager, Notificat
         return templateList;
     }
 
+    /**
+     * Read the registry resources of the given paths. Resources are read in parallel batches in the template loader
+     * executor, or one after the other if the executor is not available.
+     *
+     * @param paths        Registry paths
+     * @param tenantDomain Tenant domain
+     * @return Resources in the order of the paths. A resource is null if it is not available.
+     */
+    private List<Resource> getIdentityResources(List<String> paths, String tenantDomain) {
+
+        List<Resource> resources = new ArrayList<>(paths.size());
+        ExecutorService executor = dataHolder.getTemplateLoaderExecutor();
+        if (executor == null || paths.size() < 2) {
+            for (String path : paths) {
+                resources.add(resourceMgtService.getIdentityResource(path, tenantDomain));
+            }
+            return resources;
+        }
+
+        List<CompletableFuture<Resource>> futures = new ArrayList<>(paths.size());
+        for (String path : paths) {
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> resourceMgtService.getIdentityResource(path, tenantDomain), executor));
+        }
+        for (CompletableFuture<Resource> future : futures) {
+            try {
+                resources.add(future.join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+        return resources;
+    }
+
     private void handleServerException(String errorMsg, Throwable ex) throws I18nEmailMgtServerException {
 
         log.error(errorMsg);
@@ -957,6 +1253,189 @@ public class EmailTemplateManagerImpl implements EmailTemplateManager, Notificat
         return EMAIL_TEMPLATE_PATH + PATH_SEPARATOR + type;
     }
 
+    /**
+     * Build the cache key of a notification template.
+     *
+     * @param notificationChannel Notification channel (SMS or EMAIL)
+     * @param type                Normalized template type
+     * @param locale              Locale of the template
+     * @return Cache key
+     */
+    private NotificationTemplateCacheKey buildTemplateCacheKey(String notificationChannel, String type,
+                                                               String locale) {
+
+        // Templates of channels other than SMS are stored under the email templates path.
+        String channel = NotificationChannels.SMS_CHANNEL.getChannelType().equals(notificationChannel) ?
+                NotificationChannels.SMS_CHANNEL.getChannelType() : NotificationChannels.EMAIL_CHANNEL.getChannelType();
+        return new NotificationTemplateCacheKey(channel, type, locale);
+    }
+
+    private NotificationTemplateCacheKey buildTemplateCacheKeyFromPath(String notificationChannel,
+                                                                       String templatePath) {
+
+        String typePath = templatePath.substring(0, templatePath.lastIndexOf(PATH_SEPARATOR));
+        return buildTemplateCacheKey(notificationChannel, typePath.substring(typePath.lastIndexOf(PATH_SEPARATOR) + 1),
+                templatePath.substring(templatePath.lastIndexOf(PATH_SEPARATOR) + 1));
+    }
+
+    private NotificationTemplateCacheEntry getTemplateFromCache(NotificationTemplateCacheKey cacheKey,
+                                                                String tenantDomain) {
+
+        if (StringUtils.isBlank(tenantDomain)) {
+            return null;
+        }
+        return notificationTemplateCache.getValueFromCache(cacheKey, tenantDomain);
+    }
+
+    private void addTemplateToCache(NotificationTemplateCacheKey cacheKey, NotificationTemplate notificationTemplate,
+                                    String tenantDomain) {
+
+        if (StringUtils.isBlank(tenantDomain)) {
+            return;
+        }
+        notificationTemplateCache.addToCache(cacheKey, new NotificationTemplateCacheEntry(notificationTemplate),
+                tenantDomain);
+    }
+
+    private void clearTemplateFromCache(NotificationTemplateCacheKey cacheKey, String tenantDomain) {
+
+        if (StringUtils.isBlank(tenantDomain)) {
+            return;
+        }
+        notificationTemplateCache.clearCacheEntry(cacheKey, tenantDomain);
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("Cleared %s template : %s in locale : %s of tenant : %s from the cache.",
+                    cacheKey.getNotificationChannel(), cacheKey.getTemplateType(), cacheKey.getLocale(),
+                    tenantDomain));
+        }
+    }
+
+    private NotificationTemplateLocaleIndexCacheKey buildLocaleIndexCacheKey(String notificationChannel,
+                                                                             String type) {
+
+        String channel = NotificationChannels.SMS_CHANNEL.getChannelType().equals(notificationChannel) ?
+                NotificationChannels.SMS_CHANNEL.getChannelType() : NotificationChannels.EMAIL_CHANNEL.getChannelType();
+        return new NotificationTemplateLocaleIndexCacheKey(channel, type);
+    }
+
+    /**
+     * Get the locales available for the given template type from the cache or else from the template type
+     * collection in the registry. An empty index is cached if the template type is not available, so that the
+     * collection is not read again for each template request.
+     *
+     * @param cacheKey     Locale index cache key
+     * @param path         Template type registry path
+     * @param tenantDomain Tenant domain
+     * @return Locale index or null if the tenant domain is not available
+     */
+    private NotificationTemplateLocaleIndexCacheEntry getLocaleIndex(NotificationTemplateLocaleIndexCacheKey cacheKey,
+                                                                      String path, String tenantDomain) {
+
+        if (StringUtils.isBlank(tenantDomain)) {
+            return null;
+        }
+        NotificationTemplateLocaleIndexCacheEntry localeIndex =
+                localeIndexCache.getValueFromCache(cacheKey, tenantDomain);
+        if (localeIndex != null) {
+            return localeIndex;
+        }
+
+        Resource templateType = resourceMgtService.getIdentityResource(path, tenantDomain);
+        String[] templatePaths = new String[0];
+        if (templateType instanceof Collection) {
+            try {
+                templatePaths = ((Collection) templateType).getChildren();
+            } catch (RegistryException e) {
+                throw new IdentityRuntimeException("Error when retrieving the templates of template type : "
+                        + cacheKey.getTemplateType(), e);
+            }
+        }
+        localeIndex = buildLocaleIndex(cacheKey, templatePaths);
+        localeIndexCache.addToCache(cacheKey, localeIndex, tenantDomain);
+        return localeIndex;
+    }
+
+    /**
+     * Build the locale index of a template type from the template paths of the tenant and the default templates,
+     * if the default templates are not persisted in the tenant registry.
+     *
+     * @param cacheKey      Locale index cache key
+     * @param templatePaths Template paths of the template type in the tenant registry
+     * @return Locale index
+     */
+    private NotificationTemplateLocaleIndexCacheEntry buildLocaleIndex(NotificationTemplateLocaleIndexCacheKey cacheKey,
+                                                                       String[] templatePaths) {
+
+        List<String> locales = new ArrayList<>(templatePaths.length);
+        if (dataHolder.isDefaultTemplatesCopyOnWrite()) {
+            locales.addAll(dataHolder.getDefaultTemplateCatalog().getLocales(cacheKey.getNotificationChannel(),
+                    cacheKey.getTemplateType()));
+        }
+        for (String templatePath : templatePaths) {
+            locales.add(templatePath.substring(templatePath.lastIndexOf(PATH_SEPARATOR) + 1));
+        }
+        return new NotificationTemplateLocaleIndexCacheEntry(locales);
+    }
+
+    private void addLocaleToLocaleIndex(NotificationTemplateLocaleIndexCacheKey cacheKey, String locale,
+                                        String tenantDomain) {
+
+        if (StringUtils.isBlank(tenantDomain)) {
+            return;
+        }
+        NotificationTemplateLocaleIndexCacheEntry localeIndex =
+                localeIndexCache.getValueFromCache(cacheKey, tenantDomain);
+        if (localeIndex != null) {
+            localeIndexCache.addToCache(cacheKey, localeIndex.withLocale(locale), tenantDomain);
+        }
+    }
+
+    private void removeLocaleFromLocaleIndex(NotificationTemplateLocaleIndexCacheKey cacheKey, String locale,
+                                             String tenantDomain) {
+
+        if (StringUtils.isBlank(tenantDomain)) {
+            return;
+        }
+        NotificationTemplateLocaleIndexCacheEntry localeIndex =
+                localeIndexCache.getValueFromCache(cacheKey, tenantDomain);
+        if (localeIndex != null) {
+            localeIndexCache.addToCache(cacheKey, localeIndex.withoutLocale(locale), tenantDomain);
+        }
+    }
+
+    private void clearLocaleIndexFromCache(NotificationTemplateLocaleIndexCacheKey cacheKey, String tenantDomain) {
+
+        if (StringUtils.isBlank(tenantDomain)) {
+            return;
+        }
+        localeIndexCache.clearCacheEntry(cacheKey, tenantDomain);
+    }
+
+    /**
+     * Clear the cached templates of all the locales available under the given template type.
+     *
+     * @param path                Template type registry path
+     * @param notificationChannel Notification channel (SMS or EMAIL)
+     * @param type                Normalized template type
+     * @param tenantDomain        Tenant domain
+     */
+    private void clearTemplateTypeFromCache(String path, String notificationChannel, String type,
+                                            String tenantDomain) {
+
+        Resource templateType = resourceMgtService.getIdentityResource(path, tenantDomain);
+        if (!(templateType instanceof Collection)) {
+            return;
+        }
+        try {
+            for (String templatePath : ((Collection) templateType).getChildren()) {
+                String locale = templatePath.substring(templatePath.lastIndexOf(PATH_SEPARATOR) + 1);
+                clearTemplateFromCache(buildTemplateCacheKey(notificationChannel, type, locale), tenantDomain);
+            }
+        } catch (RegistryException e) {
+            throw new IdentityRuntimeException("Error when retrieving the templates of template type : " + type, e);
+        }
+    }
+
     /**
      * Build notification template model from the email template attributes.
      *
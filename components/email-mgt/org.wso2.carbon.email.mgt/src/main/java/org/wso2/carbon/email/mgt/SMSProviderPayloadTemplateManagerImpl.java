@@ -39,8 +39,6 @@ public class SMSProviderPayloadTemplateManagerImpl implements SMSProviderPayload
     @Override
     public SMSProviderTemplate getSMSProviderPayloadTemplateByProvider(String provider) {
 
-        return SMSProviderPayloadTemplateDataHolder.getInstance().getSmsProvidersAPIPayloads().stream()
-                .filter(smsProviderTemplate -> smsProviderTemplate.getProvider().equalsIgnoreCase(provider)).findAny()
-                .orElse(null);
+        return SMSProviderPayloadTemplateDataHolder.getInstance().getSmsProviderAPIPayload(provider);
     }
 }
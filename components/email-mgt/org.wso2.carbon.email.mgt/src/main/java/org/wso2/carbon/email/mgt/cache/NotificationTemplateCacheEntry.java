@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.email.mgt.cache;
+
+import org.wso2.carbon.identity.core.cache.CacheEntry;
+import org.wso2.carbon.identity.governance.model.NotificationTemplate;
+
+/**
+ * Cache entry of {@link NotificationTemplateCache}. Holds the content of a notification template so that a new
+ * {@link NotificationTemplate} can be handed out for every read without going to the registry.
+ */
+public class NotificationTemplateCacheEntry extends CacheEntry {
+
+    private static final long serialVersionUID = -5320478296358730512L;
+
+    private final String displayName;
+    private final String type;
+    private final String locale;
+    private final String contentType;
+    private final String notificationChannel;
+    private final String subject;
+    private final String body;
+    private final String footer;
+
+    public NotificationTemplateCacheEntry(NotificationTemplate notificationTemplate) {
+
+        this.displayName = notificationTemplate.getDisplayName();
+        this.type = notificationTemplate.getType();
+        this.locale = notificationTemplate.getLocale();
+        this.contentType = notificationTemplate.getContentType();
+        this.notificationChannel = notificationTemplate.getNotificationChannel();
+        this.subject = notificationTemplate.getSubject();
+        this.body = notificationTemplate.getBody();
+        this.footer = notificationTemplate.getFooter();
+    }
+
+    /**
+     * Build a new notification template from the cached content.
+     *
+     * @return {@link NotificationTemplate} object.
+     */
+    public NotificationTemplate getNotificationTemplate() {
+
+        NotificationTemplate notificationTemplate = new NotificationTemplate();
+        notificationTemplate.setDisplayName(displayName);
+        notificationTemplate.setType(type);
+        notificationTemplate.setLocale(locale);
+        notificationTemplate.setContentType(contentType);
+        notificationTemplate.setNotificationChannel(notificationChannel);
+        notificationTemplate.setSubject(subject);
+        notificationTemplate.setBody(body);
+        notificationTemplate.setFooter(footer);
+        return notificationTemplate;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.email.mgt.cache;
+
+import org.wso2.carbon.identity.core.cache.CacheKey;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Cache key of {@link NotificationTemplateCache}. The tenant is not a part of the key since the cache is tenant wise.
+ */
+public class NotificationTemplateCacheKey extends CacheKey {
+
+    private static final long serialVersionUID = 2761839546219470284L;
+
+    private final String notificationChannel;
+    private final String templateType;
+    private final String locale;
+
+    /**
+     * Create a cache key.
+     *
+     * @param notificationChannel Notification channel (SMS or EMAIL).
+     * @param templateType        Normalized template type.
+     * @param locale              Locale of the template. Locales are case insensitive as in the registry path.
+     */
+    public NotificationTemplateCacheKey(String notificationChannel, String templateType, String locale) {
+
+        this.notificationChannel = notificationChannel;
+        this.templateType = templateType;
+        this.locale = locale != null ? locale.toLowerCase(Locale.ENGLISH) : null;
+    }
+
+    public String getNotificationChannel() {
+
+        return notificationChannel;
+    }
+
+    public String getTemplateType() {
+
+        return templateType;
+    }
+
+    public String getLocale() {
+
+        return locale;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof NotificationTemplateCacheKey)) {
+            return false;
+        }
+        NotificationTemplateCacheKey that = (NotificationTemplateCacheKey) o;
+        return Objects.equals(notificationChannel, that.notificationChannel)
+                && Objects.equals(templateType, that.templateType) && Objects.equals(locale, that.locale);
+    }
+
+    @Override
+    public int hashCode() {
+
+        return Objects.hash(notificationChannel, templateType, locale);
+    }
+}
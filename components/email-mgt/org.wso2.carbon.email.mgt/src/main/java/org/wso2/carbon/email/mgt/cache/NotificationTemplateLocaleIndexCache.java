@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.email.mgt.cache;
+
+import org.wso2.carbon.identity.core.cache.BaseCache;
+
+/**
+ * Tenant wise cache of the locales in which the notification templates of a template type are available.
+ */
+public class NotificationTemplateLocaleIndexCache extends BaseCache<NotificationTemplateLocaleIndexCacheKey,
+        NotificationTemplateLocaleIndexCacheEntry> {
+
+    private static final String CACHE_NAME = "NotificationTemplateLocaleIndexCache";
+    private static volatile NotificationTemplateLocaleIndexCache instance;
+
+    private NotificationTemplateLocaleIndexCache() {
+
+        super(CACHE_NAME);
+    }
+
+    public static NotificationTemplateLocaleIndexCache getInstance() {
+
+        if (instance == null) {
+            synchronized (NotificationTemplateLocaleIndexCache.class) {
+                if (instance == null) {
+                    instance = new NotificationTemplateLocaleIndexCache();
+                }
+            }
+        }
+        return instance;
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.email.mgt.cache;
+
+import org.wso2.carbon.identity.core.cache.CacheEntry;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Cache entry of {@link NotificationTemplateLocaleIndexCache}. Holds the locales in which the templates of a
+ * template type are available and resolves the locale of a template request without going to the registry.
+ * Entries are immutable. A new entry is cached when a template is added or deleted.
+ */
+public class NotificationTemplateLocaleIndexCacheEntry extends CacheEntry {
+
+    private static final long serialVersionUID = -1838027366315529704L;
+
+    private static final String LOCALE_SEPARATOR = "_";
+
+    private final Set<String> locales;
+    // Locale used for each language when the requested locale is not available.
+    private final Map<String, String> languageLocales;
+
+    /**
+     * Create a cache entry.
+     *
+     * @param locales Locales in which the templates are available. Locales are case insensitive as in the registry
+     *                path.
+     */
+    public NotificationTemplateLocaleIndexCacheEntry(Collection<String> locales) {
+
+        Set<String> normalizedLocales = new TreeSet<>();
+        for (String locale : locales) {
+            normalizedLocales.add(normalize(locale));
+        }
+        Map<String, String> languageLocales = new HashMap<>();
+        for (String locale : normalizedLocales) {
+            String language = getLanguage(locale);
+            // Prefer the locale of the country with the same code as the language, eg: fr_fr for fr_ca.
+            if (!languageLocales.containsKey(language) || locale.equals(language + LOCALE_SEPARATOR + language)) {
+                languageLocales.put(language, locale);
+            }
+        }
+        this.locales = Collections.unmodifiableSet(normalizedLocales);
+        this.languageLocales = Collections.unmodifiableMap(languageLocales);
+    }
+
+    public Set<String> getLocales() {
+
+        return locales;
+    }
+
+    /**
+     * Resolve the locale of the template to be returned for the requested locale. The requested locale is used if
+     * the template is available in it, or else a locale of the same language, or else the default locale.
+     *
+     * @param locale        Requested locale.
+     * @param defaultLocale Default locale of the notification channel.
+     * @return Resolved locale in lower case or null if the template is not available in any of them.
+     */
+    public String resolveLocale(String locale, String defaultLocale) {
+
+        String normalizedLocale = normalize(locale);
+        if (locales.contains(normalizedLocale)) {
+            return normalizedLocale;
+        }
+        String languageLocale = languageLocales.get(getLanguage(normalizedLocale));
+        if (languageLocale != null) {
+            return languageLocale;
+        }
+        String normalizedDefaultLocale = normalize(defaultLocale);
+        if (locales.contains(normalizedDefaultLocale)) {
+            return normalizedDefaultLocale;
+        }
+        return null;
+    }
+
+    /**
+     * Create an entry with the given locale added.
+     *
+     * @param locale Locale of the added template.
+     * @return Cache entry.
+     */
+    public NotificationTemplateLocaleIndexCacheEntry withLocale(String locale) {
+
+        Set<String> updatedLocales = new HashSet<>(locales);
+        updatedLocales.add(locale);
+        return new NotificationTemplateLocaleIndexCacheEntry(updatedLocales);
+    }
+
+    /**
+     * Create an entry with the given locale removed.
+     *
+     * @param locale Locale of the deleted template.
+     * @return Cache entry.
+     */
+    public NotificationTemplateLocaleIndexCacheEntry withoutLocale(String locale) {
+
+        Set<String> updatedLocales = new HashSet<>(locales);
+        updatedLocales.remove(normalize(locale));
+        return new NotificationTemplateLocaleIndexCacheEntry(updatedLocales);
+    }
+
+    private static String normalize(String locale) {
+
+        return locale.toLowerCase(Locale.ENGLISH);
+    }
+
+    private static String getLanguage(String locale) {
+
+        int separatorIndex = locale.indexOf(LOCALE_SEPARATOR);
+        return separatorIndex > 0 ? locale.substring(0, separatorIndex) : locale;
+    }
+}
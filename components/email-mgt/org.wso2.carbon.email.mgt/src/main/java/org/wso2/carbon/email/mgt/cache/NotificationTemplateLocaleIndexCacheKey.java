@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.email.mgt.cache;
+
+import org.wso2.carbon.identity.core.cache.CacheKey;
+
+import java.util.Objects;
+
+/**
+ * Cache key of {@link NotificationTemplateLocaleIndexCache}. The tenant is not a part of the key since the cache is
+ * tenant wise.
+ */
+public class NotificationTemplateLocaleIndexCacheKey extends CacheKey {
+
+    private static final long serialVersionUID = 4418062961257388401L;
+
+    private final String notificationChannel;
+    private final String templateType;
+
+    /**
+     * Create a cache key.
+     *
+     * @param notificationChannel Notification channel (SMS or EMAIL).
+     * @param templateType        Normalized template type.
+     */
+    public NotificationTemplateLocaleIndexCacheKey(String notificationChannel, String templateType) {
+
+        this.notificationChannel = notificationChannel;
+        this.templateType = templateType;
+    }
+
+    public String getNotificationChannel() {
+
+        return notificationChannel;
+    }
+
+    public String getTemplateType() {
+
+        return templateType;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof NotificationTemplateLocaleIndexCacheKey)) {
+            return false;
+        }
+        NotificationTemplateLocaleIndexCacheKey that = (NotificationTemplateLocaleIndexCacheKey) o;
+        return Objects.equals(notificationChannel, that.notificationChannel)
+                && Objects.equals(templateType, that.templateType);
+    }
+
+    @Override
+    public int hashCode() {
+
+        return Objects.hash(notificationChannel, templateType);
+    }
+}
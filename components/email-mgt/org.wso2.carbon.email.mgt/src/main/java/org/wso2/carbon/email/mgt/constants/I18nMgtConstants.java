@@ -38,6 +38,10 @@ public class I18nMgtConstants {
     public static final String SMS_TEMPLAE_ADMIN_CONF_FILE = "sms-templates-admin-config.xml";
     public static final String DEFAULT_EMAIL_LOCALE = "en_us";
     public static final String DEFAULT_SMS_NOTIFICATION_LOCALE = "en_us";
+    public static final String DEFAULT_TEMPLATES_COPY_ON_WRITE = "NotificationTemplates.DefaultTemplatesCopyOnWrite";
+    public static final String COMPACT_TEMPLATE_CONTENT = "NotificationTemplates.CompactTemplateContent";
+    public static final int TEMPLATE_LOADER_POOL_SIZE = 10;
+    public static final int TEMPLATE_LOADER_QUEUE_SIZE = 500;
 
     public static final String EMAIL_TEMPLATE_NAME = "templateName";
     public static final String EMAIL_TEMPLATE_TYPE_DISPLAY_NAME = "templateDisplayName";
@@ -75,6 +79,7 @@ public class I18nMgtConstants {
         public static final String EMAIL_TEMPLATE_TYPE_NODE_FOUND = "10001";
         public static final String EMAIL_TEMPLATE_TYPE_ALREADY_EXISTS = "10002";
         public static final String EMAIL_TEMPLATE_TYPE_NOT_FOUND = "10003";
+        public static final String DEFAULT_EMAIL_TEMPLATE_DELETION_NOT_ALLOWED = "10004";
     }
 
     /**
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.email.mgt.internal;
+
+import org.wso2.carbon.email.mgt.util.I18nEmailUtil;
+import org.wso2.carbon.identity.governance.model.NotificationTemplate;
+import org.wso2.carbon.identity.governance.service.notification.NotificationChannels;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable catalog of the default notification templates, indexed by the notification channel, the normalized
+ * template type and the locale. A catalog is replaced as a whole when the default templates are reloaded, so that
+ * readers never need to lock.
+ * <p>
+ * Templates are copied when the catalog is built and each template returned is a new copy, since the templates are
+ * mutable and shared between all the tenants.
+ */
+public final class DefaultTemplateCatalog {
+
+    private static final String KEY_SEPARATOR = "/";
+
+    static final DefaultTemplateCatalog EMPTY = new DefaultTemplateCatalog(Collections.emptyList(),
+            Collections.emptyList());
+
+    private final List<NotificationTemplate> emailTemplates;
+    private final List<NotificationTemplate> smsTemplates;
+    private final Map<String, List<NotificationTemplate>> templatesByType;
+    private final Map<String, NotificationTemplate> templatesByLocale;
+    private final Map<String, List<String>> localesByType;
+    private final Map<String, List<String>> templateTypesByChannel;
+
+    private DefaultTemplateCatalog(List<NotificationTemplate> emailTemplates,
+                                   List<NotificationTemplate> smsTemplates) {
+
+        this.emailTemplates = Collections.unmodifiableList(copy(emailTemplates));
+        this.smsTemplates = Collections.unmodifiableList(copy(smsTemplates));
+
+        Map<String, List<NotificationTemplate>> typeIndex = new HashMap<>();
+        Map<String, NotificationTemplate> localeIndex = new HashMap<>();
+        Map<String, List<String>> typeLocales = new HashMap<>();
+        Map<String, List<String>> channelTypes = new HashMap<>();
+        index(NotificationChannels.EMAIL_CHANNEL.getChannelType(), this.emailTemplates, typeIndex, localeIndex,
+                typeLocales, channelTypes);
+        index(NotificationChannels.SMS_CHANNEL.getChannelType(), this.smsTemplates, typeIndex, localeIndex,
+                typeLocales, channelTypes);
+        typeIndex.replaceAll((key, templates) -> Collections.unmodifiableList(templates));
+        typeLocales.replaceAll((key, locales) -> Collections.unmodifiableList(locales));
+        channelTypes.replaceAll((key, types) -> Collections.unmodifiableList(types));
+        this.templatesByType = Collections.unmodifiableMap(typeIndex);
+        this.templatesByLocale = Collections.unmodifiableMap(localeIndex);
+        this.localesByType = Collections.unmodifiableMap(typeLocales);
+        this.templateTypesByChannel = Collections.unmodifiableMap(channelTypes);
+    }
+
+    /**
+     * Build a catalog of the given default templates.
+     *
+     * @param emailTemplates Default email templates.
+     * @param smsTemplates   Default SMS templates.
+     * @return Default template catalog.
+     */
+    public static DefaultTemplateCatalog build(List<NotificationTemplate> emailTemplates,
+                                               List<NotificationTemplate> smsTemplates) {
+
+        return new DefaultTemplateCatalog(emailTemplates, smsTemplates);
+    }
+
+    /**
+     * Get copies of the default email templates.
+     *
+     * @return New list of the default email templates, which the caller may modify.
+     */
+    public List<NotificationTemplate> getEmailTemplates() {
+
+        return copy(emailTemplates);
+    }
+
+    /**
+     * Get copies of the default SMS templates.
+     *
+     * @return New list of the default SMS templates, which the caller may modify.
+     */
+    public List<NotificationTemplate> getSMSTemplates() {
+
+        return copy(smsTemplates);
+    }
+
+    /**
+     * Get copies of the default templates of a template type.
+     *
+     * @param notificationChannel Notification channel (SMS or EMAIL).
+     * @param templateType        Normalized template type.
+     * @return New list of the default templates of the template type, which the caller may modify.
+     */
+    public List<NotificationTemplate> getTemplates(String notificationChannel, String templateType) {
+
+        List<NotificationTemplate> templates = templatesByType.get(buildKey(notificationChannel, templateType));
+        return templates != null ? copy(templates) : new ArrayList<>();
+    }
+
+    /**
+     * Get a copy of the default template of a template type in a locale.
+     *
+     * @param notificationChannel Notification channel (SMS or EMAIL).
+     * @param templateType        Normalized template type.
+     * @param locale              Locale of the template. Locales are case insensitive.
+     * @return Default template or null if it is not available.
+     */
+    public NotificationTemplate getTemplate(String notificationChannel, String templateType, String locale) {
+
+        if (locale == null) {
+            return null;
+        }
+        NotificationTemplate template = templatesByLocale.get(buildKey(notificationChannel, templateType)
+                + KEY_SEPARATOR + locale.toLowerCase(Locale.ENGLISH));
+        return template != null ? copy(template) : null;
+    }
+
+    /**
+     * Get the locales of the default templates of a template type.
+     *
+     * @param notificationChannel Notification channel (SMS or EMAIL).
+     * @param templateType        Normalized template type.
+     * @return Unmodifiable list of locales.
+     */
+    public List<String> getLocales(String notificationChannel, String templateType) {
+
+        List<String> locales = localesByType.get(buildKey(notificationChannel, templateType));
+        return locales != null ? locales : Collections.emptyList();
+    }
+
+    /**
+     * Get the display names of the template types of the default templates of a notification channel.
+     *
+     * @param notificationChannel Notification channel (SMS or EMAIL).
+     * @return Unmodifiable list of template type display names, one for each template type.
+     */
+    public List<String> getTemplateTypes(String notificationChannel) {
+
+        List<String> templateTypes = templateTypesByChannel.get(notificationChannel);
+        return templateTypes != null ? templateTypes : Collections.emptyList();
+    }
+
+    private static void index(String notificationChannel, List<NotificationTemplate> templates,
+                              Map<String, List<NotificationTemplate>> typeIndex,
+                              Map<String, NotificationTemplate> localeIndex, Map<String, List<String>> typeLocales,
+                              Map<String, List<String>> channelTypes) {
+
+        for (NotificationTemplate template : templates) {
+            String typeKey = buildKey(notificationChannel, I18nEmailUtil.getNormalizedName(template.getDisplayName()));
+            if (!typeIndex.containsKey(typeKey)) {
+                channelTypes.computeIfAbsent(notificationChannel, key -> new ArrayList<>())
+                        .add(template.getDisplayName());
+            }
+            typeIndex.computeIfAbsent(typeKey, key -> new ArrayList<>()).add(template);
+            if (template.getLocale() != null) {
+                typeLocales.computeIfAbsent(typeKey, key -> new ArrayList<>()).add(template.getLocale());
+                localeIndex.putIfAbsent(typeKey + KEY_SEPARATOR + template.getLocale().toLowerCase(Locale.ENGLISH),
+                        template);
+            }
+        }
+    }
+
+    private static String buildKey(String notificationChannel, String templateType) {
+
+        return notificationChannel + KEY_SEPARATOR + templateType;
+    }
+
+    private static List<NotificationTemplate> copy(List<NotificationTemplate> templates) {
+
+        List<NotificationTemplate> copies = new ArrayList<>(templates.size());
+        for (NotificationTemplate template : templates) {
+            copies.add(copy(template));
+        }
+        return copies;
+    }
+
+    private static NotificationTemplate copy(NotificationTemplate template) {
+
+        NotificationTemplate copy = new NotificationTemplate();
+        copy.setType(template.getType());
+        copy.setDisplayName(template.getDisplayName());
+        copy.setLocale(template.getLocale());
+        copy.setNotificationChannel(template.getNotificationChannel());
+        copy.setContentType(template.getContentType());
+        copy.setSubject(template.getSubject());
+        copy.setBody(template.getBody());
+        copy.setFooter(template.getFooter());
+        return copy;
+    }
+}
@@ -21,15 +21,19 @@ import org.wso2.carbon.identity.governance.model.NotificationTemplate;
 import org.wso2.carbon.registry.core.service.RegistryService;
 import org.wso2.carbon.user.core.service.RealmService;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class I18nMgtDataHolder{
     private RealmService realmService;
     private RegistryService registryService;
     private RegistryResourceMgtService registryResourceMgtService;
-    private List<NotificationTemplate> defaultEmailTemplates = new ArrayList<>();
-    private List<NotificationTemplate> defaultSMSTemplates = new ArrayList<>();
+    private final AtomicReference<DefaultTemplateCatalog> defaultTemplateCatalog =
+            new AtomicReference<>(DefaultTemplateCatalog.EMPTY);
+    private volatile ExecutorService templateLoaderExecutor;
+    private boolean defaultTemplatesCopyOnWrite;
+    private boolean compactTemplateContent;
 
     private static I18nMgtDataHolder instance = new I18nMgtDataHolder();
 
@@ -74,23 +78,90 @@ public class I18nMgtDataHolder{
         this.registryResourceMgtService = registryResourceMgtService;
     }
 
+    /**
+     * Publish the default email and SMS templates. Readers holding the previous catalog are not affected, so the
+     * default templates can be reloaded without locking.
+     *
+     * @param defaultEmailTemplates Default email templates.
+     * @param defaultSMSTemplates   Default SMS templates.
+     */
+    public void setDefaultTemplates(List<NotificationTemplate> defaultEmailTemplates,
+                                    List<NotificationTemplate> defaultSMSTemplates) {
+
+        this.defaultTemplateCatalog.set(DefaultTemplateCatalog.build(defaultEmailTemplates, defaultSMSTemplates));
+    }
+
     public void setDefaultEmailTemplates(List<NotificationTemplate> defaultEmailTemplates) {
 
-        this.defaultEmailTemplates = defaultEmailTemplates;
+        this.defaultTemplateCatalog.updateAndGet(catalog ->
+                DefaultTemplateCatalog.build(defaultEmailTemplates, catalog.getSMSTemplates()));
     }
 
     public List<NotificationTemplate> getDefaultEmailTemplates() {
 
-        return defaultEmailTemplates;
+        return defaultTemplateCatalog.get().getEmailTemplates();
     }
 
-    public void setDefaultSMSTemplates(List<NotificationTemplate> defaultEmailTemplates) {
+    public void setDefaultSMSTemplates(List<NotificationTemplate> defaultSMSTemplates) {
 
-        this.defaultSMSTemplates = defaultEmailTemplates;
+        this.defaultTemplateCatalog.updateAndGet(catalog ->
+                DefaultTemplateCatalog.build(catalog.getEmailTemplates(), defaultSMSTemplates));
     }
 
     public List<NotificationTemplate> getDefaultSMSTemplates() {
 
-        return defaultSMSTemplates;
+        return defaultTemplateCatalog.get().getSMSTemplates();
+    }
+
+    /**
+     * Get the catalog of the default templates currently published.
+     *
+     * @return Default template catalog.
+     */
+    public DefaultTemplateCatalog getDefaultTemplateCatalog() {
+
+        return defaultTemplateCatalog.get();
+    }
+
+    public ExecutorService getTemplateLoaderExecutor() {
+
+        return templateLoaderExecutor;
+    }
+
+    public void setTemplateLoaderExecutor(ExecutorService templateLoaderExecutor) {
+
+        this.templateLoaderExecutor = templateLoaderExecutor;
+    }
+
+    /**
+     * Check whether the default templates are served from memory and persisted to the tenant registry only when a
+     * tenant customizes them.
+     *
+     * @return True if the default templates are not added to the tenant registry.
+     */
+    public boolean isDefaultTemplatesCopyOnWrite() {
+
+        return defaultTemplatesCopyOnWrite;
+    }
+
+    public void setDefaultTemplatesCopyOnWrite(boolean defaultTemplatesCopyOnWrite) {
+
+        this.defaultTemplatesCopyOnWrite = defaultTemplatesCopyOnWrite;
+    }
+
+    /**
+     * Check whether the template content is written in the compact format. Existing template resources in the JSON
+     * format are rewritten in the compact format only when they are updated, and are read either way.
+     *
+     * @return True if the compact template content format is enabled.
+     */
+    public boolean isCompactTemplateContent() {
+
+        return compactTemplateContent;
+    }
+
+    public void setCompactTemplateContent(boolean compactTemplateContent) {
+
+        this.compactTemplateContent = compactTemplateContent;
     }
 }
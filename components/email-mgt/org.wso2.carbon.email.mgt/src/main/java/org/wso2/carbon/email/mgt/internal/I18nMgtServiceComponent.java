@@ -34,6 +34,7 @@ import org.wso2.carbon.email.mgt.constants.I18nMgtConstants;
 import org.wso2.carbon.email.mgt.exceptions.I18nEmailMgtException;
 import org.wso2.carbon.email.mgt.model.SMSProviderTemplate;
 import org.wso2.carbon.identity.core.persistence.registry.RegistryResourceMgtService;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.governance.exceptions.notiification.NotificationTemplateManagerException;
 import org.wso2.carbon.identity.governance.model.NotificationTemplate;
 import org.wso2.carbon.identity.governance.service.notification.NotificationChannels;
@@ -61,6 +62,10 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import javax.xml.namespace.QName;
 import javax.xml.stream.XMLInputFactory;
@@ -133,10 +138,27 @@ public class I18nMgtServiceComponent {
                 log.error("Error registering SMS Provider Payload Template Mgt Service.");
             }
 
+            // Templates of a tenant are read from the registry in parallel batches. Reads which do not fit in the
+            // queue are run by the caller.
+            ThreadPoolExecutor templateLoaderExecutor = new ThreadPoolExecutor(
+                    I18nMgtConstants.TEMPLATE_LOADER_POOL_SIZE, I18nMgtConstants.TEMPLATE_LOADER_POOL_SIZE, 60L,
+                    TimeUnit.SECONDS, new ArrayBlockingQueue<>(I18nMgtConstants.TEMPLATE_LOADER_QUEUE_SIZE),
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+            templateLoaderExecutor.allowCoreThreadTimeOut(true);
+            dataHolder.setTemplateLoaderExecutor(templateLoaderExecutor);
+
+            // Template content is written in the compact format only if enabled. Resources in the JSON content
+            // format are rewritten in the compact format when they are next updated. Nodes of earlier versions cannot
+            // read the compact format, so it must be enabled only after all the nodes of a cluster are upgraded.
+            dataHolder.setCompactTemplateContent(Boolean.parseBoolean(
+                    IdentityUtil.getProperty(I18nMgtConstants.COMPACT_TEMPLATE_CONTENT)));
+
+            dataHolder.setDefaultTemplatesCopyOnWrite(Boolean.parseBoolean(
+                    IdentityUtil.getProperty(I18nMgtConstants.DEFAULT_TEMPLATES_COPY_ON_WRITE)));
+
             // Load default notification templates from file
-            I18nMgtDataHolder.getInstance().setDefaultEmailTemplates(
-                    loadDefaultTemplatesFromFile(NotificationChannels.EMAIL_CHANNEL.getChannelType()));
-            I18nMgtDataHolder.getInstance().setDefaultSMSTemplates(
+            I18nMgtDataHolder.getInstance().setDefaultTemplates(
+                    loadDefaultTemplatesFromFile(NotificationChannels.EMAIL_CHANNEL.getChannelType()),
                     loadDefaultTemplatesFromFile(NotificationChannels.SMS_CHANNEL.getChannelType()));
 
             // Load default notification templates.
@@ -338,6 +360,12 @@ public class I18nMgtServiceComponent {
 
     @Deactivate
     protected void deactivate(ComponentContext context) {
+
+        ExecutorService templateLoaderExecutor = dataHolder.getTemplateLoaderExecutor();
+        if (templateLoaderExecutor != null) {
+            dataHolder.setTemplateLoaderExecutor(null);
+            templateLoaderExecutor.shutdownNow();
+        }
         if (log.isDebugEnabled()) {
             log.debug("I18n Management bundle is de-activated");
         }
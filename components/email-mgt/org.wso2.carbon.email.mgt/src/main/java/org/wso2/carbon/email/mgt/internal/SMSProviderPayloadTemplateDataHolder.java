@@ -21,7 +21,12 @@ package org.wso2.carbon.email.mgt.internal;
 import org.wso2.carbon.email.mgt.model.SMSProviderTemplate;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Data holder for SMS providers' send sms API payload templates.
@@ -29,7 +34,8 @@ import java.util.List;
 public class SMSProviderPayloadTemplateDataHolder {
 
     private static SMSProviderPayloadTemplateDataHolder instance = new SMSProviderPayloadTemplateDataHolder();
-    private List<SMSProviderTemplate> smsProvidersAPIPayloads = new ArrayList<>();
+    private final AtomicReference<ProviderPayloads> smsProvidersAPIPayloads =
+            new AtomicReference<>(new ProviderPayloads(Collections.emptyList()));
 
     private SMSProviderPayloadTemplateDataHolder() {
 
@@ -43,20 +49,57 @@ public class SMSProviderPayloadTemplateDataHolder {
     /**
      * Set SMS send API payloads for default SMS providers.
      *
+     * The payloads are published as a whole, so that they can be reloaded without locking the readers.
+     *
      * @param smsProvidersAPIPayloads List of SMS send API payloads for default SMS providers.
      */
     public void setSMSProvidersAPIPayloads(List<SMSProviderTemplate> smsProvidersAPIPayloads) {
 
-        this.smsProvidersAPIPayloads = smsProvidersAPIPayloads;
+        this.smsProvidersAPIPayloads.set(new ProviderPayloads(smsProvidersAPIPayloads));
     }
 
     /**
      * Get SMS send API payloads for default SMS providers.
      *
-     * @return A list of SMS send API payloads for default SMS providers.
+     * @return An unmodifiable list of SMS send API payloads for default SMS providers.
      */
     public List<SMSProviderTemplate> getSmsProvidersAPIPayloads() {
 
-        return smsProvidersAPIPayloads;
+        return smsProvidersAPIPayloads.get().payloads;
+    }
+
+    /**
+     * Get the SMS send API payload of a default SMS provider.
+     *
+     * @param provider SMS provider name. Provider names are case insensitive.
+     * @return SMS send API payload of the provider or null if the provider is not available.
+     */
+    public SMSProviderTemplate getSmsProviderAPIPayload(String provider) {
+
+        if (provider == null) {
+            return null;
+        }
+        return smsProvidersAPIPayloads.get().payloadsByProvider.get(provider.toLowerCase(Locale.ENGLISH));
+    }
+
+    /**
+     * Immutable view of the SMS send API payloads, indexed by the provider name.
+     */
+    private static final class ProviderPayloads {
+
+        private final List<SMSProviderTemplate> payloads;
+        private final Map<String, SMSProviderTemplate> payloadsByProvider;
+
+        private ProviderPayloads(List<SMSProviderTemplate> payloads) {
+
+            Map<String, SMSProviderTemplate> index = new HashMap<>();
+            for (SMSProviderTemplate payload : payloads) {
+                if (payload.getProvider() != null) {
+                    index.putIfAbsent(payload.getProvider().toLowerCase(Locale.ENGLISH), payload);
+                }
+            }
+            this.payloads = Collections.unmodifiableList(new ArrayList<>(payloads));
+            this.payloadsByProvider = Collections.unmodifiableMap(index);
+        }
     }
 }
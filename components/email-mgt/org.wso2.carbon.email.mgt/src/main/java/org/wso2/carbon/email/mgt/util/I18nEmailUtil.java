@@ -16,7 +16,6 @@
 
 package org.wso2.carbon.email.mgt.util;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonSyntaxException;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
@@ -35,8 +34,6 @@ import org.wso2.carbon.registry.core.Resource;
 import org.wso2.carbon.registry.core.ResourceImpl;
 import org.wso2.carbon.registry.core.exceptions.RegistryException;
 
-import java.io.UnsupportedEncodingException;
-import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
@@ -125,12 +122,11 @@ public class I18nEmailUtil {
         templateResource.setMediaType(RegistryConstants.TAG_MEDIA_TYPE);
 
         String contentArray[] = {subject, body, footer};
-        String content = new Gson().toJson(contentArray);
 
         try {
-            byte[] contentByteArray = content.getBytes("UTF-8");
-            templateResource.setContent(contentByteArray);
-        } catch (RegistryException | UnsupportedEncodingException e) {
+            templateResource.setContent(TemplateContentSerializer.serialize(contentArray,
+                    I18nMgtDataHolder.getInstance().isCompactTemplateContent()));
+        } catch (RegistryException e) {
             String error = "Error creating a registry resource from contents of %s email template type in %s locale.";
             throw new I18nEmailMgtServerException(String.format(error, templateDisplayName, locale), e);
         }
@@ -166,13 +162,10 @@ public class I18nEmailUtil {
             // process email template content
             Object content = templateResource.getContent();
             if (content != null) {
-                byte templateContentArray[] = (byte[]) content;
-                String templateContent = new String(templateContentArray, Charset.forName("UTF-8"));
-
                 String[] templateContentElements;
                 try {
-                    templateContentElements = new Gson().fromJson(templateContent, String[].class);
-                } catch (JsonSyntaxException ex) {
+                    templateContentElements = TemplateContentSerializer.deserialize((byte[]) content);
+                } catch (JsonSyntaxException | IllegalArgumentException ex) {
                     String error = "Error deserializing '%s:%s' template from tenant registry.";
                     throw new I18nEmailMgtServerException(String.format(error, templateDisplayName, locale), ex);
                 }
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.email.mgt.util;
+
+import com.google.gson.Gson;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Serializes the content elements (subject, body and footer, or the body of SMS templates) of the template registry
+ * resources.
+ * <p>
+ * Content is written in a compact binary format: a zero marker byte, a version byte, the number of elements and
+ * each element as a length prefixed UTF-8 byte sequence (a length of -1 denotes a null element). Content written as
+ * a JSON string array is always read, which can be detected since JSON content never starts with the marker byte.
+ * The compact format is written only when it is enabled, since nodes of earlier versions cannot read it.
+ */
+public final class TemplateContentSerializer {
+
+    private static final byte FORMAT_MARKER = 0;
+    private static final byte FORMAT_VERSION = 1;
+    private static final int HEADER_LENGTH = 2;
+    private static final int NULL_ELEMENT_LENGTH = -1;
+
+    // Gson instances are thread safe.
+    private static final Gson GSON = new Gson();
+
+    private TemplateContentSerializer() {
+
+    }
+
+    /**
+     * Serialize the template content elements in the compact format or in the JSON string array format.
+     *
+     * @param elements      Template content elements.
+     * @param compactFormat Whether the content is serialized in the compact format.
+     * @return Serialized content.
+     */
+    public static byte[] serialize(String[] elements, boolean compactFormat) {
+
+        if (!compactFormat) {
+            return GSON.toJson(elements).getBytes(StandardCharsets.UTF_8);
+        }
+        return serialize(elements);
+    }
+
+    /**
+     * Serialize the template content elements in the compact format.
+     *
+     * @param elements Template content elements.
+     * @return Serialized content.
+     */
+    public static byte[] serialize(String[] elements) {
+
+        byte[][] encodedElements = new byte[elements.length][];
+        int length = HEADER_LENGTH + Integer.BYTES;
+        for (int i = 0; i < elements.length; i++) {
+            length += Integer.BYTES;
+            if (elements[i] != null) {
+                encodedElements[i] = elements[i].getBytes(StandardCharsets.UTF_8);
+                length += encodedElements[i].length;
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        buffer.put(FORMAT_MARKER).put(FORMAT_VERSION).putInt(elements.length);
+        for (byte[] encodedElement : encodedElements) {
+            if (encodedElement == null) {
+                buffer.putInt(NULL_ELEMENT_LENGTH);
+            } else {
+                buffer.putInt(encodedElement.length).put(encodedElement);
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Deserialize the template content elements. Both the compact format and the JSON string array format are
+     * supported. Each element of the compact format is decoded into a new string from its range of the given array,
+     * hence the content is copied once while decoding.
+     *
+     * @param content Serialized content.
+     * @return Template content elements or null if the JSON content is empty.
+     * @throws IllegalArgumentException If the content is not in a supported format.
+     * @throws com.google.gson.JsonSyntaxException If the JSON content is malformed.
+     */
+    public static String[] deserialize(byte[] content) {
+
+        if (!isCompactFormat(content)) {
+            return GSON.fromJson(new String(content, StandardCharsets.UTF_8), String[].class);
+        }
+        if (content[1] != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported template content format version : " + content[1]);
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(content, HEADER_LENGTH, content.length - HEADER_LENGTH);
+        try {
+            int count = buffer.getInt();
+            if (count < 0 || count > buffer.remaining() / Integer.BYTES) {
+                throw new IllegalArgumentException("Invalid number of template content elements : " + count);
+            }
+            String[] elements = new String[count];
+            for (int i = 0; i < count; i++) {
+                int length = buffer.getInt();
+                if (length == NULL_ELEMENT_LENGTH) {
+                    continue;
+                }
+                if (length < 0 || length > buffer.remaining()) {
+                    throw new IllegalArgumentException("Invalid length of template content element : " + length);
+                }
+                elements[i] = new String(content, buffer.position(), length, StandardCharsets.UTF_8);
+                buffer.position(buffer.position() + length);
+            }
+            return elements;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Template content is truncated.", e);
+        }
+    }
+
+    /**
+     * Check whether the content is serialized in the compact format.
+     *
+     * @param content Serialized content.
+     * @return True if the content is in the compact format, false if it is in the JSON format.
+     */
+    public static boolean isCompactFormat(byte[] content) {
+
+        return content.length >= HEADER_LENGTH && content[0] == FORMAT_MARKER;
+    }
+}
@@ -20,6 +20,9 @@ import static org.powermock.api.mockito.PowerMockito.doCallRealMethod;
 import static org.powermock.api.mockito.PowerMockito.doNothing;
 import static org.powermock.api.mockito.PowerMockito.mock;
 import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import org.apache.axiom.om.OMElement;
 import org.apache.axiom.om.impl.builder.StAXOMBuilder;
@@ -40,9 +43,19 @@ import org.testng.annotations.Test;
 import static org.powermock.api.mockito.PowerMockito.when;
 import static org.testng.Assert.*;
 
+import org.wso2.carbon.email.mgt.cache.NotificationTemplateCache;
+import org.wso2.carbon.email.mgt.cache.NotificationTemplateCacheEntry;
+import org.wso2.carbon.email.mgt.cache.NotificationTemplateCacheKey;
+import org.wso2.carbon.email.mgt.cache.NotificationTemplateLocaleIndexCache;
+import org.wso2.carbon.email.mgt.cache.NotificationTemplateLocaleIndexCacheEntry;
+import org.wso2.carbon.email.mgt.cache.NotificationTemplateLocaleIndexCacheKey;
 import org.wso2.carbon.email.mgt.constants.I18nMgtConstants;
+import org.wso2.carbon.email.mgt.exceptions.I18nEmailMgtClientException;
+import org.wso2.carbon.email.mgt.exceptions.I18nEmailMgtServerException;
+import org.wso2.carbon.email.mgt.internal.DefaultTemplateCatalog;
 import org.wso2.carbon.email.mgt.internal.I18nMgtDataHolder;
 import org.wso2.carbon.email.mgt.internal.I18nMgtServiceComponent;
+import org.wso2.carbon.email.mgt.model.EmailTemplate;
 import org.wso2.carbon.email.mgt.util.I18nEmailUtil;
 import org.wso2.carbon.identity.base.IdentityRuntimeException;
 import org.wso2.carbon.identity.base.IdentityValidationUtil;
@@ -51,6 +64,7 @@ import org.wso2.carbon.identity.governance.IdentityMgtConstants;
 import org.wso2.carbon.identity.governance.exceptions.notiification.NotificationTemplateManagerException;
 import org.wso2.carbon.identity.governance.model.NotificationTemplate;
 import org.wso2.carbon.identity.governance.service.notification.NotificationChannels;
+import org.wso2.carbon.registry.core.Collection;
 import org.wso2.carbon.registry.core.Resource;
 import org.wso2.carbon.utils.CarbonUtils;
 
@@ -60,8 +74,19 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
@@ -69,9 +94,14 @@ import javax.xml.stream.XMLStreamReader;
 /**
  * Class that contains the test cases for the implementation of Email Template Manager.
  */
-@PrepareForTest({ IdentityValidationUtil.class, I18nMgtDataHolder.class, CarbonUtils.class})
+@PrepareForTest({ IdentityValidationUtil.class, I18nMgtDataHolder.class, CarbonUtils.class,
+        NotificationTemplateCache.class, NotificationTemplateLocaleIndexCache.class})
 public class EmailTemplateManagerImplTest extends PowerMockTestCase {
 
+    private static final String TEMPLATE_TYPE = "accountconfirmation";
+    private static final String DEFAULT_TEMPLATE_DISPLAY_NAME = "Password Reset";
+    private static final String DEFAULT_TEMPLATE_TYPE = "passwordreset";
+
     private EmailTemplateManagerImpl emailTemplateManager;
 
     @Mock
@@ -83,6 +113,12 @@ public class EmailTemplateManagerImplTest extends PowerMockTestCase {
     @Mock
     Resource resource;
 
+    @Mock
+    NotificationTemplateCache notificationTemplateCache;
+
+    @Mock
+    NotificationTemplateLocaleIndexCache localeIndexCache;
+
     @ObjectFactory
     public IObjectFactory getObjectFactory() {
 
@@ -101,6 +137,12 @@ public class EmailTemplateManagerImplTest extends PowerMockTestCase {
 
         // Mock RegistryResourceMgtService.
         when(i18nMgtDataHolder.getRegistryResourceMgtService()).thenReturn(resourceMgtService);
+
+        // Mock NotificationTemplateCache to always read the templates from the registry.
+        mockStatic(NotificationTemplateCache.class);
+        when(NotificationTemplateCache.getInstance()).thenReturn(notificationTemplateCache);
+        mockStatic(NotificationTemplateLocaleIndexCache.class);
+        when(NotificationTemplateLocaleIndexCache.getInstance()).thenReturn(localeIndexCache);
         emailTemplateManager = new EmailTemplateManagerImpl();
     }
 
@@ -138,6 +180,248 @@ public class EmailTemplateManagerImplTest extends PowerMockTestCase {
         }
     }
 
+    /**
+     * Test that a locale which is not available is resolved to a locale of the same language from the locale index
+     * without reading the registry.
+     *
+     * @throws Exception Error testing getNotificationTemplate implementation.
+     */
+    @Test
+    public void testGetNotificationTemplateFromLocaleIndex() throws Exception {
+
+        String notificationChannel = NotificationChannels.EMAIL_CHANNEL.getChannelType();
+        String type = "accountconfirmation";
+        mockRegistryResource(notificationChannel, type, type, "fr_FR", "html/plain",
+                "[\"subject\",\"body\",\"footer\"]".getBytes("UTF-8"));
+        mockIsValidTemplate(true, true);
+        when(localeIndexCache.getValueFromCache(new NotificationTemplateLocaleIndexCacheKey(notificationChannel, type),
+                tenantDomain)).thenReturn(new NotificationTemplateLocaleIndexCacheEntry(
+                Arrays.asList("en_us", "fr_fr")));
+
+        NotificationTemplate notificationTemplate = emailTemplateManager
+                .getNotificationTemplate(notificationChannel, type, "fr_CA", tenantDomain);
+        assertNotNull(notificationTemplate);
+        verify(resourceMgtService, never()).getIdentityResource(Matchers.anyString(), Matchers.anyString(),
+                Matchers.eq("fr_CA"));
+        verify(resourceMgtService).getIdentityResource(Matchers.anyString(), Matchers.anyString(),
+                Matchers.eq("fr_fr"));
+    }
+
+    /**
+     * Test that an empty locale index, cached for a template type which is not available, is not rebuilt from the
+     * registry and the requested locale is read as it is.
+     *
+     * @throws Exception Error testing getNotificationTemplate implementation.
+     */
+    @Test
+    public void testGetNotificationTemplateFromEmptyLocaleIndex() throws Exception {
+
+        String notificationChannel = NotificationChannels.EMAIL_CHANNEL.getChannelType();
+        String type = "accountconfirmation";
+        mockRegistryResource(notificationChannel, type, type, "fr_CA", "html/plain",
+                "[\"subject\",\"body\",\"footer\"]".getBytes("UTF-8"));
+        mockIsValidTemplate(true, true);
+        when(localeIndexCache.getValueFromCache(new NotificationTemplateLocaleIndexCacheKey(notificationChannel, type),
+                tenantDomain)).thenReturn(new NotificationTemplateLocaleIndexCacheEntry(
+                Collections.<String>emptyList()));
+
+        NotificationTemplate notificationTemplate = emailTemplateManager
+                .getNotificationTemplate(notificationChannel, type, "fr_CA", tenantDomain);
+        assertNotNull(notificationTemplate);
+        verify(resourceMgtService, never()).getIdentityResource(Matchers.anyString(), Matchers.anyString());
+        verify(resourceMgtService).getIdentityResource(Matchers.anyString(), Matchers.anyString(),
+                Matchers.eq("fr_CA"));
+    }
+
+    /**
+     * Test that the templates available in the template cache are not read from the registry, while the rest are
+     * read in the template loader executor and added to the cache.
+     *
+     * @throws Exception Error testing getAllEmailTemplates implementation.
+     */
+    @Test
+    public void testGetAllEmailTemplatesSkipsCachedTemplates() throws Exception {
+
+        String[] locales = {"en_us", "fr_fr", "de_de"};
+        mockTemplateTypeCollection(locales);
+        for (String locale : locales) {
+            when(resourceMgtService.getIdentityResource(getTemplatePath(locale), tenantDomain))
+                    .thenReturn(buildTemplateResource(locale));
+        }
+        NotificationTemplate cachedTemplate = buildSampleNotificationTemplate(new String[]{TEMPLATE_TYPE,
+                NotificationChannels.EMAIL_CHANNEL.getChannelType(), TEMPLATE_TYPE, "text/html", "en_us", "body",
+                "subject", "footer"});
+        when(notificationTemplateCache.getValueFromCache(new NotificationTemplateCacheKey(
+                NotificationChannels.EMAIL_CHANNEL.getChannelType(), TEMPLATE_TYPE, "en_us"), tenantDomain))
+                .thenReturn(new NotificationTemplateCacheEntry(cachedTemplate));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        when(i18nMgtDataHolder.getTemplateLoaderExecutor()).thenReturn(executor);
+        try {
+            List<EmailTemplate> emailTemplates = emailTemplateManager.getAllEmailTemplates(tenantDomain);
+
+            assertEquals(getLocales(emailTemplates), Arrays.asList(locales));
+            verify(resourceMgtService, never()).getIdentityResource(getTemplatePath("en_us"), tenantDomain);
+            verify(resourceMgtService).getIdentityResource(getTemplatePath("fr_fr"), tenantDomain);
+            verify(resourceMgtService).getIdentityResource(getTemplatePath("de_de"), tenantDomain);
+            verify(notificationTemplateCache, times(2)).addToCache(Matchers.any(NotificationTemplateCacheKey.class),
+                    Matchers.any(NotificationTemplateCacheEntry.class), Matchers.eq(tenantDomain));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Test that a read which does not fit in the queue of the template loader executor is run by the caller, and
+     * that the templates are still returned in the order of the registry paths.
+     *
+     * @throws Exception Error testing getAllEmailTemplates implementation.
+     */
+    @Test
+    public void testGetAllEmailTemplatesWhenTemplateLoaderIsSaturated() throws Exception {
+
+        String[] locales = {"en_us", "fr_fr", "de_de", "es_es"};
+        mockTemplateTypeCollection(locales);
+        Thread callerThread = Thread.currentThread();
+        CountDownLatch readByCaller = new CountDownLatch(1);
+        Set<Thread> readerThreads = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        for (String locale : locales) {
+            Resource templateResource = buildTemplateResource(locale);
+            when(resourceMgtService.getIdentityResource(getTemplatePath(locale), tenantDomain))
+                    .thenAnswer(invocation -> {
+                        readerThreads.add(Thread.currentThread());
+                        if (Thread.currentThread() == callerThread) {
+                            readByCaller.countDown();
+                        } else {
+                            // The worker is held until the caller runs a read, so that the queue stays full.
+                            readByCaller.await(5, TimeUnit.SECONDS);
+                        }
+                        return templateResource;
+                    });
+        }
+        // The first read runs in the only worker and the second one waits in the queue, so the third one is
+        // rejected to the caller.
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(1), new ThreadPoolExecutor.CallerRunsPolicy());
+        when(i18nMgtDataHolder.getTemplateLoaderExecutor()).thenReturn(executor);
+        try {
+            List<EmailTemplate> emailTemplates = emailTemplateManager.getAllEmailTemplates(tenantDomain);
+
+            assertEquals(getLocales(emailTemplates), Arrays.asList(locales));
+            assertEquals(readByCaller.getCount(), 0);
+            assertTrue(readerThreads.contains(callerThread));
+            assertEquals(readerThreads.size(), 2);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Test that a failed read of one template fails the whole batch instead of returning the other templates.
+     *
+     * @throws Exception Error testing getAllEmailTemplates implementation.
+     */
+    @Test(expectedExceptions = I18nEmailMgtServerException.class)
+    public void testGetAllEmailTemplatesFailsWhenTemplateReadFails() throws Exception {
+
+        String[] locales = {"en_us", "fr_fr", "de_de"};
+        mockTemplateTypeCollection(locales);
+        when(resourceMgtService.getIdentityResource(getTemplatePath("en_us"), tenantDomain))
+                .thenReturn(buildTemplateResource("en_us"));
+        when(resourceMgtService.getIdentityResource(getTemplatePath("fr_fr"), tenantDomain))
+                .thenThrow(new IdentityRuntimeException("Test Error"));
+        when(resourceMgtService.getIdentityResource(getTemplatePath("de_de"), tenantDomain))
+                .thenReturn(buildTemplateResource("de_de"));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        when(i18nMgtDataHolder.getTemplateLoaderExecutor()).thenReturn(executor);
+        try {
+            emailTemplateManager.getAllEmailTemplates(tenantDomain);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Test that a default template type is not deleted when the default templates are not persisted in the tenant
+     * registry, since it would still be served from the default templates.
+     *
+     * @throws Exception Error testing deleteEmailTemplateType implementation.
+     */
+    @Test
+    public void testDeleteDefaultEmailTemplateTypeWithCopyOnWrite() throws Exception {
+
+        mockDefaultTemplatesCopyOnWrite();
+        mockIsValidTemplate(true, true);
+        try {
+            emailTemplateManager.deleteEmailTemplateType(DEFAULT_TEMPLATE_DISPLAY_NAME, tenantDomain);
+            fail("Deleting a default template type should be rejected.");
+        } catch (I18nEmailMgtClientException e) {
+            assertEquals(e.getErrorCode(), I18nMgtConstants.ErrorCodes.DEFAULT_EMAIL_TEMPLATE_DELETION_NOT_ALLOWED);
+        }
+
+        verify(resourceMgtService, never()).deleteIdentityResource(Matchers.anyString(), Matchers.anyString());
+        assertTrue(emailTemplateManager.isEmailTemplateTypeExists(DEFAULT_TEMPLATE_DISPLAY_NAME, tenantDomain));
+        assertEquals(emailTemplateManager.getAvailableTemplateTypes(tenantDomain),
+                Collections.singletonList(DEFAULT_TEMPLATE_DISPLAY_NAME));
+    }
+
+    /**
+     * Test that a template type which is not a default template type is deleted when the default templates are not
+     * persisted in the tenant registry.
+     *
+     * @throws Exception Error testing deleteEmailTemplateType implementation.
+     */
+    @Test
+    public void testDeleteCustomEmailTemplateTypeWithCopyOnWrite() throws Exception {
+
+        mockDefaultTemplatesCopyOnWrite();
+        mockIsValidTemplate(true, true);
+
+        emailTemplateManager.deleteEmailTemplateType("Custom Notification", tenantDomain);
+
+        verify(resourceMgtService).deleteIdentityResource(I18nMgtConstants.EMAIL_TEMPLATE_PATH + "/customnotification",
+                tenantDomain);
+    }
+
+    /**
+     * Test that a default template without a tenant copy is not deleted when the default templates are not
+     * persisted in the tenant registry.
+     *
+     * @throws Exception Error testing deleteEmailTemplate implementation.
+     */
+    @Test
+    public void testDeleteDefaultEmailTemplateWithCopyOnWrite() throws Exception {
+
+        mockDefaultTemplatesCopyOnWrite();
+        try {
+            emailTemplateManager.deleteEmailTemplate(DEFAULT_TEMPLATE_DISPLAY_NAME, "en_US", tenantDomain);
+            fail("Deleting a default template without a tenant copy should be rejected.");
+        } catch (I18nEmailMgtClientException e) {
+            assertEquals(e.getErrorCode(), I18nMgtConstants.ErrorCodes.DEFAULT_EMAIL_TEMPLATE_DELETION_NOT_ALLOWED);
+        }
+
+        verify(resourceMgtService, never()).deleteIdentityResource(Matchers.anyString(), Matchers.anyString(),
+                Matchers.anyString());
+        assertTrue(emailTemplateManager.isEmailTemplateExists(DEFAULT_TEMPLATE_DISPLAY_NAME, "en_US", tenantDomain));
+    }
+
+    /**
+     * Test that the tenant copy of a default template is deleted when the default templates are not persisted in
+     * the tenant registry, which brings back the default template.
+     *
+     * @throws Exception Error testing deleteEmailTemplate implementation.
+     */
+    @Test
+    public void testDeleteTenantCopyOfDefaultEmailTemplateWithCopyOnWrite() throws Exception {
+
+        mockDefaultTemplatesCopyOnWrite();
+        String templateTypePath = I18nMgtConstants.EMAIL_TEMPLATE_PATH + "/" + DEFAULT_TEMPLATE_TYPE;
+        when(resourceMgtService.getIdentityResource(templateTypePath + "/en_us", tenantDomain)).thenReturn(resource);
+
+        emailTemplateManager.deleteEmailTemplate(DEFAULT_TEMPLATE_DISPLAY_NAME, "en_US", tenantDomain);
+
+        verify(resourceMgtService).deleteIdentityResource(templateTypePath, tenantDomain, "en_US");
+    }
+
     /**
      * Contains the error scenarios for resolving notification template.
      *
@@ -591,4 +875,64 @@ public class EmailTemplateManagerImplTest extends PowerMockTestCase {
         }
         return numberOfDefaultTemplates;
     }
+
+    /**
+     * Mock the email templates directory of the tenant with a single template type of the given locales.
+     *
+     * @param locales Locales of the templates
+     * @throws Exception Error mocking the registry collections
+     */
+    private void mockTemplateTypeCollection(String[] locales) throws Exception {
+
+        String templateTypePath = I18nMgtConstants.EMAIL_TEMPLATE_PATH + "/" + TEMPLATE_TYPE;
+        Collection baseDirectory = mock(Collection.class);
+        when(baseDirectory.getChildren()).thenReturn(new String[]{templateTypePath});
+        String[] templatePaths = new String[locales.length];
+        for (int i = 0; i < locales.length; i++) {
+            templatePaths[i] = getTemplatePath(locales[i]);
+        }
+        Collection templateType = mock(Collection.class);
+        when(templateType.getChildren()).thenReturn(templatePaths);
+        when(resourceMgtService.getIdentityResource(I18nMgtConstants.EMAIL_TEMPLATE_PATH, tenantDomain))
+                .thenReturn(baseDirectory);
+        when(resourceMgtService.getIdentityResource(templateTypePath, tenantDomain)).thenReturn(templateType);
+    }
+
+    /**
+     * Mock the default templates to be served from memory instead of being persisted in the tenant registry.
+     */
+    private void mockDefaultTemplatesCopyOnWrite() {
+
+        NotificationTemplate defaultTemplate = buildSampleNotificationTemplate(new String[]{
+                DEFAULT_TEMPLATE_DISPLAY_NAME, NotificationChannels.EMAIL_CHANNEL.getChannelType(),
+                DEFAULT_TEMPLATE_TYPE, "text/html", "en_US", "body", "subject", "footer"});
+        when(i18nMgtDataHolder.isDefaultTemplatesCopyOnWrite()).thenReturn(true);
+        when(i18nMgtDataHolder.getDefaultTemplateCatalog()).thenReturn(DefaultTemplateCatalog.build(
+                Collections.singletonList(defaultTemplate), Collections.<NotificationTemplate>emptyList()));
+    }
+
+    private String getTemplatePath(String locale) {
+
+        return I18nMgtConstants.EMAIL_TEMPLATE_PATH + "/" + TEMPLATE_TYPE + "/" + locale;
+    }
+
+    private Resource buildTemplateResource(String locale) throws Exception {
+
+        Resource templateResource = mock(Resource.class);
+        when(templateResource.getProperty(I18nMgtConstants.TEMPLATE_TYPE_DISPLAY_NAME)).thenReturn(TEMPLATE_TYPE);
+        when(templateResource.getProperty(I18nMgtConstants.TEMPLATE_TYPE)).thenReturn(TEMPLATE_TYPE);
+        when(templateResource.getProperty(I18nMgtConstants.TEMPLATE_LOCALE)).thenReturn(locale);
+        when(templateResource.getProperty(I18nMgtConstants.TEMPLATE_CONTENT_TYPE)).thenReturn("text/html");
+        when(templateResource.getContent()).thenReturn("[\"subject\",\"body\",\"footer\"]".getBytes("UTF-8"));
+        return templateResource;
+    }
+
+    private List<String> getLocales(List<EmailTemplate> emailTemplates) {
+
+        List<String> locales = new ArrayList<>();
+        for (EmailTemplate emailTemplate : emailTemplates) {
+            locales.add(StringUtils.lowerCase(emailTemplate.getLocale()));
+        }
+        return locales;
+    }
 }
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.email.mgt.internal;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.governance.model.NotificationTemplate;
+import org.wso2.carbon.identity.governance.service.notification.NotificationChannels;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Class that contains the test cases for DefaultTemplateCatalog class.
+ */
+public class DefaultTemplateCatalogTest {
+
+    private static final String EMAIL = NotificationChannels.EMAIL_CHANNEL.getChannelType();
+    private static final String SMS = NotificationChannels.SMS_CHANNEL.getChannelType();
+
+    @Test
+    public void testTemplatesAreIndexedByTypeAndLocale() {
+
+        NotificationTemplate accountConfirmation = buildTemplate("Account Confirmation", "en_US");
+        NotificationTemplate accountConfirmationFr = buildTemplate("Account Confirmation", "fr_FR");
+        NotificationTemplate smsOtp = buildTemplate("SMS OTP", "en_US");
+        DefaultTemplateCatalog catalog = DefaultTemplateCatalog.build(
+                Arrays.asList(accountConfirmation, accountConfirmationFr), Collections.singletonList(smsOtp));
+
+        Assert.assertEquals(getLocales(catalog.getTemplates(EMAIL, "accountconfirmation")),
+                Arrays.asList("en_US", "fr_FR"));
+        Assert.assertEquals(catalog.getLocales(EMAIL, "accountconfirmation"), Arrays.asList("en_US", "fr_FR"));
+        Assert.assertEquals(catalog.getTemplate(EMAIL, "accountconfirmation", "FR_fr").getLocale(), "fr_FR");
+        Assert.assertEquals(catalog.getTemplate(SMS, "smsotp", "en_us").getDisplayName(), "SMS OTP");
+        Assert.assertNull(catalog.getTemplate(SMS, "accountconfirmation", "en_US"));
+        Assert.assertTrue(catalog.getTemplates(EMAIL, "smsotp").isEmpty());
+        Assert.assertEquals(catalog.getTemplateTypes(EMAIL), Collections.singletonList("Account Confirmation"));
+    }
+
+    @Test
+    public void testTemplatesAreCopied() {
+
+        NotificationTemplate passwordReset = buildTemplate("Password Reset", "en_US");
+        DefaultTemplateCatalog catalog = DefaultTemplateCatalog.build(Collections.singletonList(passwordReset),
+                Collections.emptyList());
+        passwordReset.setBody("Modified by the loader");
+
+        NotificationTemplate template = catalog.getTemplate(EMAIL, "passwordreset", "en_US");
+        template.setType("modified");
+        template.setBody("Modified by a caller");
+        catalog.getEmailTemplates().get(0).setLocale("fr_FR");
+
+        NotificationTemplate defaultTemplate = catalog.getTemplate(EMAIL, "passwordreset", "en_US");
+        Assert.assertNotSame(defaultTemplate, template);
+        Assert.assertEquals(defaultTemplate.getBody(), "Body");
+        Assert.assertNull(defaultTemplate.getType());
+        Assert.assertEquals(catalog.getEmailTemplates().get(0).getLocale(), "en_US");
+    }
+
+    @Test
+    public void testReturnedTemplateListsAreModifiableCopies() {
+
+        DefaultTemplateCatalog catalog = DefaultTemplateCatalog.build(
+                Collections.singletonList(buildTemplate("Password Reset", "en_US")), Collections.emptyList());
+
+        // Callers of the template manager service may modify the returned list, as with the earlier versions.
+        List<NotificationTemplate> emailTemplates = catalog.getEmailTemplates();
+        emailTemplates.clear();
+        catalog.getSMSTemplates().add(buildTemplate("SMS OTP", "en_US"));
+        catalog.getTemplates(EMAIL, "passwordreset").clear();
+
+        Assert.assertEquals(catalog.getEmailTemplates().size(), 1);
+        Assert.assertTrue(catalog.getSMSTemplates().isEmpty());
+        Assert.assertEquals(catalog.getTemplates(EMAIL, "passwordreset").size(), 1);
+    }
+
+    @Test
+    public void testReloadDoesNotAffectPublishedCatalog() {
+
+        I18nMgtDataHolder dataHolder = I18nMgtDataHolder.getInstance();
+        NotificationTemplate passwordReset = buildTemplate("Password Reset", "en_US");
+        dataHolder.setDefaultTemplates(Collections.singletonList(passwordReset), Collections.emptyList());
+        DefaultTemplateCatalog catalog = dataHolder.getDefaultTemplateCatalog();
+
+        dataHolder.setDefaultSMSTemplates(Collections.singletonList(buildTemplate("SMS OTP", "en_US")));
+
+        Assert.assertTrue(catalog.getSMSTemplates().isEmpty());
+        Assert.assertEquals(dataHolder.getDefaultSMSTemplates().size(), 1);
+        Assert.assertNotNull(dataHolder.getDefaultTemplateCatalog().getTemplate(EMAIL, "passwordreset", "en_US"));
+        dataHolder.setDefaultTemplates(Collections.emptyList(), Collections.emptyList());
+    }
+
+    private NotificationTemplate buildTemplate(String displayName, String locale) {
+
+        NotificationTemplate template = new NotificationTemplate();
+        template.setDisplayName(displayName);
+        template.setLocale(locale);
+        template.setBody("Body");
+        return template;
+    }
+
+    private List<String> getLocales(List<NotificationTemplate> templates) {
+
+        List<String> locales = new ArrayList<>();
+        for (NotificationTemplate template : templates) {
+            locales.add(template.getLocale());
+        }
+        return locales;
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.email.mgt.util;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Class that contains the test cases for TemplateContentSerializer class.
+ */
+public class TemplateContentSerializerTest {
+
+    @DataProvider(name = "templateContentProvider")
+    public Object[][] templateContentProvider() {
+
+        return new Object[][]{
+                {new String[]{"Subject", "Body with unicode \u00e9\u4e2d", "Footer"}},
+                {new String[]{"SMS body"}},
+                {new String[]{"Subject", "", null}}
+        };
+    }
+
+    @Test(dataProvider = "templateContentProvider")
+    public void testCompactFormatRoundTrip(String[] elements) {
+
+        byte[] content = TemplateContentSerializer.serialize(elements);
+
+        Assert.assertTrue(TemplateContentSerializer.isCompactFormat(content));
+        Assert.assertEquals(TemplateContentSerializer.deserialize(content), elements);
+    }
+
+    @Test(dataProvider = "templateContentProvider")
+    public void testJsonFormatRoundTrip(String[] elements) {
+
+        byte[] content = TemplateContentSerializer.serialize(elements, false);
+
+        Assert.assertFalse(TemplateContentSerializer.isCompactFormat(content));
+        Assert.assertEquals(TemplateContentSerializer.deserialize(content), elements);
+    }
+
+    @Test
+    public void testJsonFormatIsRead() {
+
+        byte[] content = "[\"Subject\",\"Body\",\"Footer\"]".getBytes(StandardCharsets.UTF_8);
+
+        Assert.assertFalse(TemplateContentSerializer.isCompactFormat(content));
+        Assert.assertEquals(TemplateContentSerializer.deserialize(content),
+                new String[]{"Subject", "Body", "Footer"});
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testTruncatedCompactFormat() {
+
+        byte[] content = TemplateContentSerializer.serialize(new String[]{"Subject", "Body", "Footer"});
+        TemplateContentSerializer.deserialize(Arrays.copyOf(content, content.length - 2));
+    }
+}
@@ -20,10 +20,10 @@ package org.wso2.carbon.identity.event.handler.notification;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
 import org.wso2.carbon.email.mgt.exceptions.I18nEmailMgtException;
 import org.wso2.carbon.email.mgt.model.EmailTemplate;
 import org.wso2.carbon.email.mgt.util.I18nEmailUtil;
-import org.wso2.carbon.event.stream.core.EventStreamService;
 import org.wso2.carbon.identity.base.IdentityRuntimeException;
 import org.wso2.carbon.identity.core.handler.InitConfig;
 import org.wso2.carbon.identity.event.IdentityEventConstants;
@@ -33,16 +33,26 @@ import org.wso2.carbon.identity.event.handler.AbstractEventHandler;
 import org.wso2.carbon.identity.event.handler.notification.email.bean.Notification;
 import org.wso2.carbon.identity.event.handler.notification.exception.NotificationRuntimeException;
 import org.wso2.carbon.identity.event.handler.notification.internal.NotificationHandlerDataHolder;
+import org.wso2.carbon.identity.event.handler.notification.template.CompiledNotificationTemplate;
 import org.wso2.carbon.identity.event.handler.notification.util.NotificationUtil;
 import org.wso2.carbon.identity.governance.IdentityGovernanceUtil;
 import org.wso2.carbon.identity.governance.exceptions.notiification.NotificationTemplateManagerException;
 import org.wso2.carbon.identity.governance.model.NotificationTemplate;
 import org.wso2.carbon.identity.governance.service.notification.NotificationChannels;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * DefaultNotificationHandler is based on simple key/value parameters which was send by an event to any given stream.
@@ -58,7 +68,34 @@ public class DefaultNotificationHandler extends AbstractEventHandler {
     private static final String STREAM_DEFINITION_ID = "stream" ;
     private static final String NOTIFICATION_TEMPLATE_TYPE = "notification_template" ;
     private static final String DEFAULT_STREAM_ID = "id_gov_notify_stream:1.0.0";
+    private static final int MAX_PREDICTED_USER_LOCALES = 1000;
 
+    private final ConcurrentMap<String, SubscriptionDescriptor> subscriptionDescriptors = new ConcurrentHashMap<>();
+
+    // Locale of the last notification of the recently notified users, used to predict the locale of the template to
+    // prefetch. The least recently notified users are evicted.
+    private final Map<String, String> predictedUserLocales = Collections.synchronizedMap(
+            new LinkedHashMap<String, String>(16, 0.75f, true) {
+
+                private static final long serialVersionUID = -6339186522513957744L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+
+                    return size() > MAX_PREDICTED_USER_LOCALES;
+                }
+            });
+
+    /**
+     * Build the notification data of the event and publish it to the event stream. If asynchronous publishing is
+     * enabled, the event is only enqueued to the notification publish queue, except when the queue is full and its
+     * rejection policy is CALLER_RUNS.
+     *
+     * @param event Event.
+     * @throws IdentityEventException If the notification data cannot be built, or if the notification publish queue
+     *                                rejects the event, which happens on the request thread when the queue is full
+     *                                and its rejection policy is REJECT, or when the queue is shut down.
+     */
     @Override
     public void handleEvent(Event event) throws IdentityEventException {
 
@@ -106,6 +143,14 @@ public class DefaultNotificationHandler extends AbstractEventHandler {
 
         // Read the send-to parameter which was set by the notification senders.
         String sendTo = arbitraryDataMap.get(NotificationConstants.EmailNotification.ARBITRARY_SEND_TO);
+        Map<String, String> arbitraryDataClaims = getArbitraryDataClaimsFromProperties(event);
+
+        // Only the claims needed to select the template and the recipient, and the claims of the subscription are
+        // retrieved before the template is resolved. The claims used in the template are retrieved afterwards.
+        Set<String> retrievedClaimUris = new HashSet<>(arbitraryDataClaims.values());
+        retrievedClaimUris.add(NotificationConstants.EmailNotification.CLAIM_URI_LOCALE);
+        retrievedClaimUris.add(NotificationConstants.EmailNotification.CLAIM_URI_EMAIL);
+        retrievedClaimUris.add(NotificationConstants.SMSNotification.CLAIM_URI_MOBILE);
         Map<String, String> userClaims = new HashMap<>();
 
         String notificationTemplateName = getNotificationTemplate(event);
@@ -116,12 +161,6 @@ public class DefaultNotificationHandler extends AbstractEventHandler {
 
         if(StringUtils.isNotEmpty(notificationTemplateName)) {
 
-            String username = (String) event.getEventProperties().get(IdentityEventConstants.EventProperty.USER_NAME);
-            org.wso2.carbon.user.core.UserStoreManager userStoreManager = (org.wso2.carbon.user.core.UserStoreManager)
-                    event.getEventProperties().get(
-                    IdentityEventConstants.EventProperty.USER_STORE_MANAGER);
-            String userStoreDomainName = (String) event.getEventProperties().get(
-                    IdentityEventConstants.EventProperty.USER_STORE_DOMAIN);
             String tenantDomain = (String) event.getEventProperties().get(
                     IdentityEventConstants.EventProperty.TENANT_DOMAIN);
             String sendFrom = (String) event.getEventProperties().get(
@@ -131,15 +170,27 @@ public class DefaultNotificationHandler extends AbstractEventHandler {
             String notificationChannel = resolveNotificationChannel(
                     (String) event.getEventProperties().get(IdentityEventConstants.EventProperty.NOTIFICATION_CHANNEL));
 
-            if (StringUtils.isNotBlank(username) && userStoreManager != null) {
-                userClaims = NotificationUtil.getUserClaimValues(username, userStoreManager);
-            } else if (StringUtils.isNotBlank(username) && StringUtils.isNotBlank(userStoreDomainName) &&
-                    StringUtils.isNotBlank(tenantDomain)) {
-                userClaims = NotificationUtil.getUserClaimValues(username, userStoreDomainName, tenantDomain);
+            // The template of the predicted locale is retrieved while the user claims are retrieved. The locale is
+            // predicted from the last notification of the user, or else is the default locale, since the locale
+            // claim is not set for most of the users.
+            String defaultLocale = NotificationUtil.getNotificationLocale();
+            String userLocaleKey = getUserLocaleKey(event, notificationChannel, tenantDomain);
+            String predictedLocale = userLocaleKey != null ? predictedUserLocales.get(userLocaleKey) : null;
+            if (predictedLocale == null) {
+                predictedLocale = defaultLocale;
+            }
+            CompletableFuture<NotificationTemplate> prefetchedTemplate = prefetchNotificationTemplate(
+                    notificationChannel, notificationTemplateName, predictedLocale, tenantDomain);
+
+            try {
+                userClaims = NotificationUtil.getUserClaimValues(event, retrievedClaimUris);
+            } catch (RuntimeException e) {
+                cancelPrefetchedNotificationTemplate(prefetchedTemplate);
+                throw e;
             }
 
             // Resolve notification template locale according to the notification channel.
-            String locale = NotificationUtil.getNotificationLocale();
+            String locale = defaultLocale;
             if (NotificationChannels.SMS_CHANNEL.getChannelType().equals(notificationChannel) && userClaims
                     .containsKey(NotificationConstants.SMSNotification.DEFAULT_SMS_NOTIFICATION_LOCALE)) {
                 locale = userClaims.get(NotificationConstants.SMSNotification.DEFAULT_SMS_NOTIFICATION_LOCALE);
@@ -150,6 +201,9 @@ public class DefaultNotificationHandler extends AbstractEventHandler {
                     locale = userClaims.get(NotificationConstants.EmailNotification.CLAIM_URI_LOCALE);
                 }
             }
+            if (userLocaleKey != null) {
+                predictedUserLocales.put(userLocaleKey, locale);
+            }
             if(StringUtils.isEmpty(sendTo)) {
                 if (NotificationChannels.SMS_CHANNEL.getChannelType().equals(notificationChannel)) {
                     if (userClaims.containsKey(NotificationConstants.SMSNotification.CLAIM_URI_MOBILE)) {
@@ -164,19 +218,27 @@ public class DefaultNotificationHandler extends AbstractEventHandler {
             }
 
             NotificationTemplate notificationTemplate;
-            try {
-                notificationTemplate = NotificationHandlerDataHolder.getInstance().getNotificationTemplateManager()
-                        .getNotificationTemplate(notificationChannel, notificationTemplateName, locale, tenantDomain);
-            } catch (NotificationTemplateManagerException exception) {
-                String message = "Error when retrieving template from tenant registry.";
-                throw NotificationRuntimeException.error(message, exception);
+            // Templates are stored under the lower case locale, hence the locales are compared ignoring the case.
+            if (prefetchedTemplate != null && StringUtils.equalsIgnoreCase(predictedLocale, locale)) {
+                notificationTemplate = getPrefetchedNotificationTemplate(prefetchedTemplate);
+            } else {
+                cancelPrefetchedNotificationTemplate(prefetchedTemplate);
+                notificationTemplate = retrieveNotificationTemplate(notificationChannel, notificationTemplateName,
+                        locale, tenantDomain);
             }
 
+            // Build Notification object using notification template data.
+            // todo: Refer to https://github.com/wso2/product-is/issues/7006
+            EmailTemplate emailTemplate = buildEmailTemplate(notificationTemplate);
+            CompiledNotificationTemplate compiledTemplate = NotificationUtil.getCompiledNotificationTemplate(
+                    emailTemplate, notificationTemplate.getNotificationChannel(), tenantDomain);
+            NotificationUtil.addTemplateClaimValues(event, compiledTemplate, retrievedClaimUris, userClaims);
+
             // Add template properties for arbitraryDataMap.
-            addNotificationTemplateDataToArbitraryDataMap(notificationTemplate, notificationTemplateName, sendTo,
-                    sendFrom, arbitraryDataMap, userClaims);
+            addNotificationTemplateDataToArbitraryDataMap(emailTemplate, compiledTemplate,
+                    notificationTemplate.getNotificationChannel(), notificationTemplateName, sendTo, sendFrom,
+                    arbitraryDataMap, userClaims);
         }
-        Map<String, String> arbitraryDataClaims = getArbitraryDataClaimsFromProperties(event);
         Set<String> keys = arbitraryDataClaims.keySet();
         for (String key : keys) {
             String claim = arbitraryDataClaims.get(key);
@@ -188,27 +250,125 @@ public class DefaultNotificationHandler extends AbstractEventHandler {
         return arbitraryDataMap ;
     }
 
+    /**
+     * Start retrieving the notification template in the template prefetch executor.
+     *
+     * @param notificationChannel      Notification channel
+     * @param notificationTemplateName Notification template
+     * @param locale                   Predicted locale of the notification
+     * @param tenantDomain             Tenant domain
+     * @return Future of the notification template or null if the template could not be prefetched
+     */
+    private CompletableFuture<NotificationTemplate> prefetchNotificationTemplate(String notificationChannel,
+            String notificationTemplateName, String locale, String tenantDomain) {
+
+        ExecutorService executor = NotificationHandlerDataHolder.getInstance().getTemplatePrefetchExecutor();
+        if (executor == null) {
+            return null;
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    PrivilegedCarbonContext.startTenantFlow();
+                    PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantDomain(tenantDomain, true);
+                    return retrieveNotificationTemplate(notificationChannel, notificationTemplateName, locale,
+                            tenantDomain);
+                } finally {
+                    PrivilegedCarbonContext.endTenantFlow();
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Template prefetch executor is saturated. Notification template: "
+                        + notificationTemplateName + " will be retrieved after the user claims.");
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Get the key of the predicted locale of the user of the event.
+     *
+     * @param event               Event
+     * @param notificationChannel Notification channel
+     * @param tenantDomain        Tenant domain
+     * @return Key of the user, or null if the event does not have a user
+     */
+    private String getUserLocaleKey(Event event, String notificationChannel, String tenantDomain) {
+
+        String userName = (String) event.getEventProperties().get(IdentityEventConstants.EventProperty.USER_NAME);
+        if (StringUtils.isBlank(userName)) {
+            return null;
+        }
+        String userStoreDomain = (String) event.getEventProperties().get(
+                IdentityEventConstants.EventProperty.USER_STORE_DOMAIN);
+        return notificationChannel + ":" + tenantDomain + ":" + userStoreDomain + ":" + userName;
+    }
+
+    /**
+     * Discard the prefetched notification template. Cancelling a CompletableFuture does not interrupt the thread
+     * running it, hence a template retrieval in progress still completes in the prefetch executor and its result
+     * is dropped.
+     *
+     * @param prefetchedTemplate Future of the notification template, or null if the template was not prefetched
+     */
+    private void cancelPrefetchedNotificationTemplate(CompletableFuture<NotificationTemplate> prefetchedTemplate) {
+
+        if (prefetchedTemplate != null) {
+            prefetchedTemplate.cancel(true);
+        }
+    }
+
+    /**
+     * Wait for the prefetched notification template.
+     *
+     * @param prefetchedTemplate Future of the notification template
+     * @return Notification template
+     */
+    private NotificationTemplate getPrefetchedNotificationTemplate(
+            CompletableFuture<NotificationTemplate> prefetchedTemplate) {
+
+        try {
+            return prefetchedTemplate.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw NotificationRuntimeException.error("Error when retrieving template from tenant registry.",
+                    e.getCause());
+        }
+    }
+
+    private NotificationTemplate retrieveNotificationTemplate(String notificationChannel,
+            String notificationTemplateName, String locale, String tenantDomain) {
+
+        try {
+            return NotificationHandlerDataHolder.getInstance().getNotificationTemplateManager()
+                    .getNotificationTemplate(notificationChannel, notificationTemplateName, locale, tenantDomain);
+        } catch (NotificationTemplateManagerException exception) {
+            String message = "Error when retrieving template from tenant registry.";
+            throw NotificationRuntimeException.error(message, exception);
+        }
+    }
+
     /**
      * Add the notification template data to the arbitrary data map.
      *
-     * @param notificationTemplate     {@link
-     *                                 org.wso2.carbon.identity.governance.service.notification.NotificationTemplateManager}
-     *                                 object
+     * @param emailTemplate            Email template built from the notification template
+     * @param compiledTemplate         Compiled form of the email template
+     * @param notificationChannel      Notification channel of the template
      * @param notificationTemplateName Notification template
      * @param sendTo                   Notification send to address
      * @param sendFrom                 Notification send from address
      * @param arbitraryDataMap         Arbitrary data map
      * @param userClaims               User claims
      */
-    private void addNotificationTemplateDataToArbitraryDataMap(NotificationTemplate notificationTemplate,
-            String notificationTemplateName, String sendTo, String sendFrom, Map<String, String> arbitraryDataMap,
-            Map<String, String> userClaims) {
+    private void addNotificationTemplateDataToArbitraryDataMap(EmailTemplate emailTemplate,
+            CompiledNotificationTemplate compiledTemplate, String notificationChannel, String notificationTemplateName,
+            String sendTo, String sendFrom, Map<String, String> arbitraryDataMap, Map<String, String> userClaims) {
 
-        // Build Notification object using notification template data.
-        // todo: Refer to https://github.com/wso2/product-is/issues/7006
-        EmailTemplate emailTemplate = buildEmailTemplate(notificationTemplate);
-        Notification notification = buildEmailNotification(emailTemplate, arbitraryDataMap, userClaims, sendTo,
-                sendFrom);
+        Notification notification = buildEmailNotification(emailTemplate, compiledTemplate, arbitraryDataMap,
+                userClaims, sendTo, sendFrom);
 
         // Add values to the arbitrary data map.
         arbitraryDataMap.put(NotificationConstants.EmailNotification.ARBITRARY_EVENT_TYPE,
@@ -222,7 +382,7 @@ public class DefaultNotificationHandler extends AbstractEventHandler {
         arbitraryDataMap.put(NotificationConstants.EmailNotification.ARBITRARY_BODY, notification.getBody());
 
         // Additional properties if the notification channel is not SMS.
-        if (!NotificationChannels.SMS_CHANNEL.getChannelType().equals(notificationTemplate.getNotificationChannel())) {
+        if (!NotificationChannels.SMS_CHANNEL.getChannelType().equals(notificationChannel)) {
             arbitraryDataMap.put(NotificationConstants.EmailNotification.ARBITRARY_SUBJECT_TEMPLATE, notification.
                     getTemplate().getSubject());
             arbitraryDataMap.put(NotificationConstants.EmailNotification.ARBITRARY_FOOTER_TEMPLATE, notification.
@@ -263,19 +423,22 @@ public class DefaultNotificationHandler extends AbstractEventHandler {
      * Build Email Notification from the emailTemplate and the arbitrary data.
      *
      * @param emailTemplate    {@link org.wso2.carbon.email.mgt.model.EmailTemplate} object
+     * @param compiledTemplate Compiled form of the email template
      * @param arbitraryDataMap Arbitrary data map
      * @param userClaims       User claims
      * @param sendTo           Notification send to address
      * @param sendFrom         Notification send from address
      * @return {@link org.wso2.carbon.identity.event.handler.notification.email.bean.Notification} object
      */
-    private Notification buildEmailNotification(EmailTemplate emailTemplate, Map<String, String> arbitraryDataMap,
+    private Notification buildEmailNotification(EmailTemplate emailTemplate,
+            CompiledNotificationTemplate compiledTemplate, Map<String, String> arbitraryDataMap,
             Map<String, String> userClaims, String sendTo, String sendFrom) {
 
-        NotificationUtil.getPlaceholderValues(emailTemplate, arbitraryDataMap, userClaims);
+        NotificationUtil.getPlaceholderValues(emailTemplate, compiledTemplate, arbitraryDataMap, userClaims);
         Notification.EmailNotificationBuilder builder = new Notification.EmailNotificationBuilder(sendTo);
         builder.setSendFrom(sendFrom);
         builder.setTemplate(emailTemplate);
+        builder.setCompiledTemplate(compiledTemplate);
         builder.setPlaceHolderData(arbitraryDataMap);
         return builder.build();
     }
@@ -290,7 +453,6 @@ public class DefaultNotificationHandler extends AbstractEventHandler {
      */
     protected void publishToStream(Map<String, String> dataMap, Event event) throws IdentityEventException{
 
-        EventStreamService service = NotificationHandlerDataHolder.getInstance().getEventStreamService();
         org.wso2.carbon.databridge.commons.Event databridgeEvent = new org.wso2.carbon.databridge.commons.Event();
         databridgeEvent.setTimeStamp(System.currentTimeMillis());
 
@@ -302,46 +464,82 @@ public class DefaultNotificationHandler extends AbstractEventHandler {
         }
 
         databridgeEvent.setArbitraryDataMap(dataMap);
-        service.publish(databridgeEvent);
+        try {
+            NotificationUtil.publishToStream(databridgeEvent);
+        } catch (NotificationRuntimeException e) {
+            throw new IdentityEventException("Error while publishing the notification event of "
+                    + event.getEventName(), e);
+        }
     }
 
     private Map<String, String> getArbitraryDataClaimsFromProperties(Event event) throws IdentityEventException {
-        Map<String, String> claimMap = new HashMap<>();
-        String tmpKeyStartWith = this.getName() + ".subscription." + event.getEventName() + "." + "claim" ;
-        Properties subscriptionProperties = getSubscriptionProperties(event.getEventName());
-        Set<Object> subscriptionPropertyKeys = subscriptionProperties.keySet();
-        for (Object subscriptionPropertyKey : subscriptionPropertyKeys) {
-            String key = (String)subscriptionPropertyKey;
-            if(key.startsWith(tmpKeyStartWith)){
-                String attribute = key.substring(tmpKeyStartWith.length() + 1);
-                String value = (String)subscriptionProperties.get(key);
-                claimMap.put(attribute, value);
+
+        return getSubscriptionDescriptor(event.getEventName()).claimMappings;
+    }
+
+    private Map<String, String> getArbitraryDataFromProperties(Event event) throws IdentityEventException {
+
+        return getSubscriptionDescriptor(event.getEventName()).staticData;
+    }
+
+    /**
+     * Get the mappings derived from the subscription properties of an event. The mappings are built on the first
+     * event of each event name and reused until the handler is initialized again.
+     *
+     * @param eventName Event name.
+     * @return Subscription descriptor of the event.
+     * @throws IdentityEventException Error while reading the subscription properties.
+     */
+    private SubscriptionDescriptor getSubscriptionDescriptor(String eventName) throws IdentityEventException {
+
+        SubscriptionDescriptor subscriptionDescriptor = subscriptionDescriptors.get(eventName);
+        if (subscriptionDescriptor == null) {
+            subscriptionDescriptor = buildSubscriptionDescriptor(eventName);
+            SubscriptionDescriptor existingDescriptor =
+                    subscriptionDescriptors.putIfAbsent(eventName, subscriptionDescriptor);
+            if (existingDescriptor != null) {
+                subscriptionDescriptor = existingDescriptor;
             }
         }
-        return claimMap;
+        return subscriptionDescriptor;
     }
 
-    private Map<String, String> getArbitraryDataFromProperties(Event event) throws IdentityEventException {
-        Map<String, String> dataMap = new HashMap<>();
-        String streamIdKey =  this.getName() + ".subscription." + event.getEventName() + "." + STREAM_DEFINITION_ID;
-        String templateType =  this.getName() + ".subscription." + event.getEventName() + "." + NOTIFICATION_TEMPLATE_TYPE;
-        String claimKeyStartWith = this.getName() + ".subscription." + event.getEventName() + "." + "claim" ;
-
-        Properties subscriptionProperties = getSubscriptionProperties(event.getEventName());
-        Set<Object> subscriptionPropertyKeys = subscriptionProperties.keySet();
-        for (Object subscriptionPropertyKey : subscriptionPropertyKeys) {
-            String key = (String)subscriptionPropertyKey;
-            if(!key.startsWith(claimKeyStartWith) && !key.equalsIgnoreCase(streamIdKey) &&
-                    !key.equalsIgnoreCase(templateType)){
-                String keyPrefix = this.getName() + ".subscription." + event.getEventName();
-                String attribute = key.substring(keyPrefix.length() + 1);
-                String value = (String)subscriptionProperties.get(key);
-                dataMap.put(attribute, value);
+    private SubscriptionDescriptor buildSubscriptionDescriptor(String eventName) throws IdentityEventException {
+
+        String keyPrefix = this.getName() + ".subscription." + eventName;
+        String streamIdKey = keyPrefix + "." + STREAM_DEFINITION_ID;
+        String templateTypeKey = keyPrefix + "." + NOTIFICATION_TEMPLATE_TYPE;
+        String claimKeyStartWith = keyPrefix + "." + "claim";
+
+        Map<String, String> claimMappings = new HashMap<>();
+        Map<String, String> staticData = new HashMap<>();
+        Properties subscriptionProperties = getSubscriptionProperties(eventName);
+        for (Object subscriptionPropertyKey : subscriptionProperties.keySet()) {
+            String key = (String) subscriptionPropertyKey;
+            String value = (String) subscriptionProperties.get(key);
+            if (key.startsWith(claimKeyStartWith)) {
+                claimMappings.put(key.substring(claimKeyStartWith.length() + 1), value);
+            } else if (!key.equalsIgnoreCase(streamIdKey) && !key.equalsIgnoreCase(templateTypeKey)) {
+                staticData.put(key.substring(keyPrefix.length() + 1), value);
             }
         }
-        return dataMap;
+
+        String streamDefinitionID = getSubscriptionProperty(STREAM_DEFINITION_ID, eventName);
+        if (StringUtils.isEmpty(streamDefinitionID)) {
+            streamDefinitionID = DEFAULT_STREAM_ID;
+        }
+        return new SubscriptionDescriptor(Collections.unmodifiableMap(claimMappings),
+                Collections.unmodifiableMap(staticData), streamDefinitionID,
+                getSubscriptionProperty(NOTIFICATION_TEMPLATE_TYPE, eventName));
     }
 
+    @Override
+    public void init(InitConfig configuration) throws IdentityRuntimeException {
+
+        super.init(configuration);
+        // Subscription properties may have changed, so the descriptors are built again on the next events.
+        subscriptionDescriptors.clear();
+    }
 
     @Override
     public String getName() {
@@ -349,14 +547,32 @@ public class DefaultNotificationHandler extends AbstractEventHandler {
     }
 
     protected String getStreamDefinitionID(Event event) throws IdentityEventException {
-        String streamDefinitionID = getSubscriptionProperty(STREAM_DEFINITION_ID, event.getEventName());
-        if(StringUtils.isEmpty(streamDefinitionID)){
-            streamDefinitionID = DEFAULT_STREAM_ID ;
-        }
-        return streamDefinitionID;
+
+        return getSubscriptionDescriptor(event.getEventName()).streamDefinitionID;
     }
 
     protected String getNotificationTemplate(Event event) throws IdentityEventException {
-        return getSubscriptionProperty(NOTIFICATION_TEMPLATE_TYPE, event.getEventName());
+
+        return getSubscriptionDescriptor(event.getEventName()).notificationTemplate;
+    }
+
+    /**
+     * Mappings derived from the subscription properties of an event name. Instances are immutable.
+     */
+    private static final class SubscriptionDescriptor {
+
+        private final Map<String, String> claimMappings;
+        private final Map<String, String> staticData;
+        private final String streamDefinitionID;
+        private final String notificationTemplate;
+
+        private SubscriptionDescriptor(Map<String, String> claimMappings, Map<String, String> staticData,
+                                       String streamDefinitionID, String notificationTemplate) {
+
+            this.claimMappings = claimMappings;
+            this.staticData = staticData;
+            this.streamDefinitionID = streamDefinitionID;
+            this.notificationTemplate = notificationTemplate;
+        }
     }
 }
@@ -32,6 +32,28 @@ public class NotificationConstants {
     public static final String DEFAULT_NOTIFICATION_LOCALE = "en_US";
     public static final String NOTIFICATION_DEFAULT_LOCALE = "Notification.DefaultLocale";
     public static final String TENANT_DOMAIN = "tenant-domain";
+    public static final String TEMPLATE_PREFETCH_POOL_SIZE = "Notification.TemplatePrefetch.PoolSize";
+    public static final String TEMPLATE_PREFETCH_QUEUE_SIZE = "Notification.TemplatePrefetch.QueueSize";
+    public static final int DEFAULT_TEMPLATE_PREFETCH_POOL_SIZE = 10;
+    public static final int DEFAULT_TEMPLATE_PREFETCH_QUEUE_SIZE = 100;
+    public static final String ASYNC_PUBLISH_ENABLED = "Notification.AsyncPublish.Enable";
+    public static final String ASYNC_PUBLISH_POOL_SIZE = "Notification.AsyncPublish.PoolSize";
+    public static final String ASYNC_PUBLISH_QUEUE_SIZE = "Notification.AsyncPublish.QueueSize";
+    public static final String ASYNC_PUBLISH_REJECTION_POLICY = "Notification.AsyncPublish.RejectionPolicy";
+    public static final int DEFAULT_ASYNC_PUBLISH_POOL_SIZE = 5;
+    public static final int DEFAULT_ASYNC_PUBLISH_QUEUE_SIZE = 1000;
+    public static final long ASYNC_PUBLISH_SHUTDOWN_TIMEOUT_SECONDS = 10L;
+    public static final String BRANDING_PREFERENCE_CACHE_MAX_AGE_SECONDS =
+            "Notification.BrandingPreferenceCache.MaxAgeSeconds";
+    public static final int DEFAULT_BRANDING_PREFERENCE_CACHE_MAX_AGE_SECONDS = 60;
+    public static final String POST_ADD_BRANDING_PREFERENCE = "POST_ADD_BRANDING_PREFERENCE";
+    public static final String POST_UPDATE_BRANDING_PREFERENCE = "POST_UPDATE_BRANDING_PREFERENCE";
+    public static final String POST_DELETE_BRANDING_PREFERENCE = "POST_DELETE_BRANDING_PREFERENCE";
+    public static final String POST_ADD_CUSTOM_TEXT_PREFERENCE = "POST_ADD_CUSTOM_TEXT_PREFERENCE";
+    public static final String POST_UPDATE_CUSTOM_TEXT_PREFERENCE = "POST_UPDATE_CUSTOM_TEXT_PREFERENCE";
+    public static final String POST_DELETE_CUSTOM_TEXT_PREFERENCE = "POST_DELETE_CUSTOM_TEXT_PREFERENCE";
+    public static final String LEAN_PAYLOAD_ENABLED = "Notification.LeanPayload.Enable";
+    public static final String LEAN_PAYLOAD_KEYS = "Notification.LeanPayload.Keys";
 
     public static class EmailNotification {
         public static final String EMAIL_TEMPLATE_PATH = "identity/Email/";
@@ -75,6 +97,8 @@ public class NotificationConstants {
         public static final String ARBITRARY_SUBJECT = "subject";
         public static final String ARBITRARY_BODY = "body";
         public static final String ARBITRARY_FOOTER = "footer";
+        public static final String[] DEFAULT_LEAN_PAYLOAD_KEYS = {ARBITRARY_SUBJECT, ARBITRARY_BODY, ARBITRARY_FOOTER,
+                ARBITRARY_SEND_TO, ARBITRARY_SEND_FROM, ARBITRARY_LOCALE, ARBITRARY_CONTENT_TYPE};
 
         public static final String CARBON_PRODUCT_URL_TEMPLATE_PLACEHOLDER = "carbon.product-url";
         public static final String ACCOUNT_RECOVERY_ENDPOINT_PLACEHOLDER = "account.recovery.endpoint-url";
@@ -21,19 +21,23 @@ package org.wso2.carbon.identity.event.handler.notification;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
 import org.wso2.carbon.email.mgt.util.I18nEmailUtil;
-import org.wso2.carbon.event.stream.core.EventStreamService;
 import org.wso2.carbon.identity.central.log.mgt.utils.LoggerUtils;
 import org.wso2.carbon.identity.event.IdentityEventConstants;
 import org.wso2.carbon.identity.event.IdentityEventException;
 import org.wso2.carbon.identity.event.event.Event;
 import org.wso2.carbon.identity.event.handler.notification.email.bean.Notification;
-import org.wso2.carbon.identity.event.handler.notification.internal.NotificationHandlerDataHolder;
+import org.wso2.carbon.identity.event.handler.notification.exception.NotificationRuntimeException;
+import org.wso2.carbon.identity.event.handler.notification.util.NotificationConfigSnapshot;
+import org.wso2.carbon.identity.event.handler.notification.util.NotificationContext;
 import org.wso2.carbon.identity.event.handler.notification.util.NotificationUtil;
 import org.wso2.carbon.utils.DiagnosticLog;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This is the Email and SMS Notification Handler which connected to the direct CEP stream.
@@ -44,7 +48,21 @@ public class NotificationHandler extends DefaultNotificationHandler {
 
     private static final Log log = LogFactory.getLog(NotificationHandler.class);
     private static final String STREAM_ID = "id_gov_notify_stream:1.0.0";
+    // Number of the keys added to the full arbitrary data map in addition to the placeholder data.
+    private static final int FIXED_ARBITRARY_DATA_KEY_COUNT = 14;
+    // Tenant domain and stream id pairs whose event publishers were checked against the lean payload keys.
+    private final Set<String> leanPayloadCheckedStreams = ConcurrentHashMap.newKeySet();
 
+    /**
+     * Build the notification of the event and publish it to the event stream. If asynchronous publishing is
+     * enabled, the event is only enqueued to the notification publish queue, except when the queue is full and its
+     * rejection policy is CALLER_RUNS.
+     *
+     * @param event Event.
+     * @throws IdentityEventException If the notification cannot be built, or if the notification publish queue
+     *                                rejects the event, which happens on the request thread when the queue is full
+     *                                and its rejection policy is REJECT, or when the queue is shut down.
+     */
     @Override
     public void handleEvent(Event event) throws IdentityEventException {
 
@@ -55,47 +73,60 @@ public class NotificationHandler extends DefaultNotificationHandler {
             event.getEventProperties().put(NotificationConstants.EmailNotification.EMAIL_TEMPLATE_TYPE,
                     notificationTemplate);
         }
-        Map<String, String> arbitraryDataMap = new HashMap<>();
-        for (Map.Entry<String, Object> entry : event.getEventProperties().entrySet()) {
-            if (entry.getValue() instanceof String) {
-                arbitraryDataMap.put(entry.getKey(), (String) entry.getValue());
-            }
-        }
+        // Event properties are read through the context instead of being copied for each notification.
+        NotificationContext notificationContext = new NotificationContext(event.getEventProperties());
         if (LoggerUtils.isDiagnosticLogsEnabled()) {
             DiagnosticLog.DiagnosticLogBuilder diagnosticLogBuilder = new DiagnosticLog.DiagnosticLogBuilder(
                     NotificationConstants.LogConstants.NOTIFICATION_HANDLER_SERVICE,
                     NotificationConstants.LogConstants.ActionIDs.HANDLE_EVENT);
             diagnosticLogBuilder
                     .inputParam(NotificationConstants.LogConstants.InputKeys.EVENT_NAME,
-                            arbitraryDataMap.get(NotificationConstants.TEMPLATE_TYPE))
+                            notificationContext.get(NotificationConstants.TEMPLATE_TYPE))
                     .inputParam(NotificationConstants.LogConstants.InputKeys.TENANT_DOMAIN,
-                            arbitraryDataMap.get(NotificationConstants.TENANT_DOMAIN))
+                            notificationContext.get(NotificationConstants.TENANT_DOMAIN))
                     .resultMessage("Notification will be handled.")
                     .resultStatus(DiagnosticLog.ResultStatus.SUCCESS)
                     .logDetailLevel(DiagnosticLog.LogDetailLevel.INTERNAL_SYSTEM);
             LoggerUtils.triggerDiagnosticLogEvent(diagnosticLogBuilder);
         }
 
-        Notification notification = NotificationUtil.buildNotification(event, arbitraryDataMap);
+        Notification notification = NotificationUtil.buildNotification(event, notificationContext);
 
         //Stream definition will be read from the identity-even.properties file as a property of the subscription
         //property. Then it will get the first priority.
         String streamDefinitionID = getStreamDefinitionID(event);
         //This stream-id was set to the map to pass to the publishToStream method only to avoid API change.
-        arbitraryDataMap.put("tmp-stream-id", streamDefinitionID);
-        publishToStream(notification, arbitraryDataMap);
+        notificationContext.put("tmp-stream-id", streamDefinitionID);
+        try {
+            publishToStream(notification, notificationContext);
+        } catch (NotificationRuntimeException e) {
+            throw new IdentityEventException("Error while publishing the notification event of "
+                    + event.getEventName(), e);
+        }
     }
 
     protected void publishToStream(Notification notification, Map<String, String> placeHolderDataMap) {
 
-        EventStreamService service = NotificationHandlerDataHolder.getInstance().getEventStreamService();
-
         org.wso2.carbon.databridge.commons.Event databridgeEvent = new org.wso2.carbon.databridge.commons.Event();
         databridgeEvent.setTimeStamp(System.currentTimeMillis());
-        Map<String, String> arbitraryDataMap = new HashMap<>();
-
         databridgeEvent.setStreamId(placeHolderDataMap.remove("tmp-stream-id"));
 
+        NotificationConfigSnapshot notificationConfig = NotificationUtil.getNotificationConfig();
+        if (notificationConfig.isLeanPayloadEnabled()) {
+            checkLeanPayloadKeys(databridgeEvent.getStreamId(), notificationConfig.getLeanPayloadKeys());
+            databridgeEvent.setArbitraryDataMap(buildLeanArbitraryDataMap(notification, placeHolderDataMap,
+                    notificationConfig.getLeanPayloadKeys()));
+        } else {
+            databridgeEvent.setArbitraryDataMap(buildArbitraryDataMap(notification, placeHolderDataMap));
+        }
+        NotificationUtil.publishToStream(databridgeEvent);
+    }
+
+    private Map<String, String> buildArbitraryDataMap(Notification notification,
+                                                      Map<String, String> placeHolderDataMap) {
+
+        Map<String, String> arbitraryDataMap = new HashMap<>(
+                (placeHolderDataMap.size() + FIXED_ARBITRARY_DATA_KEY_COUNT) * 4 / 3 + 1);
         arbitraryDataMap.put(NotificationConstants.EmailNotification.ARBITRARY_EVENT_TYPE, I18nEmailUtil.
                 getNormalizedName(notification.getTemplate().getTemplateDisplayName()));
         arbitraryDataMap.put(IdentityEventConstants.EventProperty.USER_NAME,
@@ -122,12 +153,95 @@ public class NotificationHandler extends DefaultNotificationHandler {
         arbitraryDataMap.put(NotificationConstants.EmailNotification.ARBITRARY_SUBJECT, notification.getSubject());
         arbitraryDataMap.put(NotificationConstants.EmailNotification.ARBITRARY_BODY, notification.getBody());
         arbitraryDataMap.put(NotificationConstants.EmailNotification.ARBITRARY_FOOTER, notification.getFooter());
+        return arbitraryDataMap;
+    }
 
+    /**
+     * Warn if the event publishers of the stream reference keys which are not published in the lean payload mode,
+     * since those placeholders are left unresolved by the publishers. The publishers of a stream are checked once
+     * per tenant, so a publisher redeployed later is only checked again after a restart.
+     *
+     * @param streamId        Stream id.
+     * @param leanPayloadKeys Keys published in the lean payload mode.
+     */
+    private void checkLeanPayloadKeys(String streamId, Set<String> leanPayloadKeys) {
 
-        databridgeEvent.setArbitraryDataMap(arbitraryDataMap);
-        service.publish(databridgeEvent);
+        String tenantDomain = PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantDomain();
+        if (!leanPayloadCheckedStreams.add(tenantDomain + ":" + streamId)) {
+            return;
+        }
+        try {
+            Set<String> missingKeys = NotificationUtil.getKeysMissingFromLeanPayload(streamId, leanPayloadKeys);
+            if (!missingKeys.isEmpty()) {
+                log.warn("Event publishers of the stream: " + streamId + " in the tenant: " + tenantDomain
+                        + " reference the keys: " + missingKeys + " which are not published in the lean payload "
+                        + "mode. Add them to " + NotificationConstants.LEAN_PAYLOAD_KEYS + ".");
+            }
+        } catch (NotificationRuntimeException e) {
+            log.warn("Error while checking the event publishers of the stream: " + streamId
+                    + " against the lean payload keys.", e);
+        }
     }
 
+    /**
+     * Build the arbitrary data of the event with only the given keys. The keys are configured to match the keys
+     * referenced by the output mappings of the event publishers, which is checked by checkLeanPayloadKeys. Keys
+     * which are not notification fields are read from the placeholder data.
+     *
+     * @param notification       Rendered notification.
+     * @param placeHolderDataMap Placeholder data of the notification.
+     * @param keys               Keys to publish.
+     * @return Arbitrary data of the event.
+     */
+    private Map<String, String> buildLeanArbitraryDataMap(Notification notification,
+                                                          Map<String, String> placeHolderDataMap, Set<String> keys) {
+
+        Map<String, String> arbitraryDataMap = new HashMap<>(keys.size() * 4 / 3 + 1);
+        for (String key : keys) {
+            switch (key) {
+                case NotificationConstants.EmailNotification.ARBITRARY_SUBJECT:
+                    arbitraryDataMap.put(key, notification.getSubject());
+                    break;
+                case NotificationConstants.EmailNotification.ARBITRARY_BODY:
+                    arbitraryDataMap.put(key, notification.getBody());
+                    break;
+                case NotificationConstants.EmailNotification.ARBITRARY_FOOTER:
+                    arbitraryDataMap.put(key, notification.getFooter());
+                    break;
+                case NotificationConstants.EmailNotification.ARBITRARY_SEND_TO:
+                    arbitraryDataMap.put(key, notification.getSendTo());
+                    break;
+                case NotificationConstants.EmailNotification.ARBITRARY_SEND_FROM:
+                    arbitraryDataMap.put(key, notification.getSendFrom());
+                    break;
+                case NotificationConstants.EmailNotification.ARBITRARY_LOCALE:
+                    arbitraryDataMap.put(key, notification.getTemplate().getLocale());
+                    break;
+                case NotificationConstants.EmailNotification.ARBITRARY_CONTENT_TYPE:
+                    arbitraryDataMap.put(key, notification.getTemplate().getEmailContentType());
+                    break;
+                case NotificationConstants.EmailNotification.ARBITRARY_EVENT_TYPE:
+                    arbitraryDataMap.put(key, I18nEmailUtil.getNormalizedName(
+                            notification.getTemplate().getTemplateDisplayName()));
+                    break;
+                case NotificationConstants.EmailNotification.ARBITRARY_SUBJECT_TEMPLATE:
+                    arbitraryDataMap.put(key, notification.getTemplate().getSubject());
+                    break;
+                case NotificationConstants.EmailNotification.ARBITRARY_BODY_TEMPLATE:
+                    arbitraryDataMap.put(key, notification.getTemplate().getBody());
+                    break;
+                case NotificationConstants.EmailNotification.ARBITRARY_FOOTER_TEMPLATE:
+                    arbitraryDataMap.put(key, notification.getTemplate().getFooter());
+                    break;
+                default:
+                    String value = placeHolderDataMap.get(key);
+                    if (value != null) {
+                        arbitraryDataMap.put(key, value);
+                    }
+            }
+        }
+        return arbitraryDataMap;
+    }
 
     @Override
     public String getStreamDefinitionID(Event event) throws IdentityEventException {
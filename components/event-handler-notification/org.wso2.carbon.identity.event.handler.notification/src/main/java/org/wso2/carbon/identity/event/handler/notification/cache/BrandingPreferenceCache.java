@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.cache;
+
+import org.wso2.carbon.identity.core.cache.BaseCache;
+
+/**
+ * Tenant wise cache of the resolved branding and custom text preferences used in notifications. The capacity and
+ * the timeout of the cache are taken from the cache configuration of identity.xml. The cache of a tenant is cleared
+ * when the branding or custom text preferences of the tenant change. Entries are also retrieved again once they are
+ * older than the maximum age configured with Notification.BrandingPreferenceCache.MaxAgeSeconds, which is 60 seconds
+ * by default, to bound the staleness of changes for which no branding preference event is published.
+ */
+public class BrandingPreferenceCache extends BaseCache<BrandingPreferenceCacheKey, BrandingPreferenceCacheEntry> {
+
+    private static final String CACHE_NAME = "NotificationBrandingPreferenceCache";
+    private static volatile BrandingPreferenceCache instance;
+
+    private BrandingPreferenceCache() {
+
+        super(CACHE_NAME);
+    }
+
+    public static BrandingPreferenceCache getInstance() {
+
+        if (instance == null) {
+            synchronized (BrandingPreferenceCache.class) {
+                if (instance == null) {
+                    instance = new BrandingPreferenceCache();
+                }
+            }
+        }
+        return instance;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.wso2.carbon.identity.core.cache.CacheEntry;
+import org.wso2.carbon.identity.event.handler.notification.placeholder.BrandingSnapshot;
+
+/**
+ * Cache entry of {@link BrandingPreferenceCache}. Holds the parsed preference, or null if the preference is not
+ * configured or disabled for the tenant, so that the branding service is not called again for such tenants.
+ * Entries are immutable and the preference must not be modified once cached. Entries of the branding preference
+ * also hold the {@link BrandingSnapshot} built from the preference before the entry is cached. The time the preference
+ * was retrieved is kept so that entries older than the configured maximum age are retrieved again.
+ */
+public class BrandingPreferenceCacheEntry extends CacheEntry {
+
+    private static final long serialVersionUID = -6127880541904378265L;
+
+    private final JsonNode preference;
+    private final BrandingSnapshot brandingSnapshot;
+    private final long retrievedTime;
+
+    public BrandingPreferenceCacheEntry(JsonNode preference) {
+
+        this(preference, null);
+    }
+
+    public BrandingPreferenceCacheEntry(JsonNode preference, BrandingSnapshot brandingSnapshot) {
+
+        this(preference, brandingSnapshot, System.currentTimeMillis());
+    }
+
+    public BrandingPreferenceCacheEntry(JsonNode preference, BrandingSnapshot brandingSnapshot, long retrievedTime) {
+
+        this.preference = preference;
+        this.brandingSnapshot = brandingSnapshot;
+        this.retrievedTime = retrievedTime;
+    }
+
+    public JsonNode getPreference() {
+
+        return preference;
+    }
+
+    public BrandingSnapshot getBrandingSnapshot() {
+
+        return brandingSnapshot;
+    }
+
+    public long getRetrievedTime() {
+
+        return retrievedTime;
+    }
+
+    /**
+     * Check whether the preference was retrieved earlier than the given maximum age.
+     *
+     * @param maxAgeMillis Maximum age in milliseconds. A value that is not positive means no limit.
+     * @return True if the entry should be retrieved again.
+     */
+    public boolean isExpired(long maxAgeMillis) {
+
+        return maxAgeMillis > 0 && System.currentTimeMillis() - retrievedTime > maxAgeMillis;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.cache;
+
+import org.wso2.carbon.identity.core.cache.CacheKey;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Cache key of {@link BrandingPreferenceCache}. The tenant is not a part of the key since the cache is tenant wise.
+ */
+public class BrandingPreferenceCacheKey extends CacheKey {
+
+    private static final long serialVersionUID = 2807315570421630945L;
+
+    private static final String BRANDING_PREFERENCE = "BRANDING_PREFERENCE";
+    private static final String CUSTOM_TEXT = "CUSTOM_TEXT";
+
+    private final String preferenceType;
+    private final String screen;
+    private final String locale;
+
+    private BrandingPreferenceCacheKey(String preferenceType, String screen, String locale) {
+
+        this.preferenceType = preferenceType;
+        this.screen = screen;
+        this.locale = locale != null ? locale.toLowerCase(Locale.ENGLISH) : null;
+    }
+
+    /**
+     * Build the key of the branding preference of the given locale.
+     *
+     * @param locale Locale of the branding preference.
+     * @return Cache key.
+     */
+    public static BrandingPreferenceCacheKey forBrandingPreference(String locale) {
+
+        return new BrandingPreferenceCacheKey(BRANDING_PREFERENCE, null, locale);
+    }
+
+    /**
+     * Build the key of the custom text preference of the given screen and locale.
+     *
+     * @param screen Screen of the custom text.
+     * @param locale Locale of the custom text.
+     * @return Cache key.
+     */
+    public static BrandingPreferenceCacheKey forCustomText(String screen, String locale) {
+
+        return new BrandingPreferenceCacheKey(CUSTOM_TEXT, screen, locale);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BrandingPreferenceCacheKey)) {
+            return false;
+        }
+        BrandingPreferenceCacheKey that = (BrandingPreferenceCacheKey) o;
+        return Objects.equals(preferenceType, that.preferenceType) && Objects.equals(screen, that.screen)
+                && Objects.equals(locale, that.locale);
+    }
+
+    @Override
+    public int hashCode() {
+
+        return Objects.hash(preferenceType, screen, locale);
+    }
+}
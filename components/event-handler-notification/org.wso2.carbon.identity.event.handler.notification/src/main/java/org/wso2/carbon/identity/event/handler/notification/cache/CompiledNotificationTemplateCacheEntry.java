@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.cache;
+
+import org.apache.commons.lang.StringUtils;
+import org.wso2.carbon.email.mgt.model.EmailTemplate;
+import org.wso2.carbon.identity.core.cache.CacheEntry;
+import org.wso2.carbon.identity.event.handler.notification.template.CompiledNotificationTemplate;
+
+/**
+ * Cache entry of {@link CompiledNotificationTemplateCache}. Keeps the source content along with the compiled
+ * template, so that a template updated in the registry is never rendered from a stale compiled form.
+ */
+public class CompiledNotificationTemplateCacheEntry extends CacheEntry {
+
+    private static final long serialVersionUID = 4410569870512734906L;
+
+    private final String subject;
+    private final String body;
+    private final String footer;
+    private final CompiledNotificationTemplate compiledTemplate;
+
+    public CompiledNotificationTemplateCacheEntry(EmailTemplate template,
+                                                  CompiledNotificationTemplate compiledTemplate) {
+
+        this.subject = template.getSubject();
+        this.body = template.getBody();
+        this.footer = template.getFooter();
+        this.compiledTemplate = compiledTemplate;
+    }
+
+    /**
+     * Check whether the cached compiled template was compiled from the content of the given template.
+     *
+     * @param template {@link EmailTemplate} object.
+     * @return True if the content is the same.
+     */
+    public boolean isCompiledFrom(EmailTemplate template) {
+
+        // Templates served from the template cache share the same content instances, hence the equality checks
+        // are reference comparisons in the common case.
+        return StringUtils.equals(body, template.getBody()) && StringUtils.equals(subject, template.getSubject())
+                && StringUtils.equals(footer, template.getFooter());
+    }
+
+    public CompiledNotificationTemplate getCompiledTemplate() {
+
+        return compiledTemplate;
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.cache;
+
+import org.wso2.carbon.identity.core.cache.CacheEntry;
+
+/**
+ * Cache entry of {@link OrganizationNameCache}. Tenants which are not associated with an organization are cached
+ * with the tenant domain as the organization name, so that the organization is not looked up again for them.
+ */
+public class OrganizationNameCacheEntry extends CacheEntry {
+
+    private static final long serialVersionUID = -1797324531670249563L;
+
+    private final String organizationName;
+
+    public OrganizationNameCacheEntry(String organizationName) {
+
+        this.organizationName = organizationName;
+    }
+
+    public String getOrganizationName() {
+
+        return organizationName;
+    }
+}
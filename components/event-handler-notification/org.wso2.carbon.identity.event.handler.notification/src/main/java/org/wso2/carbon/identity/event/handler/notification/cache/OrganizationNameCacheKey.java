@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.cache;
+
+import org.wso2.carbon.identity.core.cache.CacheKey;
+
+import java.util.Objects;
+
+/**
+ * Cache key of {@link OrganizationNameCache}.
+ */
+public class OrganizationNameCacheKey extends CacheKey {
+
+    private static final long serialVersionUID = 6402318814093379265L;
+
+    private final String tenantDomain;
+
+    public OrganizationNameCacheKey(String tenantDomain) {
+
+        this.tenantDomain = tenantDomain;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OrganizationNameCacheKey)) {
+            return false;
+        }
+        return Objects.equals(tenantDomain, ((OrganizationNameCacheKey) o).tenantDomain);
+    }
+
+    @Override
+    public int hashCode() {
+
+        return Objects.hashCode(tenantDomain);
+    }
+}
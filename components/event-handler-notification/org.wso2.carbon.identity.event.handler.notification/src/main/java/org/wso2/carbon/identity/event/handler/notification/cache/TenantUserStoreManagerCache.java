@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.cache;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.event.handler.notification.internal.NotificationHandlerDataHolder;
+import org.wso2.carbon.user.api.UserStoreException;
+import org.wso2.carbon.user.api.UserStoreManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local cache of the user store managers of the tenant realms, used to retrieve the claims of the users notified.
+ * User store manager instances cannot be shared across nodes, hence this is not a distributed cache.
+ * Secondary user store managers are not cached, since they are resolved from the user store chain of the realm, which
+ * reflects the user stores added, updated or removed. The cache of a tenant is cleared when the tenant is updated,
+ * deactivated, deleted or unloaded, since the realm of the tenant is rebuilt afterwards.
+ */
+public class TenantUserStoreManagerCache {
+
+    private static final Log log = LogFactory.getLog(TenantUserStoreManagerCache.class);
+    private static final TenantUserStoreManagerCache instance = new TenantUserStoreManagerCache();
+
+    private final Map<String, TenantUserStoreManager> userStoreManagers = new ConcurrentHashMap<>();
+
+    private TenantUserStoreManagerCache() {
+
+    }
+
+    public static TenantUserStoreManagerCache getInstance() {
+
+        return instance;
+    }
+
+    /**
+     * Get the user store manager of the realm of the given tenant.
+     *
+     * @param tenantDomain Tenant domain.
+     * @return User store manager of the tenant, or null if the realm does not have a user store manager.
+     * @throws UserStoreException If the realm of the tenant cannot be retrieved.
+     */
+    public UserStoreManager getUserStoreManager(String tenantDomain) throws UserStoreException {
+
+        TenantUserStoreManager tenantUserStoreManager = userStoreManagers.get(tenantDomain);
+        if (tenantUserStoreManager != null) {
+            return tenantUserStoreManager.userStoreManager;
+        }
+
+        int tenantId = IdentityTenantUtil.getTenantId(tenantDomain);
+        UserStoreManager userStoreManager = NotificationHandlerDataHolder.getInstance().getRealmService()
+                .getTenantUserRealm(tenantId).getUserStoreManager();
+        if (userStoreManager != null) {
+            userStoreManagers.put(tenantDomain, new TenantUserStoreManager(tenantId, userStoreManager));
+        }
+        return userStoreManager;
+    }
+
+    /**
+     * Clear the cached user store manager of the given tenant.
+     *
+     * @param tenantDomain Tenant domain.
+     */
+    public void clear(String tenantDomain) {
+
+        if (tenantDomain == null) {
+            return;
+        }
+        if (userStoreManagers.remove(tenantDomain) != null && log.isDebugEnabled()) {
+            log.debug("Cleared the cached user store manager of tenant: " + tenantDomain);
+        }
+    }
+
+    /**
+     * Clear the cached user store manager of the given tenant.
+     *
+     * @param tenantId Tenant ID.
+     */
+    public void clear(int tenantId) {
+
+        userStoreManagers.values().removeIf(tenantUserStoreManager -> tenantUserStoreManager.tenantId == tenantId);
+    }
+
+    /**
+     * User store manager of a tenant realm.
+     */
+    private static class TenantUserStoreManager {
+
+        private final int tenantId;
+        private final UserStoreManager userStoreManager;
+
+        private TenantUserStoreManager(int tenantId, UserStoreManager userStoreManager) {
+
+            this.tenantId = tenantId;
+            this.userStoreManager = userStoreManager;
+        }
+    }
+}
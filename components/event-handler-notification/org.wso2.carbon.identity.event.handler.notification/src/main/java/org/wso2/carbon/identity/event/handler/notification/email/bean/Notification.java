@@ -19,15 +19,11 @@
 package org.wso2.carbon.identity.event.handler.notification.email.bean;
 
 
-import org.apache.commons.lang.StringUtils;
-import org.wso2.carbon.identity.event.handler.notification.exception.NotificationRuntimeException;
 import org.wso2.carbon.email.mgt.model.EmailTemplate;
+import org.wso2.carbon.identity.event.handler.notification.template.CompiledNotificationTemplate;
 
 import java.io.Serializable;
-import java.io.UnsupportedEncodingException;
-import java.net.URLEncoder;
 import java.util.Map;
-import java.util.regex.Matcher;
 
 public class Notification implements Serializable {
 
@@ -44,33 +40,15 @@ public class Notification implements Serializable {
         this.sendFrom = builder.sendFrom;
         this.template = builder.template;
         this.placeHolderData = builder.placeHolderData;
-        this.body = replaceTags(template.getBody(), placeHolderData);
-        if (StringUtils.isNotEmpty(template.getSubject())) {
-            this.subject = replaceTags(template.getSubject(), placeHolderData);
-        }
-        if (StringUtils.isNotEmpty(template.getFooter())) {
-            this.footer = replaceTags(template.getFooter(), placeHolderData);
+        CompiledNotificationTemplate compiledTemplate = builder.compiledTemplate;
+        if (compiledTemplate == null) {
+            compiledTemplate = CompiledNotificationTemplate.compile(template);
         }
-    }
-
-    private static String replaceTags(String content, Map<String, String> tagsData) {
-
-        for (Map.Entry<String, String> entry : tagsData.entrySet()) {
-            try {
-
-                // In email templates the placeholders in a URL, are defined in the format of {{url:key}} -
-                // eg:{{url:user-name}}, So that the values should be URL Encoded
-                content = content.replaceAll("\\{\\{url:" + entry.getKey() + "\\}\\}", URLEncoder.encode(entry.getValue(),
-                        "UTF-8"));
-            } catch (UnsupportedEncodingException e) {
-                throw NotificationRuntimeException.error(e.getMessage(), e);
-            }
-
-            // Backslashes (\) and dollar signs ($) in the replacement string is not treated as a literals.
-            content = content.replaceAll("\\{\\{" + entry.getKey() + "\\}\\}", Matcher.quoteReplacement(entry
-                    .getValue()));
-        }
-        return content;
+        // In email templates the placeholders in a URL, are defined in the format of {{url:key}} -
+        // eg:{{url:user-name}}, So that the values are URL Encoded while rendering.
+        this.body = compiledTemplate.renderBody(placeHolderData);
+        this.subject = compiledTemplate.renderSubject(placeHolderData);
+        this.footer = compiledTemplate.renderFooter(placeHolderData);
     }
 
     public String getSendTo() {
@@ -104,6 +82,7 @@ public class Notification implements Serializable {
         private String sendFrom;
         private EmailTemplate template;
         private Map<String, String> placeHolderData;
+        private CompiledNotificationTemplate compiledTemplate;
 
         public EmailNotificationBuilder(String sendTo) {
             this.sendTo = sendTo;
@@ -113,6 +92,15 @@ public class Notification implements Serializable {
             this.template = template;
         }
 
+        /**
+         * Set the pre-compiled form of the template. If not set, the template is compiled when building.
+         *
+         * @param compiledTemplate Compiled notification template.
+         */
+        public void setCompiledTemplate(CompiledNotificationTemplate compiledTemplate) {
+            this.compiledTemplate = compiledTemplate;
+        }
+
         public void setSendFrom(String sendFrom) {
             this.sendFrom = sendFrom;
         }
@@ -20,6 +20,9 @@ package org.wso2.carbon.identity.event.handler.notification.internal;
 
 import org.wso2.carbon.event.publisher.core.EventPublisherService;
 import org.wso2.carbon.event.stream.core.EventStreamService;
+import org.wso2.carbon.identity.event.handler.notification.placeholder.PlaceholderResolver;
+import org.wso2.carbon.identity.event.handler.notification.util.NotificationConfigSnapshot;
+import org.wso2.carbon.identity.event.handler.notification.util.NotificationPublishQueue;
 import org.wso2.carbon.identity.governance.service.notification.NotificationTemplateManager;
 import org.wso2.carbon.identity.organization.management.service.OrganizationManager;
 import org.wso2.carbon.registry.core.service.RegistryService;
@@ -27,6 +30,14 @@ import org.wso2.carbon.user.core.service.RealmService;
 import org.wso2.carbon.utils.ConfigurationContextService;
 import org.wso2.carbon.email.mgt.EmailTemplateManager;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
 public class NotificationHandlerDataHolder {
 
     private static volatile NotificationHandlerDataHolder instance = new NotificationHandlerDataHolder();
@@ -37,6 +48,11 @@ public class NotificationHandlerDataHolder {
     private EmailTemplateManager emailTemplateManager = null;
     private NotificationTemplateManager notificationTemplateManager = null;
     private OrganizationManager organizationManager;
+    private final Map<String, PlaceholderResolver> placeholderResolverMap = new ConcurrentHashMap<>();
+    private volatile List<PlaceholderResolver> placeholderResolvers = Collections.emptyList();
+    private volatile NotificationConfigSnapshot notificationConfig;
+    private volatile ExecutorService templatePrefetchExecutor;
+    private volatile NotificationPublishQueue notificationPublishQueue;
 
     private NotificationHandlerDataHolder() {
 
@@ -126,4 +142,103 @@ public class NotificationHandlerDataHolder {
 
         this.organizationManager = organizationManager;
     }
+
+    /**
+     * Get the notification configurations read from identity.xml.
+     *
+     * @return {@link NotificationConfigSnapshot} or null if the configurations are not loaded yet.
+     */
+    public NotificationConfigSnapshot getNotificationConfig() {
+
+        return notificationConfig;
+    }
+
+    /**
+     * Set the notification configurations read from identity.xml.
+     *
+     * @param notificationConfig {@link NotificationConfigSnapshot} replacing the current configurations.
+     */
+    public void setNotificationConfig(NotificationConfigSnapshot notificationConfig) {
+
+        this.notificationConfig = notificationConfig;
+    }
+
+    /**
+     * Get the executor used to retrieve notification templates while the user claims are retrieved.
+     *
+     * @return Template prefetch executor or null if templates are not prefetched.
+     */
+    public ExecutorService getTemplatePrefetchExecutor() {
+
+        return templatePrefetchExecutor;
+    }
+
+    /**
+     * Set the executor used to retrieve notification templates while the user claims are retrieved.
+     *
+     * @param templatePrefetchExecutor Template prefetch executor.
+     */
+    public void setTemplatePrefetchExecutor(ExecutorService templatePrefetchExecutor) {
+
+        this.templatePrefetchExecutor = templatePrefetchExecutor;
+    }
+
+    /**
+     * Get the queue used to publish the notification events asynchronously.
+     *
+     * @return Notification publish queue or null if the events are published on the request thread.
+     */
+    public NotificationPublishQueue getNotificationPublishQueue() {
+
+        return notificationPublishQueue;
+    }
+
+    /**
+     * Set the queue used to publish the notification events asynchronously.
+     *
+     * @param notificationPublishQueue Notification publish queue.
+     */
+    public void setNotificationPublishQueue(NotificationPublishQueue notificationPublishQueue) {
+
+        this.notificationPublishQueue = notificationPublishQueue;
+    }
+
+    /**
+     * Get the registered placeholder resolvers.
+     *
+     * @return Unmodifiable list of placeholder resolvers, in the descending order of the priority.
+     */
+    public List<PlaceholderResolver> getPlaceholderResolvers() {
+
+        return placeholderResolvers;
+    }
+
+    /**
+     * Register a placeholder resolver. A resolver registered with the same name replaces the existing one.
+     *
+     * @param placeholderResolver {@link PlaceholderResolver} to register.
+     */
+    public synchronized void registerPlaceholderResolver(PlaceholderResolver placeholderResolver) {
+
+        placeholderResolverMap.put(placeholderResolver.getName(), placeholderResolver);
+        refreshPlaceholderResolvers();
+    }
+
+    /**
+     * Unregister a placeholder resolver.
+     *
+     * @param placeholderResolver {@link PlaceholderResolver} to unregister.
+     */
+    public synchronized void unregisterPlaceholderResolver(PlaceholderResolver placeholderResolver) {
+
+        placeholderResolverMap.remove(placeholderResolver.getName(), placeholderResolver);
+        refreshPlaceholderResolvers();
+    }
+
+    private void refreshPlaceholderResolvers() {
+
+        List<PlaceholderResolver> resolvers = new ArrayList<>(placeholderResolverMap.values());
+        resolvers.sort(Comparator.comparingInt(PlaceholderResolver::getPriority).reversed());
+        placeholderResolvers = Collections.unmodifiableList(resolvers);
+    }
 }
@@ -24,13 +24,25 @@ import org.wso2.carbon.event.publisher.core.EventPublisherService;
 import org.wso2.carbon.event.stream.core.EventStreamService;
 import org.wso2.carbon.identity.event.handler.AbstractEventHandler;
 import org.wso2.carbon.identity.event.handler.notification.DefaultNotificationHandler;
+import org.wso2.carbon.identity.event.handler.notification.NotificationConstants;
 import org.wso2.carbon.identity.event.handler.notification.NotificationHandler;
+import org.wso2.carbon.identity.event.handler.notification.listener.BrandingPreferenceUpdateEventHandler;
 import org.wso2.carbon.identity.event.handler.notification.listener.NotificationEventTenantListener;
+import org.wso2.carbon.identity.event.handler.notification.listener.NotificationTenantUnloadObserver;
+import org.wso2.carbon.identity.event.handler.notification.listener.OrganizationUpdateEventHandler;
+import org.wso2.carbon.identity.event.handler.notification.placeholder.BrandingPlaceholderResolver;
+import org.wso2.carbon.identity.event.handler.notification.placeholder.ConfigFilePlaceholderResolver;
+import org.wso2.carbon.identity.event.handler.notification.placeholder.PlaceholderResolver;
+import org.wso2.carbon.identity.event.handler.notification.placeholder.ServerUrlPlaceholderResolver;
+import org.wso2.carbon.identity.event.handler.notification.placeholder.UserClaimPlaceholderResolver;
+import org.wso2.carbon.identity.event.handler.notification.util.NotificationPublishQueue;
+import org.wso2.carbon.identity.event.handler.notification.util.NotificationUtil;
 import org.wso2.carbon.identity.governance.service.notification.NotificationTemplateManager;
 import org.wso2.carbon.identity.organization.management.service.OrganizationManager;
 import org.wso2.carbon.registry.core.service.RegistryService;
 import org.wso2.carbon.stratos.common.listeners.TenantMgtListener;
 import org.wso2.carbon.user.core.service.RealmService;
+import org.wso2.carbon.utils.Axis2ConfigurationContextObserver;
 import org.wso2.carbon.email.mgt.EmailTemplateManager;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -39,6 +51,9 @@ import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
 @Component(
          name = "identity.event.handler.notification", 
          immediate = true)
@@ -49,9 +64,22 @@ public class NotificationHandlerServiceComponent {
     @Activate
     protected void activate(ComponentContext context) {
         try {
+            NotificationUtil.reloadNotificationConfig();
+            NotificationHandlerDataHolder.getInstance().setTemplatePrefetchExecutor(
+                    NotificationUtil.createTemplatePrefetchExecutor());
+            NotificationHandlerDataHolder.getInstance().setNotificationPublishQueue(
+                    NotificationUtil.createNotificationPublishQueue());
+            NotificationHandlerDataHolder.getInstance().registerPlaceholderResolver(new ConfigFilePlaceholderResolver());
+            NotificationHandlerDataHolder.getInstance().registerPlaceholderResolver(new BrandingPlaceholderResolver());
+            NotificationHandlerDataHolder.getInstance().registerPlaceholderResolver(new UserClaimPlaceholderResolver());
+            NotificationHandlerDataHolder.getInstance().registerPlaceholderResolver(new ServerUrlPlaceholderResolver());
             context.getBundleContext().registerService(AbstractEventHandler.class.getName(), new NotificationHandler(), null);
             context.getBundleContext().registerService(AbstractEventHandler.class.getName(), new DefaultNotificationHandler(), null);
+            context.getBundleContext().registerService(AbstractEventHandler.class.getName(), new OrganizationUpdateEventHandler(), null);
+            context.getBundleContext().registerService(AbstractEventHandler.class.getName(),
+                    new BrandingPreferenceUpdateEventHandler(), null);
             context.getBundleContext().registerService(TenantMgtListener.class.getName(), new NotificationEventTenantListener(), null);
+            context.getBundleContext().registerService(Axis2ConfigurationContextObserver.class.getName(), new NotificationTenantUnloadObserver(), null);
         } catch (Throwable e) {
             log.error("Error occurred while activating Notification Handler Service Component", e);
         }
@@ -62,6 +90,20 @@ public class NotificationHandlerServiceComponent {
 
     @Deactivate
     protected void deactivate(ComponentContext context) {
+
+        ExecutorService templatePrefetchExecutor =
+                NotificationHandlerDataHolder.getInstance().getTemplatePrefetchExecutor();
+        if (templatePrefetchExecutor != null) {
+            NotificationHandlerDataHolder.getInstance().setTemplatePrefetchExecutor(null);
+            templatePrefetchExecutor.shutdownNow();
+        }
+        NotificationPublishQueue notificationPublishQueue =
+                NotificationHandlerDataHolder.getInstance().getNotificationPublishQueue();
+        if (notificationPublishQueue != null) {
+            NotificationHandlerDataHolder.getInstance().setNotificationPublishQueue(null);
+            notificationPublishQueue.shutdown(NotificationConstants.ASYNC_PUBLISH_SHUTDOWN_TIMEOUT_SECONDS,
+                    TimeUnit.SECONDS);
+        }
         if (log.isDebugEnabled()) {
             log.debug("Notification Handler bundle is de-activated");
         }
@@ -212,5 +254,25 @@ public class NotificationHandlerServiceComponent {
 
         NotificationHandlerDataHolder.getInstance().setOrganizationManager(null);
     }
-}
 
+    @Reference(name = "placeholder.resolver.tracker.service",
+            service = PlaceholderResolver.class,
+            cardinality = ReferenceCardinality.MULTIPLE,
+            policy = ReferencePolicy.DYNAMIC,
+            unbind = "unsetPlaceholderResolver")
+    protected void setPlaceholderResolver(PlaceholderResolver placeholderResolver) {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Registering the placeholder resolver: " + placeholderResolver.getName());
+        }
+        NotificationHandlerDataHolder.getInstance().registerPlaceholderResolver(placeholderResolver);
+    }
+
+    protected void unsetPlaceholderResolver(PlaceholderResolver placeholderResolver) {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Unregistering the placeholder resolver: " + placeholderResolver.getName());
+        }
+        NotificationHandlerDataHolder.getInstance().unregisterPlaceholderResolver(placeholderResolver);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.listener;
+
+import org.apache.commons.lang.StringUtils;
+import org.wso2.carbon.identity.base.IdentityRuntimeException;
+import org.wso2.carbon.identity.core.bean.context.MessageContext;
+import org.wso2.carbon.identity.event.IdentityEventConstants;
+import org.wso2.carbon.identity.event.IdentityEventException;
+import org.wso2.carbon.identity.event.bean.IdentityEventMessageContext;
+import org.wso2.carbon.identity.event.event.Event;
+import org.wso2.carbon.identity.event.handler.AbstractEventHandler;
+import org.wso2.carbon.identity.event.handler.notification.NotificationConstants;
+import org.wso2.carbon.identity.event.handler.notification.util.NotificationUtil;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Clears the cached branding and custom text preferences of a tenant when the branding preference or a custom text
+ * preference of the tenant is added, updated or deleted. The handler is subscribed to the branding preference events
+ * without any configuration in identity-event.properties.
+ */
+public class BrandingPreferenceUpdateEventHandler extends AbstractEventHandler {
+
+    private static final Set<String> BRANDING_PREFERENCE_UPDATE_EVENTS = Collections.unmodifiableSet(new HashSet<>(
+            Arrays.asList(NotificationConstants.POST_ADD_BRANDING_PREFERENCE,
+                    NotificationConstants.POST_UPDATE_BRANDING_PREFERENCE,
+                    NotificationConstants.POST_DELETE_BRANDING_PREFERENCE,
+                    NotificationConstants.POST_ADD_CUSTOM_TEXT_PREFERENCE,
+                    NotificationConstants.POST_UPDATE_CUSTOM_TEXT_PREFERENCE,
+                    NotificationConstants.POST_DELETE_CUSTOM_TEXT_PREFERENCE)));
+
+    @Override
+    public String getName() {
+
+        return "notificationBrandingPreferenceUpdate";
+    }
+
+    @Override
+    public boolean canHandle(MessageContext messageContext) throws IdentityRuntimeException {
+
+        Event event = ((IdentityEventMessageContext) messageContext).getEvent();
+        return BRANDING_PREFERENCE_UPDATE_EVENTS.contains(event.getEventName());
+    }
+
+    @Override
+    public boolean isAssociationAsync(String eventName) throws IdentityEventException {
+
+        return false;
+    }
+
+    @Override
+    public void handleEvent(Event event) throws IdentityEventException {
+
+        Object tenantDomain = event.getEventProperties().get(IdentityEventConstants.EventProperty.TENANT_DOMAIN);
+        if (tenantDomain instanceof String && StringUtils.isNotBlank((String) tenantDomain)) {
+            NotificationUtil.clearBrandingPreferenceCache((String) tenantDomain);
+        }
+    }
+}
@@ -23,6 +23,7 @@ import org.wso2.carbon.event.output.adapter.core.OutputEventAdapterConfiguration
 import org.wso2.carbon.event.publisher.core.config.EventPublisherConfiguration;
 import org.wso2.carbon.event.publisher.core.config.mapping.TextOutputMapping;
 import org.wso2.carbon.identity.event.handler.notification.NotificationConstants;
+import org.wso2.carbon.identity.event.handler.notification.cache.TenantUserStoreManagerCache;
 import org.wso2.carbon.identity.event.handler.notification.internal.NotificationHandlerDataHolder;
 import org.wso2.carbon.identity.event.handler.notification.util.NotificationUtil;
 import org.wso2.carbon.stratos.common.beans.TenantInfoBean;
@@ -43,11 +44,16 @@ public class NotificationEventTenantListener implements TenantMgtListener {
     @Override
     public void onTenantUpdate(TenantInfoBean tenantInfoBean) throws StratosException {
 
+        NotificationUtil.clearBrandingPreferenceCache(tenantInfoBean.getTenantDomain());
+        NotificationUtil.clearServerUrlCache(tenantInfoBean.getTenantDomain());
+        NotificationUtil.clearOrganizationNameCache(tenantInfoBean.getTenantDomain());
+        TenantUserStoreManagerCache.getInstance().clear(tenantInfoBean.getTenantDomain());
     }
 
     @Override
     public void onTenantDelete(int i) {
 
+        TenantUserStoreManagerCache.getInstance().clear(i);
     }
 
     @Override
@@ -77,6 +83,7 @@ public class NotificationEventTenantListener implements TenantMgtListener {
     @Override
     public void onTenantDeactivation(int i) throws StratosException {
 
+        TenantUserStoreManagerCache.getInstance().clear(i);
     }
 
     @Override
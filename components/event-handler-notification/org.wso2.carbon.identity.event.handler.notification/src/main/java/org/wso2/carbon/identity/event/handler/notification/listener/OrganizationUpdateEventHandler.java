@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.listener;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.base.IdentityRuntimeException;
+import org.wso2.carbon.identity.core.bean.context.MessageContext;
+import org.wso2.carbon.identity.event.IdentityEventConstants;
+import org.wso2.carbon.identity.event.IdentityEventException;
+import org.wso2.carbon.identity.event.bean.IdentityEventMessageContext;
+import org.wso2.carbon.identity.event.event.Event;
+import org.wso2.carbon.identity.event.handler.AbstractEventHandler;
+import org.wso2.carbon.identity.event.handler.notification.internal.NotificationHandlerDataHolder;
+import org.wso2.carbon.identity.event.handler.notification.util.NotificationUtil;
+import org.wso2.carbon.identity.organization.management.service.OrganizationManager;
+import org.wso2.carbon.identity.organization.management.service.exception.OrganizationManagementException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Clears the cached organization name of the tenant of an organization when the organization is updated, patched or
+ * deleted. The handler is subscribed to the organization events without any configuration in
+ * identity-event.properties.
+ */
+public class OrganizationUpdateEventHandler extends AbstractEventHandler {
+
+    private static final Log log = LogFactory.getLog(OrganizationUpdateEventHandler.class);
+
+    private static final Set<String> ORGANIZATION_UPDATE_EVENTS = Collections.unmodifiableSet(new HashSet<>(
+            Arrays.asList(IdentityEventConstants.Event.POST_UPDATE_ORGANIZATION,
+                    IdentityEventConstants.Event.POST_PATCH_ORGANIZATION,
+                    IdentityEventConstants.Event.POST_DELETE_ORGANIZATION)));
+
+    @Override
+    public String getName() {
+
+        return "notificationOrganizationUpdate";
+    }
+
+    @Override
+    public boolean canHandle(MessageContext messageContext) throws IdentityRuntimeException {
+
+        Event event = ((IdentityEventMessageContext) messageContext).getEvent();
+        return ORGANIZATION_UPDATE_EVENTS.contains(event.getEventName());
+    }
+
+    @Override
+    public boolean isAssociationAsync(String eventName) throws IdentityEventException {
+
+        return false;
+    }
+
+    @Override
+    public void handleEvent(Event event) throws IdentityEventException {
+
+        Object organizationId = event.getEventProperties().get(IdentityEventConstants.EventProperty.ORGANIZATION_ID);
+        if (!(organizationId instanceof String) || StringUtils.isBlank((String) organizationId)) {
+            return;
+        }
+
+        OrganizationManager organizationManager = NotificationHandlerDataHolder.getInstance().getOrganizationManager();
+        if (organizationManager == null) {
+            return;
+        }
+        try {
+            String tenantDomain = organizationManager.resolveTenantDomain((String) organizationId);
+            if (StringUtils.isNotBlank(tenantDomain)) {
+                NotificationUtil.clearOrganizationNameCache(tenantDomain);
+            }
+        } catch (OrganizationManagementException e) {
+            // The cached name expires with the cache timeout if the tenant of the organization cannot be resolved.
+            if (log.isDebugEnabled()) {
+                log.debug("Error while resolving the tenant domain of organization: " + organizationId, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.placeholder;
+
+import org.apache.commons.lang.StringUtils;
+import org.wso2.carbon.identity.event.handler.notification.util.NotificationUtil;
+
+import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.ORGANIZATION_COPYRIGHT_PLACEHOLDER;
+
+/**
+ * Resolves the organization.* branding placeholders from the organization level branding preferences, falling back
+ * to the branding defaults defined in identity.xml. Values are read from the {@link BrandingSnapshot} of the tenant.
+ */
+public class BrandingPlaceholderResolver implements PlaceholderResolver {
+
+    private static final String BRANDING_SNAPSHOT = "BrandingSnapshot";
+
+    @Override
+    public String getName() {
+
+        return "BrandingPlaceholderResolver";
+    }
+
+    @Override
+    public int getPriority() {
+
+        return 0;
+    }
+
+    @Override
+    public boolean canResolve(String placeholder) {
+
+        return BrandingSnapshot.isBrandingPlaceholder(placeholder);
+    }
+
+    @Override
+    public String resolve(String placeholder, PlaceholderResolutionContext context) {
+
+        BrandingSnapshot brandingSnapshot = (BrandingSnapshot) context.getAttribute(BRANDING_SNAPSHOT);
+        if (brandingSnapshot == null) {
+            brandingSnapshot = NotificationUtil.getBrandingSnapshot(context.getTenantDomain());
+            context.setAttribute(BRANDING_SNAPSHOT, brandingSnapshot);
+        }
+
+        // Copyright text is taken from the custom text preferences if branding is enabled.
+        if (ORGANIZATION_COPYRIGHT_PLACEHOLDER.equals(placeholder) && brandingSnapshot.isBrandingEnabled()) {
+            String copyrightPlaceholder = NotificationUtil.getCopyrightPlaceholderValueFromCustomTexts(
+                    context.getTenantDomain(), context.getLocale());
+            if (StringUtils.isNotBlank(copyrightPlaceholder)) {
+                return copyrightPlaceholder;
+            }
+        }
+        return brandingSnapshot.getValue(placeholder);
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.placeholder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.commons.lang.StringUtils;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.BRANDING_PREFERENCES_COPYRIGHT_TEXT_PATH;
+import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.BRANDING_PREFERENCES_DISPLAY_NAME_PATH;
+import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.BRANDING_PREFERENCES_IS_ENABLED_PATH;
+import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.BRANDING_PREFERENCES_LIGHT_THEME;
+import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.BRANDING_PREFERENCES_LOGO_ALTTEXT_PATH;
+import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.BRANDING_PREFERENCES_LOGO_URL_PATH;
+import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.BRANDING_PREFERENCES_SUPPORT_EMAIL_PATH;
+import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.ORGANIZATION_COPYRIGHT_PLACEHOLDER;
+import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.ORGANIZATION_NAME_PLACEHOLDER;
+
+/**
+ * Values of the organization.* branding placeholders of a tenant, resolved once from the branding preferences of
+ * the active theme and the branding fallbacks. Instances are immutable and thread safe.
+ */
+public final class BrandingSnapshot implements Serializable {
+
+    private static final long serialVersionUID = -2419530157862216170L;
+
+    private static final String LOGO_IMG_PLACEHOLDER = "organization.logo.img";
+    private static final String LOGO_ALT_TEXT_PLACEHOLDER = "organization.logo.altText";
+    private static final String SUPPORT_MAIL_PLACEHOLDER = "organization.support.mail";
+    private static final String PRIMARY_COLOR_PLACEHOLDER = "organization.color.primary";
+    private static final String BACKGROUND_COLOR_PLACEHOLDER = "organization.color.background";
+    private static final String FONT_PLACEHOLDER = "organization.font";
+    private static final String FONT_COLOR_PLACEHOLDER = "organization.font.color";
+    private static final String BUTTON_FONT_COLOR_PLACEHOLDER = "organization.button.font.color";
+    private static final String THEME_BACKGROUND_COLOR_PLACEHOLDER = "organization.theme.background.color";
+    private static final String THEME_BORDER_COLOR_PLACEHOLDER = "organization.theme.border.color";
+
+    private static final Set<String> BRANDING_PLACEHOLDERS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            LOGO_IMG_PLACEHOLDER,
+            LOGO_ALT_TEXT_PLACEHOLDER,
+            ORGANIZATION_COPYRIGHT_PLACEHOLDER,
+            SUPPORT_MAIL_PLACEHOLDER,
+            ORGANIZATION_NAME_PLACEHOLDER,
+            PRIMARY_COLOR_PLACEHOLDER,
+            BACKGROUND_COLOR_PLACEHOLDER,
+            FONT_PLACEHOLDER,
+            FONT_COLOR_PLACEHOLDER,
+            BUTTON_FONT_COLOR_PLACEHOLDER,
+            THEME_BACKGROUND_COLOR_PLACEHOLDER,
+            THEME_BORDER_COLOR_PLACEHOLDER)));
+
+    private static final String COPYRIGHT_YEAR_FALLBACK_KEY = "YYYY";
+
+    private final boolean brandingEnabled;
+    private final Map<String, String> values;
+    // Copyright text fallback is kept as it is, since the year is filled when the value is read.
+    private final String copyrightTextFallback;
+    private final Map<String, String> brandingFallbacks;
+
+    private BrandingSnapshot(JsonNode brandingPreferences, Map<String, String> brandingFallbacks) {
+
+        this.brandingFallbacks = brandingFallbacks;
+        this.brandingEnabled = isBrandingEnabled(brandingPreferences);
+
+        Map<String, String> resolvedValues = new HashMap<>();
+        for (String placeholder : BRANDING_PLACEHOLDERS) {
+            resolvedValues.put(placeholder, resolvePreferenceValue(placeholder, brandingEnabled ? brandingPreferences :
+                    null, brandingFallbacks));
+        }
+        this.values = Collections.unmodifiableMap(resolvedValues);
+        this.copyrightTextFallback = resolvedValues.get(ORGANIZATION_COPYRIGHT_PLACEHOLDER) == null ?
+                brandingFallbacks.get("copyright_text") : null;
+    }
+
+    /**
+     * Build the snapshot of the given branding preferences.
+     *
+     * @param brandingPreferences Branding preferences of the tenant, or null if branding is not configured.
+     * @param brandingFallbacks   Default branding values.
+     * @return Branding snapshot.
+     */
+    public static BrandingSnapshot build(JsonNode brandingPreferences, Map<String, String> brandingFallbacks) {
+
+        return new BrandingSnapshot(brandingPreferences, brandingFallbacks);
+    }
+
+    /**
+     * Resolve the value of a single branding placeholder without building a snapshot.
+     *
+     * @param placeholder         Placeholder key.
+     * @param brandingPreferences Branding preferences of the tenant, or null if branding is not configured.
+     * @param brandingFallbacks   Default branding values.
+     * @return Placeholder value or null if the placeholder is not a branding placeholder or does not have a value.
+     */
+    public static String resolveValue(String placeholder, JsonNode brandingPreferences,
+                                      Map<String, String> brandingFallbacks) {
+
+        if (!isBrandingPlaceholder(placeholder)) {
+            return null;
+        }
+        String value = resolvePreferenceValue(placeholder, isBrandingEnabled(brandingPreferences) ?
+                brandingPreferences : null, brandingFallbacks);
+        if (value == null && ORGANIZATION_COPYRIGHT_PLACEHOLDER.equals(placeholder)) {
+            return fillCopyrightYear(brandingFallbacks.get("copyright_text"));
+        }
+        return value;
+    }
+
+    /**
+     * Check whether the given placeholder is a branding placeholder.
+     *
+     * @param placeholder Placeholder key.
+     * @return True if the value of the placeholder is resolved from the branding preferences.
+     */
+    public static boolean isBrandingPlaceholder(String placeholder) {
+
+        return BRANDING_PLACEHOLDERS.contains(placeholder);
+    }
+
+    /**
+     * Get the value of a branding placeholder.
+     *
+     * @param placeholder Placeholder key.
+     * @return Placeholder value or null if the placeholder is not a branding placeholder or does not have a value.
+     */
+    public String getValue(String placeholder) {
+
+        if (ORGANIZATION_COPYRIGHT_PLACEHOLDER.equals(placeholder) && copyrightTextFallback != null) {
+            return fillCopyrightYear(copyrightTextFallback);
+        }
+        return values.get(placeholder);
+    }
+
+    /**
+     * Check whether the organization level branding is enabled for the tenant.
+     *
+     * @return True if branding is enabled.
+     */
+    public boolean isBrandingEnabled() {
+
+        return brandingEnabled;
+    }
+
+    /**
+     * Check whether the snapshot was built with the given branding fallbacks.
+     *
+     * @param brandingFallbacks Default branding values.
+     * @return True if the fallbacks are the same.
+     */
+    public boolean isBuiltFrom(Map<String, String> brandingFallbacks) {
+
+        return this.brandingFallbacks.equals(brandingFallbacks);
+    }
+
+    private static boolean isBrandingEnabled(JsonNode brandingPreferences) {
+
+        return brandingPreferences != null && brandingPreferences.at(BRANDING_PREFERENCES_IS_ENABLED_PATH).asBoolean();
+    }
+
+    /**
+     * Resolve the value of a branding placeholder from the enabled branding preferences, or from the fallbacks of
+     * the light theme if the preferences are null. Copyright text fallback is not resolved here since the year of
+     * it is filled when the value is read.
+     */
+    private static String resolvePreferenceValue(String placeholder, JsonNode brandingPreferences,
+                                                 Map<String, String> brandingFallbacks) {
+
+        if (brandingPreferences == null) {
+            switch (placeholder) {
+                case LOGO_IMG_PLACEHOLDER:
+                    return brandingFallbacks.get("light_logo_url");
+                case LOGO_ALT_TEXT_PLACEHOLDER:
+                    return StringUtils.EMPTY;
+                case SUPPORT_MAIL_PLACEHOLDER:
+                    return brandingFallbacks.get("support_mail");
+                case PRIMARY_COLOR_PLACEHOLDER:
+                    return brandingFallbacks.get("primary_color");
+                case BACKGROUND_COLOR_PLACEHOLDER:
+                    return brandingFallbacks.get("background_color");
+                case FONT_PLACEHOLDER:
+                    return brandingFallbacks.get("font_style");
+                case FONT_COLOR_PLACEHOLDER:
+                    return brandingFallbacks.get("font_color");
+                case BUTTON_FONT_COLOR_PLACEHOLDER:
+                    return brandingFallbacks.get("button_font_color");
+                case THEME_BACKGROUND_COLOR_PLACEHOLDER:
+                    return brandingFallbacks.get("light_background_color");
+                case THEME_BORDER_COLOR_PLACEHOLDER:
+                    return brandingFallbacks.get("light_border_color");
+                default:
+                    return null;
+            }
+        }
+
+        String activeTheme = brandingPreferences.at("/theme/activeTheme").asText();
+        JsonNode theme = brandingPreferences.at("/theme/" + activeTheme);
+        boolean lightTheme = BRANDING_PREFERENCES_LIGHT_THEME.equals(activeTheme);
+        switch (placeholder) {
+            case LOGO_IMG_PLACEHOLDER:
+                return firstNonBlank(theme.at(BRANDING_PREFERENCES_LOGO_URL_PATH),
+                        lightTheme ? brandingFallbacks.get("light_logo_url") : brandingFallbacks.get("dark_logo_url"));
+            case LOGO_ALT_TEXT_PLACEHOLDER:
+                return firstNonBlank(theme.at(BRANDING_PREFERENCES_LOGO_ALTTEXT_PATH), StringUtils.EMPTY);
+            case ORGANIZATION_COPYRIGHT_PLACEHOLDER:
+                return firstNonBlank(brandingPreferences.at(BRANDING_PREFERENCES_COPYRIGHT_TEXT_PATH), null);
+            case SUPPORT_MAIL_PLACEHOLDER:
+                return firstNonBlank(brandingPreferences.at(BRANDING_PREFERENCES_SUPPORT_EMAIL_PATH),
+                        brandingFallbacks.get("support_mail"));
+            case ORGANIZATION_NAME_PLACEHOLDER:
+                // Default value of the organization name is not handled here since it is resolved by the caller.
+                return firstNonBlank(brandingPreferences.at(BRANDING_PREFERENCES_DISPLAY_NAME_PATH), null);
+            case PRIMARY_COLOR_PLACEHOLDER:
+                return firstNonBlank(theme.at("/colors/primary/main"), theme.at("/colors/primary").asText());
+            case BACKGROUND_COLOR_PLACEHOLDER:
+                return firstNonBlank(theme.at("/colors/background/body/main"),
+                        theme.at("/page/background/backgroundColor").asText());
+            case FONT_PLACEHOLDER:
+                return theme.at("/typography/font/fontFamily").asText();
+            case FONT_COLOR_PLACEHOLDER:
+                return firstNonBlank(theme.at("/colors/text/primary"), theme.at("/page/font/color").asText());
+            case BUTTON_FONT_COLOR_PLACEHOLDER:
+                return theme.at("/buttons/primary/base/font/color").asText();
+            case THEME_BACKGROUND_COLOR_PLACEHOLDER:
+                return firstNonBlank(theme.at("/colors/background/surface/main"), lightTheme ?
+                        brandingFallbacks.get("light_background_color") :
+                        brandingFallbacks.get("dark_background_color"));
+            case THEME_BORDER_COLOR_PLACEHOLDER:
+                return firstNonBlank(theme.at("/colors/outlined/default"), lightTheme ?
+                        brandingFallbacks.get("light_border_color") : brandingFallbacks.get("dark_border_color"));
+            default:
+                return null;
+        }
+    }
+
+    private static String fillCopyrightYear(String copyrightText) {
+
+        if (copyrightText == null) {
+            return null;
+        }
+        return copyrightText.replace(COPYRIGHT_YEAR_FALLBACK_KEY,
+                String.valueOf(Calendar.getInstance().get(Calendar.YEAR)));
+    }
+
+    private static String firstNonBlank(JsonNode preference, String fallback) {
+
+        String value = preference.asText();
+        return StringUtils.isNotBlank(value) ? value : fallback;
+    }
+}
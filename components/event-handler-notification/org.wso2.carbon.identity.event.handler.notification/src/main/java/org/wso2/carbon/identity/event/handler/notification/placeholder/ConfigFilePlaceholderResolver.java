@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.placeholder;
+
+import org.wso2.carbon.identity.event.handler.notification.util.NotificationUtil;
+
+import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.IDENTITY_TEMPLATE_VALUE_PREFIX;
+
+/**
+ * Resolves the server.placeholder.* placeholders from the email template placeholders defined in identity.xml.
+ */
+public class ConfigFilePlaceholderResolver implements PlaceholderResolver {
+
+    @Override
+    public String getName() {
+
+        return "ConfigFilePlaceholderResolver";
+    }
+
+    @Override
+    public int getPriority() {
+
+        return 0;
+    }
+
+    @Override
+    public boolean canResolve(String placeholder) {
+
+        return placeholder.startsWith(IDENTITY_TEMPLATE_VALUE_PREFIX);
+    }
+
+    @Override
+    public String resolve(String placeholder, PlaceholderResolutionContext context) {
+
+        String key = placeholder.substring(placeholder.lastIndexOf(".") + 1);
+        return NotificationUtil.getConfigFilePlaceholders().getOrDefault(key, "");
+    }
+}
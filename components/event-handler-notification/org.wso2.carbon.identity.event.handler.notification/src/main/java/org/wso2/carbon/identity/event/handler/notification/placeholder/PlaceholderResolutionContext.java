@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.placeholder;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.TENANT_DOMAIN;
+
+/**
+ * Data available to the placeholder resolvers while building a single notification. A context is created per
+ * notification and is not thread safe.
+ */
+public class PlaceholderResolutionContext {
+
+    private final Map<String, String> placeholderData;
+    private final Map<String, String> userClaims;
+    private final String locale;
+    private final Map<String, Object> attributes = new HashMap<>();
+
+    public PlaceholderResolutionContext(Map<String, String> placeholderData, Map<String, String> userClaims,
+                                        String locale) {
+
+        this.placeholderData = Collections.unmodifiableMap(placeholderData);
+        this.userClaims = userClaims != null ? Collections.unmodifiableMap(userClaims) :
+                Collections.<String, String>emptyMap();
+        this.locale = locale;
+    }
+
+    /**
+     * Get the tenant domain the notification is sent for.
+     *
+     * @return Tenant domain.
+     */
+    public String getTenantDomain() {
+
+        return placeholderData.get(TENANT_DOMAIN);
+    }
+
+    /**
+     * Get the locale of the notification template.
+     *
+     * @return Locale.
+     */
+    public String getLocale() {
+
+        return locale;
+    }
+
+    /**
+     * Get the placeholder data derived from the event properties.
+     *
+     * @return Unmodifiable view of the placeholder data.
+     */
+    public Map<String, String> getPlaceholderData() {
+
+        return placeholderData;
+    }
+
+    /**
+     * Get the claims of the user the notification is sent to.
+     *
+     * @return Unmodifiable view of the user claims.
+     */
+    public Map<String, String> getUserClaims() {
+
+        return userClaims;
+    }
+
+    /**
+     * Get an attribute stored by a resolver while resolving an earlier placeholder of the same notification.
+     *
+     * @param name Attribute name.
+     * @return Attribute value or null if the attribute is not set.
+     */
+    public Object getAttribute(String name) {
+
+        return attributes.get(name);
+    }
+
+    /**
+     * Store an attribute to be reused while resolving the other placeholders of the same notification.
+     *
+     * @param name  Attribute name.
+     * @param value Attribute value.
+     */
+    public void setAttribute(String name, Object value) {
+
+        attributes.put(name, value);
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.placeholder;
+
+/**
+ * Resolves the values of the notification template placeholders that belong to a namespace, such as
+ * user.claim.* or organization.*.
+ * <p>
+ * Resolvers are registered as OSGi services and are called only for the placeholders referenced by the compiled
+ * template being sent. Data shared by several placeholders of the same notification should be loaded once and kept
+ * in the {@link PlaceholderResolutionContext}.
+ */
+public interface PlaceholderResolver {
+
+    /**
+     * Get the unique name of the resolver. The name is used to report the time spent by the resolver.
+     *
+     * @return Name of the resolver.
+     */
+    String getName();
+
+    /**
+     * Get the priority of the resolver. When several resolvers can resolve a placeholder, the resolver with the
+     * highest priority is used.
+     *
+     * @return Priority of the resolver.
+     */
+    int getPriority();
+
+    /**
+     * Check whether the given placeholder belongs to the namespace of the resolver.
+     *
+     * @param placeholder Placeholder key, without the url: prefix.
+     * @return True if the resolver can resolve the placeholder.
+     */
+    boolean canResolve(String placeholder);
+
+    /**
+     * Resolve the value of the given placeholder.
+     *
+     * @param placeholder Placeholder key, without the url: prefix.
+     * @param context     Resolution context of the notification.
+     * @return Placeholder value or null if the value of the placeholder should not be changed.
+     */
+    String resolve(String placeholder, PlaceholderResolutionContext context);
+}
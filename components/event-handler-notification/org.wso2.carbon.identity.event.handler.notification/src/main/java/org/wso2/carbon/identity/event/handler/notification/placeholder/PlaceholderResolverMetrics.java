@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.placeholder;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accumulates the number of calls and the time spent by each placeholder resolver, so that the data source that
+ * drives the notification latency can be identified. The time of every call is also logged at debug level.
+ */
+public class PlaceholderResolverMetrics {
+
+    private static final Log log = LogFactory.getLog(PlaceholderResolverMetrics.class);
+
+    private static final PlaceholderResolverMetrics instance = new PlaceholderResolverMetrics();
+
+    private final ConcurrentMap<String, ResolverStatistics> statistics = new ConcurrentHashMap<>();
+
+    private PlaceholderResolverMetrics() {
+
+    }
+
+    public static PlaceholderResolverMetrics getInstance() {
+
+        return instance;
+    }
+
+    /**
+     * Record a call to a placeholder resolver.
+     *
+     * @param resolverName Name of the resolver.
+     * @param placeholder  Resolved placeholder.
+     * @param elapsedNanos Time taken by the call in nanoseconds.
+     */
+    public void record(String resolverName, String placeholder, long elapsedNanos) {
+
+        ResolverStatistics resolverStatistics = statistics.get(resolverName);
+        if (resolverStatistics == null) {
+            resolverStatistics = statistics.computeIfAbsent(resolverName, name -> new ResolverStatistics());
+        }
+        resolverStatistics.record(elapsedNanos);
+        if (log.isDebugEnabled()) {
+            log.debug("Placeholder resolver: " + resolverName + " resolved placeholder: " + placeholder + " in "
+                    + TimeUnit.NANOSECONDS.toMicros(elapsedNanos) + " microseconds.");
+        }
+    }
+
+    /**
+     * Get the statistics of a placeholder resolver.
+     *
+     * @param resolverName Name of the resolver.
+     * @return Statistics of the resolver or null if the resolver has not been called.
+     */
+    public ResolverStatistics getStatistics(String resolverName) {
+
+        return statistics.get(resolverName);
+    }
+
+    /**
+     * Get the statistics of all the placeholder resolvers that have been called.
+     *
+     * @return Unmodifiable map of statistics keyed by the resolver name.
+     */
+    public Map<String, ResolverStatistics> getStatistics() {
+
+        return Collections.unmodifiableMap(new HashMap<>(statistics));
+    }
+
+    /**
+     * Clear the recorded statistics.
+     */
+    public void reset() {
+
+        statistics.clear();
+    }
+
+    /**
+     * Call count and time spent by a single placeholder resolver.
+     */
+    public static class ResolverStatistics {
+
+        private final LongAdder invocationCount = new LongAdder();
+        private final LongAdder totalTimeNanos = new LongAdder();
+
+        private void record(long elapsedNanos) {
+
+            invocationCount.increment();
+            totalTimeNanos.add(elapsedNanos);
+        }
+
+        public long getInvocationCount() {
+
+            return invocationCount.sum();
+        }
+
+        public long getTotalTimeNanos() {
+
+            return totalTimeNanos.sum();
+        }
+
+        public long getAverageTimeNanos() {
+
+            long count = getInvocationCount();
+            return count == 0 ? 0 : getTotalTimeNanos() / count;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.placeholder;
+
+import org.apache.commons.lang.StringUtils;
+import org.wso2.carbon.identity.application.authentication.framework.config.ConfigurationFacade;
+import org.wso2.carbon.identity.core.ServiceURLBuilder;
+import org.wso2.carbon.identity.core.URLBuilderException;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.event.handler.notification.cache.ServerUrlCache;
+import org.wso2.carbon.identity.event.handler.notification.cache.ServerUrlCacheEntry;
+import org.wso2.carbon.identity.event.handler.notification.cache.ServerUrlCacheKey;
+import org.wso2.carbon.identity.event.handler.notification.exception.NotificationRuntimeException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.wso2.carbon.identity.core.util.IdentityTenantUtil.isSuperTenantRequiredInUrl;
+import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.ACCOUNT_RECOVERY_ENDPOINT_PLACEHOLDER;
+import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.AUTHENTICATION_ENDPOINT_PLACEHOLDER;
+import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.CARBON_PRODUCT_URL_TEMPLATE_PLACEHOLDER;
+import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.CARBON_PRODUCT_URL_WITH_USER_TENANT_TEMPLATE_PLACEHOLDER;
+import static org.wso2.carbon.identity.event.handler.notification.util.NotificationUtil.CALLBACK_URL;
+import static org.wso2.carbon.identity.event.handler.notification.util.NotificationUtil.CALLER_PATH_PLACEHOLDER;
+import static org.wso2.carbon.identity.event.handler.notification.util.NotificationUtil.IS_API_BASED_AUTHENTICATION_SUPPORTED;
+import static org.wso2.carbon.identity.event.handler.notification.util.NotificationUtil.MAGIC_LINK;
+import static org.wso2.carbon.identity.event.handler.notification.util.NotificationUtil.TEMPLATE_TYPE;
+import static org.wso2.carbon.utils.multitenancy.MultitenantConstants.SUPER_TENANT_DOMAIN_NAME;
+
+/**
+ * Resolves the server URL and endpoint URL placeholders, such as carbon.product-url and
+ * account.recovery.endpoint-url. The URLs are built once per tenant and kept in the {@link ServerUrlCache}.
+ */
+public class ServerUrlPlaceholderResolver implements PlaceholderResolver {
+
+    private static final Set<String> URL_PLACEHOLDERS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            CARBON_PRODUCT_URL_TEMPLATE_PLACEHOLDER,
+            CARBON_PRODUCT_URL_WITH_USER_TENANT_TEMPLATE_PLACEHOLDER,
+            ACCOUNT_RECOVERY_ENDPOINT_PLACEHOLDER,
+            AUTHENTICATION_ENDPOINT_PLACEHOLDER,
+            CALLER_PATH_PLACEHOLDER)));
+
+    @Override
+    public String getName() {
+
+        return "ServerUrlPlaceholderResolver";
+    }
+
+    @Override
+    public int getPriority() {
+
+        return 0;
+    }
+
+    @Override
+    public boolean canResolve(String placeholder) {
+
+        return URL_PLACEHOLDERS.contains(placeholder);
+    }
+
+    @Override
+    public String resolve(String placeholder, PlaceholderResolutionContext context) {
+
+        switch (placeholder) {
+            case ACCOUNT_RECOVERY_ENDPOINT_PLACEHOLDER:
+            case AUTHENTICATION_ENDPOINT_PLACEHOLDER:
+                return getServerUrl(placeholder, null);
+            case CARBON_PRODUCT_URL_TEMPLATE_PLACEHOLDER:
+                if (isMagicLinkToCallbackUrl(context.getPlaceholderData())) {
+                    return context.getPlaceholderData().get(CALLBACK_URL);
+                }
+                return getServerUrl(placeholder, null);
+            case CALLER_PATH_PLACEHOLDER:
+                if (!MAGIC_LINK.equals(context.getPlaceholderData().get(TEMPLATE_TYPE))) {
+                    return null;
+                }
+                return isMagicLinkToCallbackUrl(context.getPlaceholderData()) ? StringUtils.EMPTY : "/commonauth";
+            case CARBON_PRODUCT_URL_WITH_USER_TENANT_TEMPLATE_PLACEHOLDER:
+                return getServerUrl(placeholder, context.getTenantDomain());
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Check whether the magic link should point to the callback URL of an API based authentication flow.
+     *
+     * @param placeholderData Placeholder data of the notification.
+     * @return True if the product URL should be replaced by the callback URL.
+     */
+    private boolean isMagicLinkToCallbackUrl(Map<String, String> placeholderData) {
+
+        return MAGIC_LINK.equals(placeholderData.get(TEMPLATE_TYPE))
+                && Boolean.parseBoolean(placeholderData.get(IS_API_BASED_AUTHENTICATION_SUPPORTED))
+                && StringUtils.isNotEmpty(placeholderData.get(CALLBACK_URL));
+    }
+
+    /**
+     * Get the URL of the given placeholder from the cache of the tenant of the request, building it on a cache miss.
+     *
+     * @param placeholder      URL placeholder.
+     * @param userTenantDomain Tenant domain of the user, for URLs qualified with the tenant of the user.
+     * @return URL of the placeholder.
+     */
+    private String getServerUrl(String placeholder, String userTenantDomain) {
+
+        String tenantDomain = IdentityTenantUtil.getTenantDomainFromContext();
+        if (StringUtils.isBlank(tenantDomain)) {
+            tenantDomain = SUPER_TENANT_DOMAIN_NAME;
+        }
+        ServerUrlCacheKey cacheKey = new ServerUrlCacheKey(placeholder, userTenantDomain);
+        ServerUrlCacheEntry cacheEntry = ServerUrlCache.getInstance().getValueFromCache(cacheKey, tenantDomain);
+        if (cacheEntry != null) {
+            return cacheEntry.getUrl();
+        }
+
+        String url = buildServerUrl(placeholder, userTenantDomain);
+        if (url != null) {
+            ServerUrlCache.getInstance().addToCache(cacheKey, new ServerUrlCacheEntry(url), tenantDomain);
+        }
+        return url;
+    }
+
+    private String buildServerUrl(String placeholder, String userTenantDomain) {
+
+        try {
+            switch (placeholder) {
+                case ACCOUNT_RECOVERY_ENDPOINT_PLACEHOLDER:
+                    return ConfigurationFacade.getInstance().getAccountRecoveryEndpointAbsolutePath();
+                case AUTHENTICATION_ENDPOINT_PLACEHOLDER:
+                    return ConfigurationFacade.getInstance().getAuthenticationEndpointAbsoluteURL();
+                case CARBON_PRODUCT_URL_TEMPLATE_PLACEHOLDER:
+                    return ServiceURLBuilder.create().build().getAbsolutePublicURL();
+                case CARBON_PRODUCT_URL_WITH_USER_TENANT_TEMPLATE_PLACEHOLDER:
+                    String carbonUrlWithUserTenant = ServiceURLBuilder.create().build()
+                            .getAbsolutePublicUrlWithoutPath();
+                    if (IdentityTenantUtil.isTenantQualifiedUrlsEnabled() &&
+                            (isSuperTenantRequiredInUrl()
+                                    || !SUPER_TENANT_DOMAIN_NAME.equalsIgnoreCase(userTenantDomain))) {
+                        // If tenant domain is carbon.super, and super tenant is not required in the URL,
+                        // then the tenant domain should not be appended.
+                        carbonUrlWithUserTenant = carbonUrlWithUserTenant + "/t" + "/" + userTenantDomain;
+                    }
+                    return carbonUrlWithUserTenant;
+                default:
+                    return null;
+            }
+        } catch (URLBuilderException e) {
+            throw NotificationRuntimeException.error("Error while building the server url.", e);
+        }
+    }
+}
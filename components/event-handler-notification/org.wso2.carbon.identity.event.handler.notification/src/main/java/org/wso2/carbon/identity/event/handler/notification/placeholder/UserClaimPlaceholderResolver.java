@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.placeholder;
+
+import org.apache.commons.lang.StringUtils;
+
+import java.util.Map;
+
+import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.IDENTITY_CLAIM_PREFIX;
+import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.USER_CLAIM_PREFIX;
+import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.WSO2_CLAIM_URI;
+
+/**
+ * Resolves the user.claim.* and user.claim.identity.* placeholders from the claims of the user the notification is
+ * sent to.
+ */
+public class UserClaimPlaceholderResolver implements PlaceholderResolver {
+
+    @Override
+    public String getName() {
+
+        return "UserClaimPlaceholderResolver";
+    }
+
+    @Override
+    public int getPriority() {
+
+        return 0;
+    }
+
+    @Override
+    public boolean canResolve(String placeholder) {
+
+        return isUserClaimPlaceholder(placeholder);
+    }
+
+    @Override
+    public String resolve(String placeholder, PlaceholderResolutionContext context) {
+
+        Map<String, String> userClaims = context.getUserClaims();
+        if (userClaims.isEmpty()) {
+            return null;
+        }
+        String claimValue = userClaims.get(getClaimUri(placeholder));
+        return StringUtils.isNotEmpty(claimValue) ? claimValue : StringUtils.EMPTY;
+    }
+
+    /**
+     * Check whether the given placeholder is a user claim placeholder.
+     *
+     * @param placeholder Placeholder key.
+     * @return True if the placeholder refers to a claim of the user.
+     */
+    public static boolean isUserClaimPlaceholder(String placeholder) {
+
+        return placeholder.contains(USER_CLAIM_PREFIX);
+    }
+
+    /**
+     * Get the claim URI referred by the given user claim placeholder.
+     *
+     * @param placeholder User claim placeholder key, such as user.claim.givenname or user.claim.identity.accountState.
+     * @return Claim URI.
+     */
+    public static String getClaimUri(String placeholder) {
+
+        if (placeholder.contains(USER_CLAIM_PREFIX + "." + IDENTITY_CLAIM_PREFIX)) {
+            return WSO2_CLAIM_URI + IDENTITY_CLAIM_PREFIX + "/" +
+                    placeholder.substring(placeholder.indexOf(".", placeholder.indexOf("identity")) + 1);
+        }
+        return WSO2_CLAIM_URI + placeholder.substring(placeholder.indexOf(".", placeholder.indexOf("claim")) + 1);
+    }
+}
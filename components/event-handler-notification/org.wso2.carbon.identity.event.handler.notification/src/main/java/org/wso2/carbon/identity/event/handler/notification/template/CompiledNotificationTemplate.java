@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.template;
+
+import org.apache.commons.lang.StringUtils;
+import org.wso2.carbon.email.mgt.model.EmailTemplate;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compiled subject, body and footer of a notification template. Instances are immutable and thread safe.
+ */
+public final class CompiledNotificationTemplate implements Serializable {
+
+    private static final long serialVersionUID = 6023715586408924837L;
+
+    private final CompiledTemplate subject;
+    private final CompiledTemplate body;
+    private final CompiledTemplate footer;
+    private final Set<String> placeholderNames;
+    private final Set<String> placeholderKeys;
+
+    private CompiledNotificationTemplate(CompiledTemplate subject, CompiledTemplate body, CompiledTemplate footer) {
+
+        this.subject = subject;
+        this.body = body;
+        this.footer = footer;
+
+        Set<String> names = new LinkedHashSet<>();
+        Set<String> keys = new LinkedHashSet<>();
+        for (CompiledTemplate template : new CompiledTemplate[]{body, subject, footer}) {
+            if (template != null) {
+                names.addAll(template.getPlaceholderNames());
+                keys.addAll(template.getPlaceholderKeys());
+            }
+        }
+        this.placeholderNames = Collections.unmodifiableSet(names);
+        this.placeholderKeys = Collections.unmodifiableSet(keys);
+    }
+
+    /**
+     * Compile the subject, body and footer of the given template. Empty subjects and footers are not rendered.
+     *
+     * @param template {@link org.wso2.carbon.email.mgt.model.EmailTemplate} object.
+     * @return Compiled notification template.
+     */
+    public static CompiledNotificationTemplate compile(EmailTemplate template) {
+
+        CompiledTemplate subject = StringUtils.isNotEmpty(template.getSubject()) ?
+                CompiledTemplate.compile(template.getSubject()) : null;
+        CompiledTemplate body = template.getBody() != null ? CompiledTemplate.compile(template.getBody()) : null;
+        CompiledTemplate footer = StringUtils.isNotEmpty(template.getFooter()) ?
+                CompiledTemplate.compile(template.getFooter()) : null;
+        return new CompiledNotificationTemplate(subject, body, footer);
+    }
+
+    /**
+     * Render the subject.
+     *
+     * @param placeholderValues Placeholder values.
+     * @return Rendered subject or null if the template does not have a subject.
+     */
+    public String renderSubject(Map<String, String> placeholderValues) {
+
+        return subject != null ? subject.render(placeholderValues) : null;
+    }
+
+    /**
+     * Render the body.
+     *
+     * @param placeholderValues Placeholder values.
+     * @return Rendered body or null if the template does not have a body.
+     */
+    public String renderBody(Map<String, String> placeholderValues) {
+
+        return body != null ? body.render(placeholderValues) : null;
+    }
+
+    /**
+     * Render the footer.
+     *
+     * @param placeholderValues Placeholder values.
+     * @return Rendered footer or null if the template does not have a footer.
+     */
+    public String renderFooter(Map<String, String> placeholderValues) {
+
+        return footer != null ? footer.render(placeholderValues) : null;
+    }
+
+    /**
+     * Get the distinct placeholder names referenced by the body, subject and footer.
+     *
+     * @return Unmodifiable set of placeholder names.
+     */
+    public Set<String> getPlaceholderNames() {
+
+        return placeholderNames;
+    }
+
+    /**
+     * Get the distinct keys used to look up the placeholder values of the body, subject and footer.
+     *
+     * @return Unmodifiable set of placeholder keys. URL encoded placeholders are listed without the url: prefix.
+     */
+    public Set<String> getPlaceholderKeys() {
+
+        return placeholderKeys;
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.template;
+
+import org.wso2.carbon.identity.event.handler.notification.exception.NotificationRuntimeException;
+
+import java.io.Serializable;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.wso2.carbon.identity.event.handler.notification.template.PlaceholderScanner.PLACEHOLDER_END;
+import static org.wso2.carbon.identity.event.handler.notification.template.PlaceholderScanner.PLACEHOLDER_START;
+import static org.wso2.carbon.identity.event.handler.notification.template.PlaceholderScanner.URL_PLACEHOLDER_PREFIX;
+
+/**
+ * Pre-parsed form of a single notification template content (subject, body or footer).
+ * <p>
+ * The content is split once into literal and placeholder segments. Placeholders are defined in the format of
+ * {{key}}, and placeholders used inside URLs are defined in the format of {{url:key}} so that the resolved value
+ * is URL encoded. Rendering is a single linear pass over the segments into a pre-sized buffer. Placeholders that
+ * do not have a value are left untouched in the rendered output. Instances are immutable and thread safe.
+ */
+public final class CompiledTemplate implements Serializable {
+
+    private static final long serialVersionUID = -3917402563214563309L;
+
+    private static final String UTF_8 = "UTF-8";
+
+    // literals[i] precedes the i th placeholder, hence literals.length == placeholders.length + 1.
+    private final String[] literals;
+    // Raw placeholder names as written in the template, including the url: prefix if present.
+    private final String[] names;
+    // Placeholder names used to look up the value. Same as the raw name unless the placeholder is URL encoded.
+    private final String[] keys;
+    private final boolean[] urlEncoded;
+    private final int literalLength;
+    private final Set<String> placeholderNames;
+    private final Set<String> placeholderKeys;
+
+    private CompiledTemplate(List<String> literals, List<String> names) {
+
+        int placeholderCount = names.size();
+        this.literals = literals.toArray(new String[0]);
+        this.names = names.toArray(new String[0]);
+        this.keys = new String[placeholderCount];
+        this.urlEncoded = new boolean[placeholderCount];
+        for (int i = 0; i < placeholderCount; i++) {
+            String name = this.names[i];
+            if (name.startsWith(URL_PLACEHOLDER_PREFIX)) {
+                this.keys[i] = name.substring(URL_PLACEHOLDER_PREFIX.length());
+                this.urlEncoded[i] = true;
+            } else {
+                this.keys[i] = name;
+            }
+        }
+        int length = 0;
+        for (String literal : this.literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+        this.placeholderNames = Collections.unmodifiableSet(new LinkedHashSet<>(names));
+        this.placeholderKeys = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(keys)));
+    }
+
+    /**
+     * Parse the given template content into literal and placeholder segments.
+     *
+     * @param content Template content.
+     * @return Compiled template.
+     */
+    public static CompiledTemplate compile(String content) {
+
+        List<String> literals = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        int literalStart = 0;
+        PlaceholderScanner scanner = new PlaceholderScanner(content);
+        while (scanner.next()) {
+            literals.add(content.substring(literalStart, scanner.getStart()));
+            names.add(scanner.getName());
+            literalStart = scanner.getEnd();
+        }
+        literals.add(content.substring(literalStart));
+        return new CompiledTemplate(literals, names);
+    }
+
+    /**
+     * Render the template with the given placeholder values.
+     *
+     * @param placeholderValues Placeholder values keyed by the placeholder name.
+     * @return Rendered content.
+     */
+    public String render(Map<String, String> placeholderValues) {
+
+        int placeholderCount = keys.length;
+        if (placeholderCount == 0) {
+            return literals[0];
+        }
+        String[] values = new String[placeholderCount];
+        int length = literalLength;
+        for (int i = 0; i < placeholderCount; i++) {
+            String value = resolveValue(i, placeholderValues);
+            values[i] = value;
+            length += value.length();
+        }
+        StringBuilder builder = new StringBuilder(length);
+        builder.append(literals[0]);
+        for (int i = 0; i < placeholderCount; i++) {
+            builder.append(values[i]).append(literals[i + 1]);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Get the distinct placeholder names referenced by the template, in the order of appearance.
+     *
+     * @return Unmodifiable set of placeholder names. URL encoded placeholders keep the url: prefix.
+     */
+    public Set<String> getPlaceholderNames() {
+
+        return placeholderNames;
+    }
+
+    /**
+     * Get the distinct keys used to look up the placeholder values, in the order of appearance.
+     *
+     * @return Unmodifiable set of placeholder keys. URL encoded placeholders are listed without the url: prefix.
+     */
+    public Set<String> getPlaceholderKeys() {
+
+        return placeholderKeys;
+    }
+
+    private String resolveValue(int index, Map<String, String> placeholderValues) {
+
+        String value = placeholderValues.get(keys[index]);
+        if (value != null) {
+            return urlEncoded[index] ? encode(value) : value;
+        }
+        if (urlEncoded[index]) {
+            // A value set against the prefixed name is used as it is.
+            value = placeholderValues.get(names[index]);
+            if (value != null) {
+                return value;
+            }
+        }
+        return PLACEHOLDER_START + names[index] + PLACEHOLDER_END;
+    }
+
+    private static String encode(String value) {
+
+        try {
+            return URLEncoder.encode(value, UTF_8);
+        } catch (UnsupportedEncodingException e) {
+            throw NotificationRuntimeException.error(e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.event.handler.notification.template;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Finds {{key}} and {{url:key}} placeholders in notification template content using plain index lookups.
+ * <p>
+ * A placeholder starts at the closest opening braces before the closing braces, the same way the shortest
+ * {{(.*?)}} match is resolved, and placeholder names cannot span multiple lines. A scanner instance walks the
+ * content once and is not thread safe.
+ */
+public final class PlaceholderScanner {
+
+    public static final String PLACEHOLDER_START = "{{";
+    public static final String PLACEHOLDER_END = "}}";
+    public static final String URL_PLACEHOLDER_PREFIX = "url:";
+
+    private final String content;
+    private int searchFrom;
+    private int previousEnd;
+    private int start = -1;
+    private int end = -1;
+
+    public PlaceholderScanner(String content) {
+
+        this.content = content;
+    }
+
+    /**
+     * Get the distinct placeholder names in the given content, in the order of appearance.
+     *
+     * @param content Template content.
+     * @return Placeholder names. URL encoded placeholders keep the url: prefix.
+     */
+    public static Set<String> getPlaceholderNames(String content) {
+
+        Set<String> placeholderNames = new LinkedHashSet<>();
+        if (content == null) {
+            return placeholderNames;
+        }
+        PlaceholderScanner scanner = new PlaceholderScanner(content);
+        while (scanner.next()) {
+            placeholderNames.add(scanner.getName());
+        }
+        return placeholderNames;
+    }
+
+    /**
+     * Move to the next placeholder.
+     *
+     * @return True if a placeholder was found.
+     */
+    public boolean next() {
+
+        while (true) {
+            int closing = content.indexOf(PLACEHOLDER_END, searchFrom);
+            if (closing < 0) {
+                start = -1;
+                end = -1;
+                searchFrom = content.length();
+                return false;
+            }
+            int opening = content.lastIndexOf(PLACEHOLDER_START, closing - PLACEHOLDER_START.length());
+            searchFrom = closing + 1;
+            if (opening < previousEnd || containsLineTerminator(opening + PLACEHOLDER_START.length(), closing)) {
+                continue;
+            }
+            start = opening;
+            end = closing + PLACEHOLDER_END.length();
+            previousEnd = end;
+            searchFrom = end;
+            return true;
+        }
+    }
+
+    /**
+     * Get the index of the opening braces of the current placeholder.
+     *
+     * @return Start index of the current placeholder.
+     */
+    public int getStart() {
+
+        return start;
+    }
+
+    /**
+     * Get the index just after the closing braces of the current placeholder.
+     *
+     * @return End index of the current placeholder.
+     */
+    public int getEnd() {
+
+        return end;
+    }
+
+    /**
+     * Get the name of the current placeholder as written in the template.
+     *
+     * @return Placeholder name including the url: prefix if present.
+     */
+    public String getName() {
+
+        return content.substring(start + PLACEHOLDER_START.length(), end - PLACEHOLDER_END.length());
+    }
+
+    /**
+     * Check whether the current placeholder is defined in the format of {{url:key}}.
+     *
+     * @return True if the resolved value of the current placeholder should be URL encoded.
+     */
+    public boolean isUrlPlaceholder() {
+
+        return content.startsWith(URL_PLACEHOLDER_PREFIX, start + PLACEHOLDER_START.length());
+    }
+
+    /**
+     * Get the key used to look up the value of the current placeholder.
+     *
+     * @return Placeholder name without the url: prefix.
+     */
+    public String getKey() {
+
+        int keyStart = start + PLACEHOLDER_START.length();
+        if (isUrlPlaceholder()) {
+            keyStart += URL_PLACEHOLDER_PREFIX.length();
+        }
+        return content.substring(keyStart, end - PLACEHOLDER_END.length());
+    }
+
+    private boolean containsLineTerminator(int from, int to) {
+
+        for (int i = from; i < to; i++) {
+            char c = content.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.util;
+
+import org.wso2.carbon.identity.event.event.Event;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * User claims retrieved for an event. The notification handlers of an event share the claims, so that the user store
+ * is queried once per event instead of once per handler. The caches are weakly keyed by the event, so that a cache is
+ * discarded together with its event at the end of the flow. They are not kept in the event properties, since those
+ * are read and written by the handlers without synchronization. Handlers of an event may run in parallel, hence the
+ * cache is thread safe.
+ */
+final class EventUserClaimCache {
+
+    // Events do not override equals, hence the caches are looked up by the identity of the event. Caches must not
+    // refer to their event, so that the event can be collected.
+    private static final Map<Event, EventUserClaimCache> EVENT_USER_CLAIM_CACHES =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final ConcurrentMap<List<String>, UserClaims> userClaimsMap = new ConcurrentHashMap<>();
+
+    private EventUserClaimCache() {
+
+    }
+
+    /**
+     * Get the claim cache of the given event.
+     *
+     * @param event Event.
+     * @return Claim cache of the event.
+     */
+    static EventUserClaimCache getInstance(Event event) {
+
+        return EVENT_USER_CLAIM_CACHES.computeIfAbsent(event, key -> new EventUserClaimCache());
+    }
+
+    /**
+     * Get the cached claims of the given user.
+     *
+     * @param tenantDomain    Tenant domain of the user.
+     * @param userStoreDomain User store domain of the user.
+     * @param userName        Username.
+     * @return Cached claims of the user.
+     */
+    UserClaims getUserClaims(String tenantDomain, String userStoreDomain, String userName) {
+
+        return userClaimsMap.computeIfAbsent(Arrays.asList(tenantDomain, userStoreDomain, userName),
+                key -> new UserClaims());
+    }
+
+    /**
+     * Claims of a user retrieved while handling the event. Methods are synchronized since the handlers of the event
+     * may run in parallel.
+     */
+    static final class UserClaims {
+
+        private final Map<String, String> claimValues = new HashMap<>();
+        private final Set<String> retrievedClaimUris = new HashSet<>();
+        private boolean allClaimsRetrieved;
+
+        /**
+         * Get the claim URIs which are not retrieved yet.
+         *
+         * @param claimUris Claim URIs required, or null if all the claims are required.
+         * @return Claim URIs to retrieve, or null if all the claims should be retrieved.
+         */
+        synchronized Collection<String> getMissingClaimUris(Collection<String> claimUris) {
+
+            if (allClaimsRetrieved) {
+                return Collections.emptyList();
+            }
+            if (claimUris == null) {
+                return null;
+            }
+            List<String> missingClaimUris = new ArrayList<>();
+            for (String claimUri : claimUris) {
+                if (!retrievedClaimUris.contains(claimUri)) {
+                    missingClaimUris.add(claimUri);
+                }
+            }
+            return missingClaimUris;
+        }
+
+        /**
+         * Add the retrieved claims of the user.
+         *
+         * @param claimUris   Claim URIs which were retrieved, or null if all the claims were retrieved.
+         * @param claimValues Retrieved claim values.
+         */
+        synchronized void addClaimValues(Collection<String> claimUris, Map<String, String> claimValues) {
+
+            if (claimUris == null) {
+                allClaimsRetrieved = true;
+            } else {
+                retrievedClaimUris.addAll(claimUris);
+            }
+            this.claimValues.putAll(claimValues);
+        }
+
+        /**
+         * Get a copy of all the claims retrieved for the user.
+         *
+         * @return Map of claim URIs and values.
+         */
+        synchronized Map<String, String> getClaimValues() {
+
+            return new HashMap<>(claimValues);
+        }
+    }
+}
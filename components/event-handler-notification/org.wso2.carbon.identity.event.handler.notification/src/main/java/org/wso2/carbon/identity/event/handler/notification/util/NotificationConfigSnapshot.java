@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.util;
+
+import org.apache.axiom.om.OMElement;
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityConfigParser;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.event.handler.notification.NotificationConstants;
+
+import javax.xml.namespace.QName;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Notification related configurations read from identity.xml. Instances are immutable, so a snapshot can be shared
+ * between threads and replaced as a whole when the configurations are reloaded.
+ */
+public final class NotificationConfigSnapshot {
+
+    private static final Log log = LogFactory.getLog(NotificationConfigSnapshot.class);
+
+    private static final QName TEMPLATE_PLACEHOLDER_KEY_QNAME =
+            new QName(NotificationConstants.EmailNotification.TEMPLATE_PLACEHOLDER_KEY_ATTRIB);
+    private static final QName BRANDING_FALLBACK_KEY_QNAME = new QName(
+            NotificationConstants.EmailNotification.ORGANIZATION_LEVEL_EMAIL_BRANDING_FALLBACK_KEY_ATTRIBUTE);
+
+    private final Map<String, String> configFilePlaceholders;
+    private final Map<String, String> brandingFallbacks;
+    private final String notificationLocale;
+    private final boolean organizationLevelEmailBrandingEnabled;
+    private final boolean leanPayloadEnabled;
+    private final Set<String> leanPayloadKeys;
+    private final long brandingPreferenceCacheMaxAgeMillis;
+
+    private NotificationConfigSnapshot(Map<String, String> configFilePlaceholders,
+                                       Map<String, String> brandingFallbacks, String notificationLocale,
+                                       boolean organizationLevelEmailBrandingEnabled, boolean leanPayloadEnabled,
+                                       Set<String> leanPayloadKeys, long brandingPreferenceCacheMaxAgeMillis) {
+
+        this.configFilePlaceholders = configFilePlaceholders;
+        this.brandingFallbacks = brandingFallbacks;
+        this.notificationLocale = notificationLocale;
+        this.organizationLevelEmailBrandingEnabled = organizationLevelEmailBrandingEnabled;
+        this.leanPayloadEnabled = leanPayloadEnabled;
+        this.leanPayloadKeys = leanPayloadKeys;
+        this.brandingPreferenceCacheMaxAgeMillis = brandingPreferenceCacheMaxAgeMillis;
+    }
+
+    /**
+     * Read the notification configurations from identity.xml.
+     *
+     * @return Notification configuration snapshot.
+     */
+    public static NotificationConfigSnapshot load() {
+
+        IdentityConfigParser configParser = IdentityConfigParser.getInstance();
+        Map<String, String> configFilePlaceholders = readKeyValueElements(configParser,
+                NotificationConstants.EmailNotification.TEMPLATE_PLACEHOLDERS_ELEM,
+                NotificationConstants.EmailNotification.TEMPLATE_PLACEHOLDER_ELEM, TEMPLATE_PLACEHOLDER_KEY_QNAME);
+        Map<String, String> brandingFallbacks = readKeyValueElements(configParser,
+                NotificationConstants.EmailNotification.ORGANIZATION_LEVEL_EMAIL_BRANDING_FALLBACKS_ELEM,
+                NotificationConstants.EmailNotification.ORGANIZATION_LEVEL_EMAIL_BRANDING_FALLBACK_ELEM,
+                BRANDING_FALLBACK_KEY_QNAME);
+
+        String notificationLocale = IdentityUtil.getProperty(NotificationConstants.NOTIFICATION_DEFAULT_LOCALE);
+        if (StringUtils.isBlank(notificationLocale)) {
+            notificationLocale = NotificationConstants.EmailNotification.LOCALE_DEFAULT;
+        }
+        boolean organizationLevelEmailBrandingEnabled = Boolean.parseBoolean(IdentityUtil.getProperty(
+                NotificationConstants.EmailNotification.ENABLE_ORGANIZATION_LEVEL_EMAIL_BRANDING));
+
+        boolean leanPayloadEnabled = Boolean.parseBoolean(IdentityUtil.getProperty(
+                NotificationConstants.LEAN_PAYLOAD_ENABLED));
+        Set<String> leanPayloadKeys = new LinkedHashSet<>();
+        String configuredLeanPayloadKeys = IdentityUtil.getProperty(NotificationConstants.LEAN_PAYLOAD_KEYS);
+        if (StringUtils.isNotBlank(configuredLeanPayloadKeys)) {
+            for (String key : configuredLeanPayloadKeys.split(",")) {
+                if (StringUtils.isNotBlank(key)) {
+                    leanPayloadKeys.add(key.trim());
+                }
+            }
+        } else {
+            leanPayloadKeys.addAll(Arrays.asList(NotificationConstants.EmailNotification.DEFAULT_LEAN_PAYLOAD_KEYS));
+        }
+
+        long brandingPreferenceCacheMaxAgeSeconds =
+                NotificationConstants.DEFAULT_BRANDING_PREFERENCE_CACHE_MAX_AGE_SECONDS;
+        String configuredMaxAge = IdentityUtil.getProperty(
+                NotificationConstants.BRANDING_PREFERENCE_CACHE_MAX_AGE_SECONDS);
+        if (StringUtils.isNotBlank(configuredMaxAge)) {
+            try {
+                brandingPreferenceCacheMaxAgeSeconds = Long.parseLong(configuredMaxAge.trim());
+            } catch (NumberFormatException e) {
+                log.warn("Invalid value: " + configuredMaxAge + " configured for "
+                        + NotificationConstants.BRANDING_PREFERENCE_CACHE_MAX_AGE_SECONDS
+                        + ". Using the default value: " + brandingPreferenceCacheMaxAgeSeconds);
+            }
+        }
+
+        return new NotificationConfigSnapshot(configFilePlaceholders, brandingFallbacks, notificationLocale,
+                organizationLevelEmailBrandingEnabled, leanPayloadEnabled,
+                Collections.unmodifiableSet(leanPayloadKeys),
+                TimeUnit.SECONDS.toMillis(brandingPreferenceCacheMaxAgeSeconds));
+    }
+
+    /**
+     * Get the email template placeholders defined in identity.xml.
+     *
+     * @return Unmodifiable map of placeholder keys and values.
+     */
+    public Map<String, String> getConfigFilePlaceholders() {
+
+        return configFilePlaceholders;
+    }
+
+    /**
+     * Get the default organization level branding values defined in identity.xml.
+     *
+     * @return Unmodifiable map of branding fallback keys and values.
+     */
+    public Map<String, String> getBrandingFallbacks() {
+
+        return brandingFallbacks;
+    }
+
+    /**
+     * Get the default locale of the notifications.
+     *
+     * @return Notification locale.
+     */
+    public String getNotificationLocale() {
+
+        return notificationLocale;
+    }
+
+    /**
+     * Check whether organization level email branding is enabled.
+     *
+     * @return True if organization level email branding is enabled.
+     */
+    public boolean isOrganizationLevelEmailBrandingEnabled() {
+
+        return organizationLevelEmailBrandingEnabled;
+    }
+
+    /**
+     * Check whether only the keys referenced by the output mapping are published with the notification events.
+     *
+     * @return True if the lean payload mode is enabled.
+     */
+    public boolean isLeanPayloadEnabled() {
+
+        return leanPayloadEnabled;
+    }
+
+    /**
+     * Get the keys of the arbitrary data published in the lean payload mode. The keys are not derived from the
+     * output mappings of the event publishers, so a publisher whose mapping references other keys is reported with
+     * a warning when the first notification of its stream is published.
+     *
+     * @return Unmodifiable set of arbitrary data keys.
+     */
+    public Set<String> getLeanPayloadKeys() {
+
+        return leanPayloadKeys;
+    }
+
+    /**
+     * Get the time for which the branding and custom text preferences of a tenant are served from the cache. This
+     * bounds the time it takes for a change to be reflected in the notifications if no branding preference event is
+     * published for the change. A value that is not positive disables the limit, leaving only the timeout of the
+     * cache.
+     *
+     * @return Maximum age of the cached branding preferences in milliseconds.
+     */
+    public long getBrandingPreferenceCacheMaxAgeMillis() {
+
+        return brandingPreferenceCacheMaxAgeMillis;
+    }
+
+    private static Map<String, String> readKeyValueElements(IdentityConfigParser configParser, String parentElement,
+                                                            String childElement, QName keyAttribute) {
+
+        OMElement parentElem = configParser.getConfigElement(parentElement);
+        if (parentElem == null) {
+            return Collections.emptyMap();
+        }
+
+        Iterator iterator = parentElem.getChildrenWithLocalName(childElement);
+        if (iterator == null) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, String> values = new HashMap<>();
+        while (iterator.hasNext()) {
+            OMElement omElement = (OMElement) iterator.next();
+            if (omElement != null) {
+                values.put(omElement.getAttributeValue(keyAttribute), omElement.getText());
+            }
+        }
+        return Collections.unmodifiableMap(values);
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Placeholder data of a single notification, built as layers instead of copies. Values set while building the
+ * notification are stored in a pre-sized map, and the string properties of the event are read through from the
+ * event without copying them. The claims of the user are an additional lookup layer, available through
+ * {@link #lookup(String)}, which is not part of the map view.
+ * <p>
+ * Keys are expected to be the constants of NotificationConstants and IdentityEventConstants, which are interned, so
+ * that the lookups mostly match by reference. A context is created per notification and is not thread safe.
+ */
+public class NotificationContext extends AbstractMap<String, String> {
+
+    private static final int DEFAULT_EXPECTED_VALUES = 16;
+
+    private final Map<String, Object> eventProperties;
+    private final Map<String, String> values;
+    private Map<String, String> userClaims = Collections.emptyMap();
+    private Set<Object> removedEventProperties;
+    private Set<Entry<String, String>> entrySet;
+
+    /**
+     * Create a context over the given event properties.
+     *
+     * @param eventProperties Properties of the event. Only the string properties are visible.
+     */
+    public NotificationContext(Map<String, Object> eventProperties) {
+
+        this(eventProperties, new HashMap<>(DEFAULT_EXPECTED_VALUES * 4 / 3 + 1));
+    }
+
+    /**
+     * Create a context over the given event properties, storing the values set on the context in the given map.
+     *
+     * @param eventProperties Properties of the event. Only the string properties are visible.
+     * @param values          Map the values set on the context are stored in. Its values take precedence over the
+     *                        event properties.
+     */
+    public NotificationContext(Map<String, Object> eventProperties, Map<String, String> values) {
+
+        this.eventProperties = eventProperties != null ? eventProperties : Collections.<String, Object>emptyMap();
+        this.values = values;
+    }
+
+    /**
+     * Set the claims of the user the notification is sent to. The map is used as it is, without copying it.
+     *
+     * @param userClaims Map of claim URIs and values.
+     */
+    public void setUserClaims(Map<String, String> userClaims) {
+
+        this.userClaims = userClaims != null ? userClaims : Collections.<String, String>emptyMap();
+    }
+
+    /**
+     * Get the claims of the user the notification is sent to.
+     *
+     * @return Map of claim URIs and values.
+     */
+    public Map<String, String> getUserClaims() {
+
+        return userClaims;
+    }
+
+    /**
+     * Look up a key in the values of the notification, the event properties and then the user claims.
+     *
+     * @param key Placeholder key or claim URI.
+     * @return Value or null if none of the layers has the key.
+     */
+    public String lookup(String key) {
+
+        if (containsKey(key)) {
+            return get(key);
+        }
+        return userClaims.get(key);
+    }
+
+    @Override
+    public String get(Object key) {
+
+        String value = values.get(key);
+        if (value != null || values.containsKey(key)) {
+            return value;
+        }
+        return getEventProperty(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+
+        return values.containsKey(key) || getEventProperty(key) != null;
+    }
+
+    @Override
+    public String put(String key, String value) {
+
+        String previousValue = get(key);
+        values.put(key, value);
+        if (removedEventProperties != null) {
+            removedEventProperties.remove(key);
+        }
+        return previousValue;
+    }
+
+    @Override
+    public String remove(Object key) {
+
+        String previousValue = get(key);
+        values.remove(key);
+        if (getEventProperty(key) != null) {
+            if (removedEventProperties == null) {
+                removedEventProperties = new HashSet<>();
+            }
+            removedEventProperties.add(key);
+        }
+        return previousValue;
+    }
+
+    @Override
+    public void clear() {
+
+        values.clear();
+        for (Entry<String, Object> eventProperty : eventProperties.entrySet()) {
+            remove(eventProperty.getKey());
+        }
+    }
+
+    @Override
+    public int size() {
+
+        int size = values.size();
+        for (Entry<String, Object> eventProperty : eventProperties.entrySet()) {
+            if (isVisibleEventProperty(eventProperty)) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+
+        if (entrySet == null) {
+            entrySet = new AbstractSet<Entry<String, String>>() {
+
+                @Override
+                public Iterator<Entry<String, String>> iterator() {
+
+                    return new EntryIterator();
+                }
+
+                @Override
+                public int size() {
+
+                    return NotificationContext.this.size();
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    private String getEventProperty(Object key) {
+
+        if (removedEventProperties != null && removedEventProperties.contains(key)) {
+            return null;
+        }
+        Object value = eventProperties.get(key);
+        return value instanceof String ? (String) value : null;
+    }
+
+    private boolean isVisibleEventProperty(Entry<String, Object> eventProperty) {
+
+        return eventProperty.getValue() instanceof String && !values.containsKey(eventProperty.getKey())
+                && (removedEventProperties == null || !removedEventProperties.contains(eventProperty.getKey()));
+    }
+
+    /**
+     * Iterates the values of the notification and then the visible event properties. Entries are read only.
+     */
+    private class EntryIterator implements Iterator<Entry<String, String>> {
+
+        private final Iterator<Entry<String, String>> valueIterator = values.entrySet().iterator();
+        private final Iterator<Entry<String, Object>> eventPropertyIterator = eventProperties.entrySet().iterator();
+        private Entry<String, String> next;
+
+        @Override
+        public boolean hasNext() {
+
+            if (next != null) {
+                return true;
+            }
+            if (valueIterator.hasNext()) {
+                Entry<String, String> value = valueIterator.next();
+                next = new SimpleImmutableEntry<>(value.getKey(), value.getValue());
+                return true;
+            }
+            while (eventPropertyIterator.hasNext()) {
+                Entry<String, Object> eventProperty = eventPropertyIterator.next();
+                if (isVisibleEventProperty(eventProperty)) {
+                    next = new SimpleImmutableEntry<>(eventProperty.getKey(), (String) eventProperty.getValue());
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Entry<String, String> next() {
+
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Entry<String, String> entry = next;
+            next = null;
+            return entry;
+        }
+    }
+}
@@ -0,0 +1,339 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.util;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.databridge.commons.Event;
+import org.wso2.carbon.identity.event.handler.notification.exception.NotificationRuntimeException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded queue of notification events waiting to be published to the event stream, drained by a fixed pool of
+ * worker threads. The event handlers return as soon as an event is enqueued, so a slow output adapter does not hold
+ * the request thread. The behaviour when the queue is full is decided by the {@link RejectionPolicy}.
+ * <p>
+ * Each worker drains its own partition of the queue and publishes the events one at a time. Events are assigned to
+ * the partitions by the ordering key, so the events of the same recipient are published in the order they were
+ * enqueued. Events without an ordering key are assigned to the partitions in turn.
+ * <p>
+ * A warning with the queue depth is logged when the queue is full or rejects an event, at most once per minute, so
+ * that the queue size and the pool size can be tuned.
+ */
+public class NotificationPublishQueue {
+
+    private static final Log log = LogFactory.getLog(NotificationPublishQueue.class);
+
+    private static final long POLL_INTERVAL_MILLIS = 1000L;
+    private static final long SATURATION_LOG_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    /**
+     * Behaviour of the queue when it is full.
+     */
+    public enum RejectionPolicy {
+
+        /**
+         * The request thread waits until there is space in the queue.
+         */
+        BLOCK,
+
+        /**
+         * The event is published on the request thread. The event may be published before the queued events of
+         * the same recipient.
+         */
+        CALLER_RUNS,
+
+        /**
+         * The event is not published and a {@link NotificationRuntimeException} is thrown.
+         */
+        REJECT;
+
+        /**
+         * Get the rejection policy of the given name.
+         *
+         * @param name          Name of the policy. Names are case insensitive.
+         * @param defaultPolicy Policy used if the name is blank or invalid.
+         * @return Rejection policy.
+         */
+        public static RejectionPolicy fromName(String name, RejectionPolicy defaultPolicy) {
+
+            if (name == null || name.trim().isEmpty()) {
+                return defaultPolicy;
+            }
+            try {
+                return RejectionPolicy.valueOf(name.trim().toUpperCase(Locale.ENGLISH).replace('-', '_'));
+            } catch (IllegalArgumentException e) {
+                log.warn("Invalid notification publish queue rejection policy: " + name + ". Using the default " +
+                        "policy: " + defaultPolicy);
+                return defaultPolicy;
+            }
+        }
+    }
+
+    /**
+     * Publishes an event taken from the queue.
+     */
+    @FunctionalInterface
+    public interface EventPublisher {
+
+        /**
+         * Publish an event.
+         *
+         * @param tenantId     Tenant id of the event.
+         * @param tenantDomain Tenant domain of the event.
+         * @param event        Event to publish.
+         */
+        void publish(int tenantId, String tenantDomain, Event event);
+    }
+
+    /**
+     * Event waiting in the queue, with the tenant it is published in.
+     */
+    public static final class QueuedEvent {
+
+        private final Event event;
+        private final int tenantId;
+        private final String tenantDomain;
+
+        public QueuedEvent(Event event, int tenantId, String tenantDomain) {
+
+            this.event = event;
+            this.tenantId = tenantId;
+            this.tenantDomain = tenantDomain;
+        }
+    }
+
+    private final List<BlockingQueue<QueuedEvent>> partitions;
+    private final List<Thread> workers;
+    private final RejectionPolicy rejectionPolicy;
+    private final int capacity;
+    private final EventPublisher publisher;
+    private final AtomicInteger nextPartition = new AtomicInteger();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final AtomicLong lastSaturationLogNanos = new AtomicLong(System.nanoTime() - SATURATION_LOG_INTERVAL_NANOS);
+    private volatile boolean shutdown;
+
+    /**
+     * Create a publish queue and start the workers.
+     *
+     * @param poolSize        Number of worker threads publishing the events.
+     * @param capacity        Maximum number of events waiting in the queue.
+     * @param rejectionPolicy Behaviour when the queue is full.
+     * @param publisher       Publisher of the events.
+     */
+    public NotificationPublishQueue(int poolSize, int capacity, RejectionPolicy rejectionPolicy,
+                                    EventPublisher publisher) {
+
+        int partitionCapacity = Math.max(1, capacity / poolSize);
+        this.capacity = partitionCapacity * poolSize;
+        this.rejectionPolicy = rejectionPolicy;
+        this.publisher = publisher;
+
+        List<BlockingQueue<QueuedEvent>> queues = new ArrayList<>(poolSize);
+        List<Thread> threads = new ArrayList<>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            BlockingQueue<QueuedEvent> partition = new ArrayBlockingQueue<>(partitionCapacity);
+            Thread worker = new Thread(() -> drain(partition), "NotificationPublisher-" + (i + 1));
+            worker.setDaemon(true);
+            queues.add(partition);
+            threads.add(worker);
+        }
+        this.partitions = Collections.unmodifiableList(queues);
+        this.workers = Collections.unmodifiableList(threads);
+        this.workers.forEach(Thread::start);
+    }
+
+    /**
+     * Enqueue an event. Failures while publishing the event are logged, since the caller has already returned.
+     *
+     * @param queuedEvent Event to publish.
+     * @param orderingKey Key of the events which must be published in order, such as the recipient, or null if the
+     *                    event is not ordered with other events.
+     * @throws NotificationRuntimeException If the queue is full and the rejection policy is
+     *                                      {@link RejectionPolicy#REJECT}, or if the queue is shut down.
+     */
+    public void enqueue(QueuedEvent queuedEvent, String orderingKey) throws NotificationRuntimeException {
+
+        if (shutdown) {
+            throw reject("Notification event is rejected since the notification publish queue is shut down.");
+        }
+        int partitionIndex = orderingKey != null ? orderingKey.hashCode() : nextPartition.getAndIncrement();
+        BlockingQueue<QueuedEvent> partition = partitions.get(Math.floorMod(partitionIndex, partitions.size()));
+        if (partition.offer(queuedEvent)) {
+            return;
+        }
+
+        logSaturation("Notification publish queue is full.");
+        switch (rejectionPolicy) {
+            case BLOCK:
+                try {
+                    while (!partition.offer(queuedEvent, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                        if (shutdown) {
+                            throw reject("Notification event is rejected since the notification publish queue " +
+                                    "is shut down.");
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw reject("Interrupted while waiting for the notification publish queue.");
+                }
+                break;
+            case CALLER_RUNS:
+                publish(queuedEvent);
+                break;
+            default:
+                throw reject("Notification event is rejected since the notification publish queue is full. " +
+                        "Queue capacity: " + capacity);
+        }
+    }
+
+    /**
+     * Get the number of events waiting in the queue.
+     *
+     * @return Queue depth.
+     */
+    public int getQueueDepth() {
+
+        int queueDepth = 0;
+        for (BlockingQueue<QueuedEvent> partition : partitions) {
+            queueDepth += partition.size();
+        }
+        return queueDepth;
+    }
+
+    /**
+     * Get the maximum number of events that can wait in the queue.
+     *
+     * @return Queue capacity.
+     */
+    public int getCapacity() {
+
+        return capacity;
+    }
+
+    /**
+     * Get the number of events rejected since the queue was created.
+     *
+     * @return Rejected event count.
+     */
+    public long getRejectedCount() {
+
+        return rejectedCount.sum();
+    }
+
+    public RejectionPolicy getRejectionPolicy() {
+
+        return rejectionPolicy;
+    }
+
+    /**
+     * Stop accepting events and wait for the queued events to be published. Events still in the queue after the
+     * timeout are dropped.
+     *
+     * @param timeout Maximum time to wait.
+     * @param unit    Unit of the timeout.
+     */
+    public void shutdown(long timeout, TimeUnit unit) {
+
+        shutdown = true;
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        try {
+            for (Thread worker : workers) {
+                long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMillis > 0) {
+                    worker.join(remainingMillis);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        int droppedEvents = 0;
+        for (int i = 0; i < workers.size(); i++) {
+            workers.get(i).interrupt();
+            droppedEvents += partitions.get(i).size();
+            partitions.get(i).clear();
+        }
+        if (droppedEvents > 0) {
+            log.warn(droppedEvents + " notification events were dropped while shutting down the notification " +
+                    "publish queue.");
+        }
+    }
+
+    private void drain(BlockingQueue<QueuedEvent> partition) {
+
+        while (!Thread.currentThread().isInterrupted()) {
+            QueuedEvent queuedEvent;
+            try {
+                queuedEvent = partition.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (queuedEvent != null) {
+                publish(queuedEvent);
+            } else if (shutdown) {
+                return;
+            }
+        }
+    }
+
+    private void publish(QueuedEvent queuedEvent) {
+
+        try {
+            publisher.publish(queuedEvent.tenantId, queuedEvent.tenantDomain, queuedEvent.event);
+        } catch (RuntimeException e) {
+            log.error("Error while publishing the notification event of the stream: "
+                    + queuedEvent.event.getStreamId(), e);
+        }
+    }
+
+    private NotificationRuntimeException reject(String message) {
+
+        rejectedCount.increment();
+        logSaturation(message);
+        return NotificationRuntimeException.error(message);
+    }
+
+    /**
+     * Log the state of the queue, unless it was logged within the last minute.
+     *
+     * @param message Reason for logging.
+     */
+    private void logSaturation(String message) {
+
+        long now = System.nanoTime();
+        long lastLogged = lastSaturationLogNanos.get();
+        if (now - lastLogged < SATURATION_LOG_INTERVAL_NANOS
+                || !lastSaturationLogNanos.compareAndSet(lastLogged, now)) {
+            return;
+        }
+        log.warn(message + " Queue depth: " + getQueueDepth() + ", queue capacity: " + capacity
+                + ", rejection policy: " + rejectionPolicy + ", rejected events: " + getRejectedCount());
+    }
+}
@@ -20,39 +20,58 @@ package org.wso2.carbon.identity.event.handler.notification.util;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.apache.axiom.om.OMElement;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
 import org.wso2.carbon.databridge.commons.StreamDefinition;
 import org.wso2.carbon.databridge.commons.exception.MalformedStreamDefinitionException;
 import org.wso2.carbon.email.mgt.exceptions.I18nEmailMgtException;
 import org.wso2.carbon.email.mgt.model.EmailTemplate;
 import org.wso2.carbon.event.publisher.core.EventPublisherService;
 import org.wso2.carbon.event.publisher.core.config.EventPublisherConfiguration;
+import org.wso2.carbon.event.publisher.core.config.OutputMapping;
+import org.wso2.carbon.event.publisher.core.config.mapping.JSONOutputMapping;
+import org.wso2.carbon.event.publisher.core.config.mapping.TextOutputMapping;
+import org.wso2.carbon.event.publisher.core.config.mapping.XMLOutputMapping;
 import org.wso2.carbon.event.publisher.core.exception.EventPublisherConfigurationException;
 import org.wso2.carbon.event.stream.core.EventStreamService;
 import org.wso2.carbon.event.stream.core.exception.EventStreamConfigurationException;
-import org.wso2.carbon.identity.application.authentication.framework.config.ConfigurationFacade;
 import org.wso2.carbon.identity.branding.preference.management.core.BrandingPreferenceManager;
 import org.wso2.carbon.identity.branding.preference.management.core.BrandingPreferenceManagerImpl;
 import org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants;
 import org.wso2.carbon.identity.branding.preference.management.core.exception.BrandingPreferenceMgtException;
 import org.wso2.carbon.identity.branding.preference.management.core.model.BrandingPreference;
 import org.wso2.carbon.identity.branding.preference.management.core.model.CustomText;
-import org.wso2.carbon.identity.core.ServiceURLBuilder;
-import org.wso2.carbon.identity.core.URLBuilderException;
-import org.wso2.carbon.identity.core.util.IdentityConfigParser;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.event.IdentityEventConstants;
 import org.wso2.carbon.identity.event.IdentityEventException;
 import org.wso2.carbon.identity.event.event.Event;
 import org.wso2.carbon.identity.event.handler.notification.NotificationConstants;
+import org.wso2.carbon.identity.event.handler.notification.cache.BrandingPreferenceCache;
+import org.wso2.carbon.identity.event.handler.notification.cache.BrandingPreferenceCacheEntry;
+import org.wso2.carbon.identity.event.handler.notification.cache.BrandingPreferenceCacheKey;
+import org.wso2.carbon.identity.event.handler.notification.cache.CompiledNotificationTemplateCache;
+import org.wso2.carbon.identity.event.handler.notification.cache.CompiledNotificationTemplateCacheEntry;
+import org.wso2.carbon.identity.event.handler.notification.cache.CompiledNotificationTemplateCacheKey;
+import org.wso2.carbon.identity.event.handler.notification.cache.OrganizationNameCache;
+import org.wso2.carbon.identity.event.handler.notification.cache.OrganizationNameCacheEntry;
+import org.wso2.carbon.identity.event.handler.notification.cache.OrganizationNameCacheKey;
+import org.wso2.carbon.identity.event.handler.notification.cache.ServerUrlCache;
+import org.wso2.carbon.identity.event.handler.notification.cache.TenantUserStoreManagerCache;
 import org.wso2.carbon.identity.event.handler.notification.email.bean.Notification;
 import org.wso2.carbon.identity.event.handler.notification.exception.NotificationRuntimeException;
 import org.wso2.carbon.identity.event.handler.notification.internal.NotificationHandlerDataHolder;
+import org.wso2.carbon.identity.event.handler.notification.placeholder.BrandingSnapshot;
+import org.wso2.carbon.identity.event.handler.notification.placeholder.PlaceholderResolutionContext;
+import org.wso2.carbon.identity.event.handler.notification.placeholder.PlaceholderResolver;
+import org.wso2.carbon.identity.event.handler.notification.placeholder.PlaceholderResolverMetrics;
+import org.wso2.carbon.identity.event.handler.notification.placeholder.UserClaimPlaceholderResolver;
+import org.wso2.carbon.identity.event.handler.notification.template.CompiledNotificationTemplate;
+import org.wso2.carbon.identity.event.handler.notification.template.PlaceholderScanner;
 import org.wso2.carbon.identity.governance.model.UserIdentityClaim;
+import org.wso2.carbon.identity.governance.service.notification.NotificationChannels;
 import org.wso2.carbon.identity.organization.management.service.OrganizationManager;
 import org.wso2.carbon.identity.organization.management.service.exception.OrganizationManagementClientException;
 import org.wso2.carbon.identity.organization.management.service.exception.OrganizationManagementException;
@@ -65,37 +84,29 @@ import org.wso2.carbon.user.core.common.AbstractUserStoreManager;
 import org.wso2.carbon.user.core.service.RealmService;
 import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
 
-import javax.xml.namespace.QName;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
-import static org.wso2.carbon.identity.core.util.IdentityTenantUtil.isSuperTenantRequiredInUrl;
-import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.ACCOUNT_RECOVERY_ENDPOINT_PLACEHOLDER;
-import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.AUTHENTICATION_ENDPOINT_PLACEHOLDER;
-import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.BRANDING_PREFERENCES_COPYRIGHT_TEXT_PATH;
-import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.BRANDING_PREFERENCES_DISPLAY_NAME_PATH;
-import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.BRANDING_PREFERENCES_LOGO_ALTTEXT_PATH;
-import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.BRANDING_PREFERENCES_LOGO_URL_PATH;
-import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.BRANDING_PREFERENCES_SUPPORT_EMAIL_PATH;
-import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.CARBON_PRODUCT_URL_TEMPLATE_PLACEHOLDER;
-import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.CARBON_PRODUCT_URL_WITH_USER_TENANT_TEMPLATE_PLACEHOLDER;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.CUSTOM_TEXT_COPYRIGHT_PATH;
 import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.CUSTOM_TEXT_COMMON_SCREEN;
 import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.CUSTOM_TEXT_COPYRIGHT_YEAR_KEY;
 import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.NEW_LINE_CHARACTER_STRING;
 import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.NEW_LINE_CHARACTER_HTML;
-import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.ORGANIZATION_COPYRIGHT_PLACEHOLDER;
 import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.ORGANIZATION_NAME_PLACEHOLDER;
-import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.TENANT_DOMAIN;
 import static org.wso2.carbon.identity.organization.management.service.constant.OrganizationManagementConstants.ErrorMessages.ERROR_CODE_ORGANIZATION_NOT_FOUND_FOR_TENANT;
 import static org.wso2.carbon.utils.multitenancy.MultitenantConstants.SUPER_TENANT_DOMAIN_NAME;
 
@@ -104,6 +115,9 @@ public class NotificationUtil {
     private static final Log log = LogFactory.getLog(NotificationUtil.class);
 
     private static final String USER_IDENTITY_CLAIMS = "UserIdentityClaims";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    // Branding snapshot of the tenants which do not have organization level branding.
+    private static volatile BrandingSnapshot defaultBrandingSnapshot;
     public static final String CALLER_PATH_PLACEHOLDER = "caller.path";
     public static final String MAGIC_LINK = "magicLink";
     public static final String CALLBACK_URL = "callbackUrl";
@@ -112,13 +126,35 @@ public class NotificationUtil {
 
     public static Map<String, String> getUserClaimValues(String userName, UserStoreManager userStoreManager) {
 
-        Claim[] userClaims;
+        return getUserClaimValues(userName, userStoreManager, null);
+    }
+
+    /**
+     * Get the given claim values of the user from the default profile, along with the identity claims of the user
+     * available in the current thread.
+     *
+     * @param userName         Username.
+     * @param userStoreManager User store manager of the user.
+     * @param claimUris        Claim URIs to retrieve, or null to retrieve all the claims of the default profile.
+     * @return Map of claim URIs and values.
+     */
+    public static Map<String, String> getUserClaimValues(String userName, UserStoreManager userStoreManager,
+                                                         Collection<String> claimUris) {
+
         Map<String, String> claimsMap = new HashMap<String, String>();
         try {
-            userClaims = userStoreManager.getUserClaimValues(userName, UserCoreConstants.DEFAULT_PROFILE);
-            if (userClaims != null) {
-                for (Claim userClaim : userClaims) {
-                    claimsMap.put(userClaim.getClaimUri(), userClaim.getValue());
+            if (claimUris == null) {
+                Claim[] userClaims = userStoreManager.getUserClaimValues(userName, UserCoreConstants.DEFAULT_PROFILE);
+                if (userClaims != null) {
+                    for (Claim userClaim : userClaims) {
+                        claimsMap.put(userClaim.getClaimUri(), userClaim.getValue());
+                    }
+                }
+            } else if (!claimUris.isEmpty()) {
+                Map<String, String> userClaims = userStoreManager.getUserClaimValues(userName,
+                        claimUris.toArray(new String[0]), UserCoreConstants.DEFAULT_PROFILE);
+                if (userClaims != null) {
+                    claimsMap.putAll(userClaims);
                 }
             }
             UserIdentityClaim userIdentityClaims =
@@ -153,11 +189,26 @@ public class NotificationUtil {
     public static Map<String, String> getUserClaimValues(String userName, String domainName, String tenantDomain)
             throws IdentityEventException {
 
-        RealmService realmService = NotificationHandlerDataHolder.getInstance().getRealmService();
-        int tenantId = IdentityTenantUtil.getTenantId(tenantDomain);
+        return getUserClaimValues(userName, domainName, tenantDomain, null);
+    }
+
+    /**
+     * Get the given claim values of the user of the given user store domain and tenant.
+     *
+     * @param userName     Username.
+     * @param domainName   User store domain of the user.
+     * @param tenantDomain Tenant domain of the user.
+     * @param claimUris    Claim URIs to retrieve, or null to retrieve all the claims of the default profile.
+     * @return Map of claim URIs and values.
+     * @throws IdentityEventException If the user store manager of the user cannot be resolved.
+     */
+    public static Map<String, String> getUserClaimValues(String userName, String domainName, String tenantDomain,
+                                                         Collection<String> claimUris)
+            throws IdentityEventException {
+
         UserStoreManager userStoreManager = null;
         try {
-            userStoreManager = realmService.getTenantUserRealm(tenantId).getUserStoreManager();
+            userStoreManager = TenantUserStoreManagerCache.getInstance().getUserStoreManager(tenantDomain);
             if (userStoreManager == null) {
                 String message = "Error occurred while retrieving userStoreManager for tenant " + tenantDomain;
                 throw new IdentityEventException(message);
@@ -169,7 +220,75 @@ public class NotificationUtil {
                     "store " + domainName + " in tenant " + tenantDomain;
             throw new IdentityEventException(message, e);
         }
-        return getUserClaimValues(userName, userStoreManager);
+        return getUserClaimValues(userName, userStoreManager, claimUris);
+    }
+
+    /**
+     * Get the given claim values of the user of the event. The user is resolved from the user store manager of the
+     * event, or from the user store domain and the tenant domain of the event. Claims already retrieved for the same
+     * event are not retrieved again.
+     *
+     * @param event     Event.
+     * @param claimUris Claim URIs to retrieve, or null to retrieve all the claims of the default profile.
+     * @return Map of claim URIs and values, which is empty if the event does not have a user. The map may contain
+     * other claims of the user retrieved for the event.
+     * @throws IdentityEventException If the user store manager of the user cannot be resolved.
+     */
+    public static Map<String, String> getUserClaimValues(Event event, Collection<String> claimUris)
+            throws IdentityEventException {
+
+        Map<String, Object> eventProperties = event.getEventProperties();
+        String username = (String) eventProperties.get(IdentityEventConstants.EventProperty.USER_NAME);
+        UserStoreManager userStoreManager =
+                (UserStoreManager) eventProperties.get(IdentityEventConstants.EventProperty.USER_STORE_MANAGER);
+        String userStoreDomainName = (String) eventProperties.get(IdentityEventConstants.EventProperty.USER_STORE_DOMAIN);
+        String tenantDomain = (String) eventProperties.get(IdentityEventConstants.EventProperty.TENANT_DOMAIN);
+
+        boolean userFromUserStoreManager = StringUtils.isNotBlank(username) && userStoreManager != null;
+        if (!userFromUserStoreManager && (StringUtils.isBlank(username) || StringUtils.isBlank(userStoreDomainName)
+                || StringUtils.isBlank(tenantDomain))) {
+            return new HashMap<>();
+        }
+
+        // Claims are shared with the other handlers of the same event.
+        EventUserClaimCache.UserClaims cachedUserClaims = EventUserClaimCache.getInstance(event)
+                .getUserClaims(tenantDomain, userStoreDomainName, username);
+        Collection<String> missingClaimUris = cachedUserClaims.getMissingClaimUris(claimUris);
+        if (missingClaimUris == null || !missingClaimUris.isEmpty()) {
+            Map<String, String> claimValues = userFromUserStoreManager ?
+                    getUserClaimValues(username, userStoreManager, missingClaimUris) :
+                    getUserClaimValues(username, userStoreDomainName, tenantDomain, missingClaimUris);
+            cachedUserClaims.addClaimValues(missingClaimUris, claimValues);
+        }
+        return cachedUserClaims.getClaimValues();
+    }
+
+    /**
+     * Retrieve the claims referred by the user claim placeholders of the template, which are not retrieved yet, and
+     * add them to the user claims.
+     *
+     * @param event              Event.
+     * @param compiledTemplate   Compiled notification template.
+     * @param retrievedClaimUris Claim URIs which are already retrieved. Retrieved claim URIs are added to the set.
+     * @param userClaims         User claims of the notification.
+     * @throws IdentityEventException If the user store manager of the user cannot be resolved.
+     */
+    public static void addTemplateClaimValues(Event event, CompiledNotificationTemplate compiledTemplate,
+                                              Set<String> retrievedClaimUris, Map<String, String> userClaims)
+            throws IdentityEventException {
+
+        List<String> claimUris = new ArrayList<>();
+        for (String placeholder : compiledTemplate.getPlaceholderKeys()) {
+            if (UserClaimPlaceholderResolver.isUserClaimPlaceholder(placeholder)) {
+                String claimUri = UserClaimPlaceholderResolver.getClaimUri(placeholder);
+                if (retrievedClaimUris.add(claimUri)) {
+                    claimUris.add(claimUri);
+                }
+            }
+        }
+        if (!claimUris.isEmpty()) {
+            userClaims.putAll(getUserClaimValues(event, claimUris));
+        }
     }
 
     /**
@@ -183,169 +302,229 @@ public class NotificationUtil {
     public static Map<String, String> getPlaceholderValues(EmailTemplate emailTemplate,
                                                            Map<String, String> placeHolderData, Map<String, String> userClaims) {
 
-        Map<String, String> configFilePlaceholders = getConfigFilePlaceholders();
-
-        JsonNode brandingPreferences = null;
-        Map<String, String> brandingFallbacks = getBrandingFallbacksFromConfigFile();
+        return getPlaceholderValues(emailTemplate, CompiledNotificationTemplate.compile(emailTemplate),
+                placeHolderData, userClaims);
+    }
 
-        if (Boolean.parseBoolean(
-                IdentityUtil.getProperty(NotificationConstants.EmailNotification.ENABLE_ORGANIZATION_LEVEL_EMAIL_BRANDING))) {
-            try {
-                BrandingPreferenceManager brandingPreferenceManager = new BrandingPreferenceManagerImpl();
-                BrandingPreference responseDTO = brandingPreferenceManager.resolveBrandingPreference(
-                        BrandingPreferenceMgtConstants.ORGANIZATION_TYPE,
-                        placeHolderData.get(TENANT_DOMAIN),
-                        BrandingPreferenceMgtConstants.DEFAULT_LOCALE);
-
-                ObjectMapper objectMapper = new ObjectMapper();
-                String json = objectMapper.writeValueAsString(responseDTO.getPreference());
-                brandingPreferences = objectMapper.readTree(json);
-
-                if (!brandingPreferences.at(NotificationConstants.EmailNotification.BRANDING_PREFERENCES_IS_ENABLED_PATH)
-                        .asBoolean()) {
-                    brandingPreferences = null;
-                }
-            } catch (BrandingPreferenceMgtException e) {
-                if (BrandingPreferenceMgtConstants.ErrorMessages.ERROR_CODE_BRANDING_PREFERENCE_NOT_EXISTS.getCode()
-                        .equals(e.getErrorCode())) {
-                    brandingPreferences = null;
-                } else {
-                    if (log.isDebugEnabled()) {
-                        String message = "Error occurred while retrieving branding preferences for organization " + placeHolderData.get(TENANT_DOMAIN);
-                        log.debug(message, e);
-                    }
-                }
-            } catch (Exception e) {
-                if (log.isDebugEnabled()) {
-                    String message = "Error occurred while retrieving branding preferences for organization " + placeHolderData.get(TENANT_DOMAIN);
-                    log.debug(message, e);
-                }
+    /**
+     * Set place holder values for email templates using the placeholders of the compiled template.
+     *
+     * @param emailTemplate    {@link org.wso2.carbon.email.mgt.model.EmailTemplate}
+     * @param compiledTemplate Compiled form of the email template
+     * @param placeHolderData  List of place holder data
+     * @param userClaims       List of user claims
+     * @return Place holder data
+     */
+    public static Map<String, String> getPlaceholderValues(EmailTemplate emailTemplate,
+                                                           CompiledNotificationTemplate compiledTemplate,
+                                                           Map<String, String> placeHolderData,
+                                                           Map<String, String> userClaims) {
+
+        List<PlaceholderResolver> placeholderResolvers =
+                NotificationHandlerDataHolder.getInstance().getPlaceholderResolvers();
+        PlaceholderResolutionContext context = new PlaceholderResolutionContext(placeHolderData, userClaims,
+                emailTemplate.getLocale());
+        for (String placeholder : compiledTemplate.getPlaceholderKeys()) {
+            PlaceholderResolver placeholderResolver = getPlaceholderResolver(placeholderResolvers, placeholder);
+            if (placeholderResolver == null) {
+                continue;
+            }
+            long startTime = System.nanoTime();
+            String value = placeholderResolver.resolve(placeholder, context);
+            PlaceholderResolverMetrics.getInstance().record(placeholderResolver.getName(), placeholder,
+                    System.nanoTime() - startTime);
+            if (value != null) {
+                placeHolderData.put(placeholder, value);
             }
         }
+        return placeHolderData;
+    }
 
-        // Having a body is mandatory.
-        List<String> placeHolders = new ArrayList<>(extractPlaceHolders(emailTemplate.getBody()));
-        if (StringUtils.isNotEmpty(emailTemplate.getSubject())) {
-            placeHolders.addAll(extractPlaceHolders(emailTemplate.getSubject()));
+    private static PlaceholderResolver getPlaceholderResolver(List<PlaceholderResolver> placeholderResolvers,
+                                                              String placeholder) {
+
+        for (PlaceholderResolver placeholderResolver : placeholderResolvers) {
+            if (placeholderResolver.canResolve(placeholder)) {
+                return placeholderResolver;
+            }
         }
-        if (StringUtils.isNotEmpty(emailTemplate.getFooter())) {
-            placeHolders.addAll(extractPlaceHolders(emailTemplate.getFooter()));
+        return null;
+    }
+
+    /**
+     * Return copyright placeholder value for email templates from custom text preferences.
+     *
+     * @param tenantDomain Tenant domain.
+     * @param locale       Locale of the email template.
+     * @return Copyright text placeholder value.
+     */
+    public static String getCopyrightPlaceholderValueFromCustomTexts(String tenantDomain, String locale) {
+
+        if (!getNotificationConfig().isOrganizationLevelEmailBrandingEnabled()) {
+            return null;
         }
-        Set<String> placeHoldersSet = new HashSet<>(placeHolders);
 
-        for (String placeHolder : placeHoldersSet) {
-            // Setting config file place holders.
-            if (placeHolder.startsWith(NotificationConstants.EmailNotification.IDENTITY_TEMPLATE_VALUE_PREFIX)) {
-                String key = placeHolder.substring(placeHolder.lastIndexOf(".") + 1);
-                String value = configFilePlaceholders.getOrDefault(key, "");
-                placeHolderData.put(placeHolder, value);
+        JsonNode customTextPreference = getCustomTextPreference(tenantDomain, locale);
+        if (customTextPreference != null) {
+            String copyrightValue = customTextPreference.at(CUSTOM_TEXT_COPYRIGHT_PATH).asText();
+            if (StringUtils.isNotBlank(copyrightValue)) {
+                // Replace {{currentYear}} with current year to change the copyright year in the email templates.
+                String currentYear = String.valueOf(Calendar.getInstance().get(Calendar.YEAR));
+                copyrightValue = copyrightValue.replace(CUSTOM_TEXT_COPYRIGHT_YEAR_KEY, (currentYear));
+                // Replace "\n" with Html new line character "<br>".
+                return copyrightValue.replace(NEW_LINE_CHARACTER_STRING, NEW_LINE_CHARACTER_HTML);
             }
+        }
+        return null;
+    }
 
-            // Setting branding placeholders.
-            String brandingValue = getBrandingPreference(placeHolder, brandingPreferences, brandingFallbacks);
-            if (brandingValue != null) {
-                placeHolderData.put(placeHolder, brandingValue);
-            }
+    /**
+     * Get the organization level branding preferences of the given tenant. Resolved preferences are cached per
+     * tenant, including the tenants which do not have branding configured or enabled.
+     *
+     * @param tenantDomain Tenant domain.
+     * @return Branding preferences or null if organization level email branding is disabled or not configured.
+     */
+    public static JsonNode getBrandingPreferences(String tenantDomain) {
 
-            if (userClaims != null && !userClaims.isEmpty()) {
-                if (placeHolder.contains(NotificationConstants.EmailNotification.USER_CLAIM_PREFIX + "."
-                        + NotificationConstants.EmailNotification.IDENTITY_CLAIM_PREFIX)) {
-                    String identityClaim = userClaims.get(NotificationConstants.EmailNotification.WSO2_CLAIM_URI
-                            + NotificationConstants.EmailNotification.IDENTITY_CLAIM_PREFIX + "/" + placeHolder
-                            .substring(placeHolder.indexOf(".", placeHolder.indexOf("identity")) + 1));
-                    if (StringUtils.isNotEmpty(identityClaim)) {
-                        placeHolderData.put(placeHolder, identityClaim);
-                    } else {
-                        placeHolderData.put(placeHolder, "");
-                    }
-                } else if (placeHolder.contains(NotificationConstants.EmailNotification.USER_CLAIM_PREFIX)) {
-                    String userClaim = userClaims
-                            .get(NotificationConstants.EmailNotification.WSO2_CLAIM_URI + placeHolder
-                                    .substring(placeHolder.indexOf(".", placeHolder.indexOf("claim")) + 1));
-                    if (StringUtils.isNotEmpty(userClaim)) {
-                        placeHolderData.put(placeHolder, userClaim);
-                    } else {
-                        placeHolderData.put(placeHolder, "");
-                    }
-                }
+        BrandingPreferenceCacheEntry cacheEntry = getBrandingPreferenceCacheEntry(tenantDomain);
+        return cacheEntry != null ? cacheEntry.getPreference() : null;
+    }
+
+    /**
+     * Get the resolved values of the organization level branding placeholders of the given tenant. The snapshot is
+     * built when the branding preferences of the tenant are cached and is cached with them.
+     *
+     * @param tenantDomain Tenant domain.
+     * @return Branding snapshot of the tenant.
+     */
+    public static BrandingSnapshot getBrandingSnapshot(String tenantDomain) {
+
+        Map<String, String> brandingFallbacks = getBrandingFallbacksFromConfigFile();
+        BrandingPreferenceCacheEntry cacheEntry = getBrandingPreferenceCacheEntry(tenantDomain);
+        if (cacheEntry == null) {
+            BrandingSnapshot snapshot = defaultBrandingSnapshot;
+            if (snapshot == null || !snapshot.isBuiltFrom(brandingFallbacks)) {
+                snapshot = BrandingSnapshot.build(null, brandingFallbacks);
+                defaultBrandingSnapshot = snapshot;
             }
+            return snapshot;
         }
 
-        // Setting copyright text placeholder according to custom text preferences if branding is enabled.
-        if (brandingPreferences != null && placeHolderData.containsKey(ORGANIZATION_COPYRIGHT_PLACEHOLDER)) {
-            String copyrightPlaceholder = getCopyrightPlaceholderValueFromCustomTexts(
-                    placeHolderData.get(TENANT_DOMAIN), emailTemplate.getLocale());
-            if (StringUtils.isNotBlank(copyrightPlaceholder)) {
-                placeHolderData.put(ORGANIZATION_COPYRIGHT_PLACEHOLDER, copyrightPlaceholder);
-            }
+        BrandingSnapshot snapshot = cacheEntry.getBrandingSnapshot();
+        if (snapshot == null || !snapshot.isBuiltFrom(brandingFallbacks)) {
+            // Branding fallbacks were reloaded after the entry was cached. Cached entries are not modified, so the
+            // entry is replaced with one that holds the snapshot of the current fallbacks.
+            snapshot = BrandingSnapshot.build(cacheEntry.getPreference(), brandingFallbacks);
+            BrandingPreferenceCache.getInstance().addToCache(getBrandingPreferenceCacheKey(),
+                    new BrandingPreferenceCacheEntry(cacheEntry.getPreference(), snapshot,
+                            cacheEntry.getRetrievedTime()), tenantDomain);
+        }
+        return snapshot;
+    }
+
+    private static BrandingPreferenceCacheKey getBrandingPreferenceCacheKey() {
+
+        return BrandingPreferenceCacheKey.forBrandingPreference(BrandingPreferenceMgtConstants.DEFAULT_LOCALE);
+    }
+
+    private static BrandingPreferenceCacheEntry getBrandingPreferenceCacheEntry(String tenantDomain) {
+
+        if (!getNotificationConfig().isOrganizationLevelEmailBrandingEnabled()) {
+            return null;
+        }
+
+        BrandingPreferenceCacheKey cacheKey = getBrandingPreferenceCacheKey();
+        BrandingPreferenceCacheEntry cacheEntry =
+                BrandingPreferenceCache.getInstance().getValueFromCache(cacheKey, tenantDomain);
+        if (cacheEntry != null
+                && !cacheEntry.isExpired(getNotificationConfig().getBrandingPreferenceCacheMaxAgeMillis())) {
+            return cacheEntry;
         }
 
-        // Building the server url.
-        String serverURL;
-        String carbonUrlWithUserTenant;
-        String accountRecoveryEndpointURL = ConfigurationFacade.getInstance().getAccountRecoveryEndpointAbsolutePath();
-        String authenticationEndpointURL = ConfigurationFacade.getInstance().getAuthenticationEndpointAbsoluteURL();
+        JsonNode brandingPreferences;
         try {
-            serverURL = ServiceURLBuilder.create().build().getAbsolutePublicURL();
-            carbonUrlWithUserTenant = ServiceURLBuilder.create().build().getAbsolutePublicUrlWithoutPath();
-
-            if (IdentityTenantUtil.isTenantQualifiedUrlsEnabled() &&
-                    (isSuperTenantRequiredInUrl()
-                            || !SUPER_TENANT_DOMAIN_NAME.equalsIgnoreCase(placeHolderData.get(TENANT_DOMAIN)))) {
-                // If tenant domain is carbon.super, and super tenant is not required in the URL,
-                // then the tenant domain should not be appended.
-                carbonUrlWithUserTenant = ServiceURLBuilder.create().build().getAbsolutePublicUrlWithoutPath() + "/t" +
-                        "/" + placeHolderData.get(TENANT_DOMAIN);
+            BrandingPreferenceManager brandingPreferenceManager = new BrandingPreferenceManagerImpl();
+            BrandingPreference responseDTO = brandingPreferenceManager.resolveBrandingPreference(
+                    BrandingPreferenceMgtConstants.ORGANIZATION_TYPE, tenantDomain,
+                    BrandingPreferenceMgtConstants.DEFAULT_LOCALE);
+
+            brandingPreferences = OBJECT_MAPPER.valueToTree(responseDTO.getPreference());
+            if (!brandingPreferences.at(NotificationConstants.EmailNotification.BRANDING_PREFERENCES_IS_ENABLED_PATH)
+                    .asBoolean()) {
+                brandingPreferences = null;
             }
-        } catch (URLBuilderException e) {
-            throw NotificationRuntimeException.error("Error while building the server url.", e);
+        } catch (BrandingPreferenceMgtException e) {
+            if (!BrandingPreferenceMgtConstants.ErrorMessages.ERROR_CODE_BRANDING_PREFERENCE_NOT_EXISTS.getCode()
+                    .equals(e.getErrorCode())) {
+                if (log.isDebugEnabled()) {
+                    String message = "Error occurred while retrieving branding preferences for organization " +
+                            tenantDomain;
+                    log.debug(message, e);
+                }
+                return null;
+            }
+            brandingPreferences = null;
+        } catch (Exception e) {
+            if (log.isDebugEnabled()) {
+                String message = "Error occurred while retrieving branding preferences for organization " +
+                        tenantDomain;
+                log.debug(message, e);
+            }
+            return null;
         }
+        cacheEntry = new BrandingPreferenceCacheEntry(brandingPreferences,
+                BrandingSnapshot.build(brandingPreferences, getBrandingFallbacksFromConfigFile()));
+        BrandingPreferenceCache.getInstance().addToCache(cacheKey, cacheEntry, tenantDomain);
+        return cacheEntry;
+    }
 
-        placeHolderData.put(ACCOUNT_RECOVERY_ENDPOINT_PLACEHOLDER, accountRecoveryEndpointURL);
-        placeHolderData.put(AUTHENTICATION_ENDPOINT_PLACEHOLDER, authenticationEndpointURL);
-        String emailType = placeHolderData.get(TEMPLATE_TYPE);
-
-        if (MAGIC_LINK.equals(emailType)) {
-            String redirectUrl = placeHolderData.get(CALLBACK_URL);
-            String isAPIBasedAuthenticationFlow = placeHolderData.get(IS_API_BASED_AUTHENTICATION_SUPPORTED);
+    /**
+     * Clear the cached branding and custom text preferences of the given tenant. This is called when the branding or
+     * custom text preferences of the tenant are added, updated or deleted, and when the tenant is updated.
+     *
+     * @param tenantDomain Tenant domain.
+     */
+    public static void clearBrandingPreferenceCache(String tenantDomain) {
 
-            if (Boolean.parseBoolean(isAPIBasedAuthenticationFlow) && StringUtils.isNotEmpty(redirectUrl)) {
-                placeHolderData.put(CARBON_PRODUCT_URL_TEMPLATE_PLACEHOLDER, redirectUrl);
-                placeHolderData.put(CALLER_PATH_PLACEHOLDER, "");
-            } else {
-                placeHolderData.put(CARBON_PRODUCT_URL_TEMPLATE_PLACEHOLDER, serverURL);
-                placeHolderData.put(CALLER_PATH_PLACEHOLDER, "/commonauth");
-            }
-        } else {
-            placeHolderData.put(CARBON_PRODUCT_URL_TEMPLATE_PLACEHOLDER, serverURL);
+        if (log.isDebugEnabled()) {
+            log.debug("Clearing the notification branding preference cache of tenant: " + tenantDomain);
         }
-        placeHolderData.put(CARBON_PRODUCT_URL_WITH_USER_TENANT_TEMPLATE_PLACEHOLDER, carbonUrlWithUserTenant);
-        return placeHolderData;
+        BrandingPreferenceCache.getInstance().clear(tenantDomain);
     }
 
     /**
-     * Return copyright placeholder value for email templates from custom text preferences.
+     * Clear the cached server and endpoint URLs of the given tenant. This should be called when the tenant is
+     * updated.
      *
      * @param tenantDomain Tenant domain.
-     * @param locale       Locale of the email template.
-     * @return Copyright text placeholder value.
      */
-    public static String getCopyrightPlaceholderValueFromCustomTexts(String tenantDomain, String locale) {
+    public static void clearServerUrlCache(String tenantDomain) {
 
-        if (!Boolean.parseBoolean(IdentityUtil.getProperty(
-                NotificationConstants.EmailNotification.ENABLE_ORGANIZATION_LEVEL_EMAIL_BRANDING))) {
-            return null;
+        if (log.isDebugEnabled()) {
+            log.debug("Clearing the notification server url cache of tenant: " + tenantDomain);
+        }
+        ServerUrlCache.getInstance().clear(tenantDomain);
+    }
+
+    private static JsonNode getCustomTextPreference(String tenantDomain, String locale) {
+
+        BrandingPreferenceCacheKey cacheKey = BrandingPreferenceCacheKey.forCustomText(CUSTOM_TEXT_COMMON_SCREEN,
+                locale);
+        BrandingPreferenceCacheEntry cacheEntry =
+                BrandingPreferenceCache.getInstance().getValueFromCache(cacheKey, tenantDomain);
+        if (cacheEntry != null
+                && !cacheEntry.isExpired(getNotificationConfig().getBrandingPreferenceCacheMaxAgeMillis())) {
+            return cacheEntry.getPreference();
         }
 
-        JsonNode customTextPreference = null;
+        JsonNode customTextPreference;
         try {
             BrandingPreferenceManager brandingPreferenceManager = new BrandingPreferenceManagerImpl();
             CustomText responseDTO = brandingPreferenceManager.resolveCustomText(
                     BrandingPreferenceMgtConstants.ORGANIZATION_TYPE, tenantDomain, CUSTOM_TEXT_COMMON_SCREEN, locale);
 
-            ObjectMapper objectMapper = new ObjectMapper();
-            String json = objectMapper.writeValueAsString(responseDTO.getPreference());
-            customTextPreference = objectMapper.readTree(json);
+            customTextPreference = OBJECT_MAPPER.valueToTree(responseDTO.getPreference());
         } catch (BrandingPreferenceMgtException e) {
             if (BrandingPreferenceMgtConstants.ErrorMessages.ERROR_CODE_CUSTOM_TEXT_PREFERENCE_NOT_EXISTS.getCode()
                     .equals(e.getErrorCode())) {
@@ -361,6 +540,7 @@ public class NotificationUtil {
                             + tenantDomain;
                     log.debug(message, e);
                 }
+                return null;
             }
         } catch (Exception e) {
             if (log.isDebugEnabled()) {
@@ -368,60 +548,195 @@ public class NotificationUtil {
                         + tenantDomain;
                 log.debug(message, e);
             }
+            return null;
         }
+        BrandingPreferenceCache.getInstance().addToCache(cacheKey,
+                new BrandingPreferenceCacheEntry(customTextPreference), tenantDomain);
+        return customTextPreference;
+    }
 
-        if (customTextPreference != null) {
-            String copyrightValue = customTextPreference.at(CUSTOM_TEXT_COPYRIGHT_PATH).asText();
-            if (StringUtils.isNotBlank(copyrightValue)) {
-                // Replace {{currentYear}} with current year to change the copyright year in the email templates.
-                String currentYear = String.valueOf(Calendar.getInstance().get(Calendar.YEAR));
-                copyrightValue = copyrightValue.replace(CUSTOM_TEXT_COPYRIGHT_YEAR_KEY, (currentYear));
-                // Replace "\n" with Html new line character "<br>".
-                return copyrightValue.replace(NEW_LINE_CHARACTER_STRING, NEW_LINE_CHARACTER_HTML);
-            }
+    public static Map<String, String> getConfigFilePlaceholders() {
+
+        return getNotificationConfig().getConfigFilePlaceholders();
+    }
+
+    /**
+     * Create the bounded executor used to retrieve notification templates while the user claims are retrieved. The
+     * pool size and the queue size are read from identity.xml.
+     *
+     * @return Template prefetch executor.
+     */
+    public static ExecutorService createTemplatePrefetchExecutor() {
+
+        int poolSize = getPositiveIntProperty(NotificationConstants.TEMPLATE_PREFETCH_POOL_SIZE,
+                NotificationConstants.DEFAULT_TEMPLATE_PREFETCH_POOL_SIZE);
+        int queueSize = getPositiveIntProperty(NotificationConstants.TEMPLATE_PREFETCH_QUEUE_SIZE,
+                NotificationConstants.DEFAULT_TEMPLATE_PREFETCH_QUEUE_SIZE);
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "NotificationTemplatePrefetch-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Create the queue used to publish the notification events asynchronously, if asynchronous publishing is enabled
+     * in identity.xml. The pool size, the queue size and the rejection policy are read from identity.xml.
+     *
+     * @return Notification publish queue or null if the events are published on the request thread.
+     */
+    public static NotificationPublishQueue createNotificationPublishQueue() {
+
+        if (!Boolean.parseBoolean(IdentityUtil.getProperty(NotificationConstants.ASYNC_PUBLISH_ENABLED))) {
+            return null;
         }
-        return null;
+        int poolSize = getPositiveIntProperty(NotificationConstants.ASYNC_PUBLISH_POOL_SIZE,
+                NotificationConstants.DEFAULT_ASYNC_PUBLISH_POOL_SIZE);
+        int queueSize = getPositiveIntProperty(NotificationConstants.ASYNC_PUBLISH_QUEUE_SIZE,
+                NotificationConstants.DEFAULT_ASYNC_PUBLISH_QUEUE_SIZE);
+        NotificationPublishQueue.RejectionPolicy rejectionPolicy = NotificationPublishQueue.RejectionPolicy.fromName(
+                IdentityUtil.getProperty(NotificationConstants.ASYNC_PUBLISH_REJECTION_POLICY),
+                NotificationPublishQueue.RejectionPolicy.CALLER_RUNS);
+        return new NotificationPublishQueue(poolSize, queueSize, rejectionPolicy, NotificationUtil::publishEvent);
     }
 
-    public static Map<String, String> getConfigFilePlaceholders() {
+    /**
+     * Publish an event to the event stream. If asynchronous publishing is enabled, the event is enqueued to the
+     * notification publish queue and published in the tenant of the caller. Events of the same recipient are
+     * published in order, while the events without a recipient are spread over the workers.
+     *
+     * @param databridgeEvent Event to publish.
+     * @throws NotificationRuntimeException If the event is rejected by the notification publish queue.
+     */
+    public static void publishToStream(org.wso2.carbon.databridge.commons.Event databridgeEvent)
+            throws NotificationRuntimeException {
 
-        IdentityConfigParser configParser = IdentityConfigParser.getInstance();
-        OMElement placeHolderElem = configParser.getConfigElement(
-                NotificationConstants.EmailNotification.TEMPLATE_PLACEHOLDERS_ELEM);
-        if (placeHolderElem == null) {
-            return Collections.emptyMap();
+        NotificationPublishQueue publishQueue = NotificationHandlerDataHolder.getInstance()
+                .getNotificationPublishQueue();
+        if (publishQueue == null) {
+            NotificationHandlerDataHolder.getInstance().getEventStreamService().publish(databridgeEvent);
+            return;
         }
 
-        Iterator iterator = placeHolderElem.getChildrenWithLocalName(
-                NotificationConstants.EmailNotification.TEMPLATE_PLACEHOLDER_ELEM);
-        if (iterator == null) {
-            return Collections.emptyMap();
+        PrivilegedCarbonContext carbonContext = PrivilegedCarbonContext.getThreadLocalCarbonContext();
+        String orderingKey = null;
+        if (databridgeEvent.getArbitraryDataMap() != null) {
+            orderingKey = databridgeEvent.getArbitraryDataMap().get(NotificationConstants.ARBITRARY_SEND_TO);
+        }
+        publishQueue.enqueue(new NotificationPublishQueue.QueuedEvent(databridgeEvent, carbonContext.getTenantId(),
+                carbonContext.getTenantDomain()), orderingKey);
+        if (log.isDebugEnabled()) {
+            log.debug("Notification event of the stream: " + databridgeEvent.getStreamId() + " is enqueued. " +
+                    "Publish queue depth: " + publishQueue.getQueueDepth());
         }
+    }
+
+    private static void publishEvent(int tenantId, String tenantDomain,
+                                     org.wso2.carbon.databridge.commons.Event event) {
 
-        Map<String, String> placeholderMap = new HashMap<>();
-        while (iterator.hasNext()) {
-            OMElement omElement = (OMElement) iterator.next();
-            if (omElement != null) {
-                String key = omElement.getAttributeValue(
-                        new QName(NotificationConstants.EmailNotification.TEMPLATE_PLACEHOLDER_KEY_ATTRIB));
-                String value = omElement.getText();
-                placeholderMap.put(key, value);
+        EventStreamService service = NotificationHandlerDataHolder.getInstance().getEventStreamService();
+        if (service == null) {
+            log.warn("Event stream service is not available. Notification event of the stream: "
+                    + event.getStreamId() + " is dropped.");
+            return;
+        }
+        try {
+            PrivilegedCarbonContext.startTenantFlow();
+            PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantId(tenantId);
+            PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantDomain(tenantDomain);
+            service.publish(event);
+        } finally {
+            PrivilegedCarbonContext.endTenantFlow();
+        }
+    }
+
+    private static int getPositiveIntProperty(String propertyName, int defaultValue) {
+
+        String value = IdentityUtil.getProperty(propertyName);
+        if (StringUtils.isNotBlank(value)) {
+            try {
+                int intValue = Integer.parseInt(value.trim());
+                if (intValue > 0) {
+                    return intValue;
+                }
+            } catch (NumberFormatException e) {
+                log.warn("Invalid value: " + value + " configured for " + propertyName + ". Using the default value: "
+                        + defaultValue);
             }
         }
-        return placeholderMap;
+        return defaultValue;
     }
 
-    public static List<String> extractPlaceHolders(String value) {
+    /**
+     * Get the notification configurations read from identity.xml. The configurations are loaded when the component
+     * is activated, or on the first use if they are not loaded yet.
+     *
+     * @return Notification configuration snapshot.
+     */
+    public static NotificationConfigSnapshot getNotificationConfig() {
 
-        String exp = "\\{\\{(.*?)\\}\\}";
-        Pattern pattern = Pattern.compile(exp);
-        Matcher matcher = pattern.matcher(value);
-        List<String> placeHolders = new ArrayList<>();
-        while (matcher.find()) {
-            String group = matcher.group().replace("{{", "").replace("}}", "");
-            placeHolders.add(group);
+        NotificationConfigSnapshot notificationConfig =
+                NotificationHandlerDataHolder.getInstance().getNotificationConfig();
+        if (notificationConfig == null) {
+            notificationConfig = reloadNotificationConfig();
         }
-        return placeHolders;
+        return notificationConfig;
+    }
+
+    /**
+     * Read the notification configurations from identity.xml again and replace the current configurations.
+     *
+     * @return Reloaded notification configuration snapshot.
+     */
+    public static NotificationConfigSnapshot reloadNotificationConfig() {
+
+        NotificationConfigSnapshot notificationConfig = NotificationConfigSnapshot.load();
+        NotificationHandlerDataHolder.getInstance().setNotificationConfig(notificationConfig);
+        return notificationConfig;
+    }
+
+    /**
+     * Get the compiled form of the given template. Compiled templates are cached per tenant, channel, template type
+     * and locale, and reused as long as the content of the template is unchanged.
+     *
+     * @param emailTemplate       {@link org.wso2.carbon.email.mgt.model.EmailTemplate}
+     * @param notificationChannel Notification channel (SMS or EMAIL)
+     * @param tenantDomain        Tenant domain
+     * @return Compiled notification template
+     */
+    public static CompiledNotificationTemplate getCompiledNotificationTemplate(EmailTemplate emailTemplate,
+                                                                               String notificationChannel,
+                                                                               String tenantDomain) {
+
+        if (StringUtils.isBlank(tenantDomain)) {
+            return CompiledNotificationTemplate.compile(emailTemplate);
+        }
+        CompiledNotificationTemplateCache cache = CompiledNotificationTemplateCache.getInstance();
+        CompiledNotificationTemplateCacheKey cacheKey = new CompiledNotificationTemplateCacheKey(notificationChannel,
+                emailTemplate.getTemplateType(), emailTemplate.getLocale());
+        CompiledNotificationTemplateCacheEntry cacheEntry = cache.getValueFromCache(cacheKey, tenantDomain);
+        if (cacheEntry != null && cacheEntry.isCompiledFrom(emailTemplate)) {
+            return cacheEntry.getCompiledTemplate();
+        }
+        CompiledNotificationTemplate compiledTemplate = CompiledNotificationTemplate.compile(emailTemplate);
+        cache.addToCache(cacheKey, new CompiledNotificationTemplateCacheEntry(emailTemplate, compiledTemplate),
+                tenantDomain);
+        return compiledTemplate;
+    }
+
+    /**
+     * Extract the distinct placeholder names of the given template content, in the order of appearance.
+     *
+     * @param value Template content.
+     * @return Placeholder names. URL encoded placeholders keep the url: prefix.
+     */
+    public static List<String> extractPlaceHolders(String value) {
+
+        return new ArrayList<>(PlaceholderScanner.getPlaceholderNames(value));
     }
 
     public static String getUserStoreDomainName(UserStoreManager userStoreManager) {
@@ -472,36 +787,94 @@ public class NotificationUtil {
     }
 
     /**
-     * Retrieve default organization level branding configs.
+     * Get the keys referenced by the active event publishers of the given stream which are not in the given lean
+     * payload keys. The output mapping and the adapter dynamic properties of each publisher are scanned for
+     * {{key}} placeholders. Publishers whose output mapping is the default mapping or a registry resource cannot
+     * be scanned and are skipped.
      *
-     * @return map of default organization level branding configs.
+     * @param streamId        Stream id in the name:version format.
+     * @param leanPayloadKeys Keys published in the lean payload mode.
+     * @return Referenced keys which are not published in the lean payload mode.
+     * @throws NotificationRuntimeException If the event publishers of the stream cannot be retrieved.
      */
-    public static Map<String, String> getBrandingFallbacksFromConfigFile() {
+    public static Set<String> getKeysMissingFromLeanPayload(String streamId, Set<String> leanPayloadKeys)
+            throws NotificationRuntimeException {
 
-        IdentityConfigParser configParser = IdentityConfigParser.getInstance();
-        OMElement fallbackElem = configParser.getConfigElement(
-                NotificationConstants.EmailNotification.ORGANIZATION_LEVEL_EMAIL_BRANDING_FALLBACKS_ELEM);
-        if (fallbackElem == null) {
-            return Collections.emptyMap();
+        EventPublisherService eventPublisherService =
+                NotificationHandlerDataHolder.getInstance().getEventPublisherService();
+        try {
+            return getKeysMissingFromLeanPayload(
+                    eventPublisherService.getAllActiveEventPublisherConfigurations(streamId), leanPayloadKeys);
+        } catch (EventPublisherConfigurationException e) {
+            throw NotificationRuntimeException.error("Error in retrieving the publishers of the stream: "
+                    + streamId, e);
         }
+    }
 
-        Iterator iterator = fallbackElem.getChildrenWithLocalName(
-                NotificationConstants.EmailNotification.ORGANIZATION_LEVEL_EMAIL_BRANDING_FALLBACK_ELEM);
-        if (iterator == null) {
-            return Collections.emptyMap();
-        }
+    /**
+     * Get the keys referenced by the given event publishers which are not in the given lean payload keys.
+     *
+     * @param eventPublisherConfigurations Event publishers of a stream.
+     * @param leanPayloadKeys              Keys published in the lean payload mode.
+     * @return Referenced keys which are not published in the lean payload mode.
+     */
+    static Set<String> getKeysMissingFromLeanPayload(List<EventPublisherConfiguration> eventPublisherConfigurations,
+                                                     Set<String> leanPayloadKeys) {
 
-        Map<String, String> fallbackMap = new HashMap<>();
-        while (iterator.hasNext()) {
-            OMElement omElement = (OMElement) iterator.next();
-            if (omElement != null) {
-                String key = omElement.getAttributeValue(
-                        new QName(NotificationConstants.EmailNotification.ORGANIZATION_LEVEL_EMAIL_BRANDING_FALLBACK_KEY_ATTRIBUTE));
-                String value = omElement.getText();
-                fallbackMap.put(key, value);
+        Set<String> missingKeys = new LinkedHashSet<>();
+        if (eventPublisherConfigurations == null) {
+            return missingKeys;
+        }
+        for (EventPublisherConfiguration eventPublisherConfiguration : eventPublisherConfigurations) {
+            String mappingText = getOutputMappingText(eventPublisherConfiguration.getOutputMapping());
+            if (mappingText == null) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Output mapping of the event publisher: " + eventPublisherConfiguration
+                            .getEventPublisherName() + " cannot be checked against the lean payload keys.");
+                }
+                continue;
+            }
+            Set<String> referencedKeys = new LinkedHashSet<>(PlaceholderScanner.getPlaceholderNames(mappingText));
+            Map<String, String> adapterDynamicProperties = eventPublisherConfiguration.getToAdapterDynamicProperties();
+            if (adapterDynamicProperties != null) {
+                for (String propertyValue : adapterDynamicProperties.values()) {
+                    referencedKeys.addAll(PlaceholderScanner.getPlaceholderNames(propertyValue));
+                }
             }
+            referencedKeys.removeAll(leanPayloadKeys);
+            missingKeys.addAll(referencedKeys);
+        }
+        return missingKeys;
+    }
+
+    private static String getOutputMappingText(OutputMapping outputMapping) {
+
+        if (outputMapping == null || !outputMapping.isCustomMappingEnabled()) {
+            return null;
+        }
+        if (outputMapping instanceof TextOutputMapping) {
+            TextOutputMapping textOutputMapping = (TextOutputMapping) outputMapping;
+            return textOutputMapping.isRegistryResource() ? null : textOutputMapping.getMappingText();
+        }
+        if (outputMapping instanceof JSONOutputMapping) {
+            JSONOutputMapping jsonOutputMapping = (JSONOutputMapping) outputMapping;
+            return jsonOutputMapping.isRegistryResource() ? null : jsonOutputMapping.getMappingText();
+        }
+        if (outputMapping instanceof XMLOutputMapping) {
+            XMLOutputMapping xmlOutputMapping = (XMLOutputMapping) outputMapping;
+            return xmlOutputMapping.isRegistryResource() ? null : xmlOutputMapping.getMappingXMLText();
         }
-        return fallbackMap;
+        return null;
+    }
+
+    /**
+     * Retrieve default organization level branding configs.
+     *
+     * @return map of default organization level branding configs.
+     */
+    public static Map<String, String> getBrandingFallbacksFromConfigFile() {
+
+        return getNotificationConfig().getBrandingFallbacks();
     }
 
     /**
@@ -514,126 +887,42 @@ public class NotificationUtil {
      */
     public static String getBrandingPreference(String key, JsonNode brandingPreferences, Map<String, String> brandingFallbacks) {
 
-        String value = null;
-        boolean brandingIsEnabled = (brandingPreferences != null)
-                && brandingPreferences.at(NotificationConstants.EmailNotification.BRANDING_PREFERENCES_IS_ENABLED_PATH).asBoolean();
-        String theme = brandingIsEnabled
-                ? brandingPreferences.at("/theme/activeTheme").asText()
-                : NotificationConstants.EmailNotification.BRANDING_PREFERENCES_LIGHT_THEME;
-
-        switch (key) {
-            case "organization.logo.img" :
-                if (brandingIsEnabled && StringUtils.isNotBlank(
-                        getBrandingPreferenceByTheme(brandingPreferences, theme, BRANDING_PREFERENCES_LOGO_URL_PATH))) {
-                    value = getBrandingPreferenceByTheme(brandingPreferences, theme, BRANDING_PREFERENCES_LOGO_URL_PATH);
-                } else {
-                    value = (theme.equals(NotificationConstants.EmailNotification.BRANDING_PREFERENCES_LIGHT_THEME))
-                            ? brandingFallbacks.get("light_logo_url")
-                            : brandingFallbacks.get("dark_logo_url");
-                }
-                break;
-            case "organization.logo.altText" :
-                value = (brandingIsEnabled && StringUtils.isNotBlank(
-                            getBrandingPreferenceByTheme(brandingPreferences, theme, BRANDING_PREFERENCES_LOGO_ALTTEXT_PATH)))
-                        ? getBrandingPreferenceByTheme(brandingPreferences, theme, BRANDING_PREFERENCES_LOGO_ALTTEXT_PATH)
-                        : StringUtils.EMPTY;
-                break;
-            case "organization.copyright.text" :
-                value = (brandingIsEnabled && StringUtils.isNotBlank(
-                            brandingPreferences.at(BRANDING_PREFERENCES_COPYRIGHT_TEXT_PATH).asText()))
-                        ? brandingPreferences.at(BRANDING_PREFERENCES_COPYRIGHT_TEXT_PATH).asText()
-                        : brandingFallbacks.get("copyright_text")
-                            .replace("YYYY", String.valueOf(Calendar.getInstance().get(Calendar.YEAR)));
-                break;
-            case "organization.support.mail" :
-                value = (brandingIsEnabled && StringUtils.isNotBlank(
-                            brandingPreferences.at(BRANDING_PREFERENCES_SUPPORT_EMAIL_PATH).asText()))
-                        ? brandingPreferences.at(BRANDING_PREFERENCES_SUPPORT_EMAIL_PATH).asText()
-                        : brandingFallbacks.get("support_mail");
-                break;
-            case ORGANIZATION_NAME_PLACEHOLDER :
-                value = (brandingIsEnabled && StringUtils.isNotBlank(
-                        brandingPreferences.at(BRANDING_PREFERENCES_DISPLAY_NAME_PATH).asText()))
-                        ? brandingPreferences.at(BRANDING_PREFERENCES_DISPLAY_NAME_PATH).asText()
-                        : null; // Default value is not handled here since the parameter is not passed.
-                                // It will be handled in the caller.
-                break;
-            case "organization.color.primary" :
-                value = brandingIsEnabled
-                        ? !StringUtils.isBlank(getBrandingPreferenceByTheme(brandingPreferences, theme, "/colors/primary/main"))
-                            ? getBrandingPreferenceByTheme(brandingPreferences, theme, "/colors/primary/main")
-                            : getBrandingPreferenceByTheme(brandingPreferences, theme, "/colors/primary")
-                        : brandingFallbacks.get("primary_color");
-                break;
-            case "organization.color.background" :
-                value = brandingIsEnabled
-                        ? !StringUtils.isBlank(getBrandingPreferenceByTheme(brandingPreferences, theme, "/colors/background/body/main"))
-                            ? getBrandingPreferenceByTheme(brandingPreferences, theme, "/colors/background/body/main")
-                            : getBrandingPreferenceByTheme(brandingPreferences, theme, "/page/background/backgroundColor")
-                        : brandingFallbacks.get("background_color");
-                break;
-            case "organization.font" :
-                value = brandingIsEnabled
-                        ? getBrandingPreferenceByTheme(brandingPreferences, theme, "/typography/font/fontFamily")
-                        : brandingFallbacks.get("font_style");
-                break;
-            case "organization.font.color" :
-                value = brandingIsEnabled
-                        ? !StringUtils.isBlank(getBrandingPreferenceByTheme(brandingPreferences, theme, "/colors/text/primary"))
-                            ? getBrandingPreferenceByTheme(brandingPreferences, theme, "/colors/text/primary")
-                            : getBrandingPreferenceByTheme(brandingPreferences, theme, "/page/font/color")
-                        : brandingFallbacks.get("font_color");
-                break;
-            case "organization.button.font.color" :
-                value = brandingIsEnabled
-                        ? getBrandingPreferenceByTheme(brandingPreferences, theme, "/buttons/primary/base/font/color")
-                        : brandingFallbacks.get("button_font_color");
-                break;
-            case "organization.theme.background.color" :
-                value = brandingIsEnabled && !StringUtils.isBlank(getBrandingPreferenceByTheme(brandingPreferences, theme, "/colors/background/surface/main"))
-                            ? getBrandingPreferenceByTheme(brandingPreferences, theme, "/colors/background/surface/main")
-                            : theme.equals(NotificationConstants.EmailNotification.BRANDING_PREFERENCES_LIGHT_THEME)
-                                ? brandingFallbacks.get("light_background_color")
-                                : brandingFallbacks.get("dark_background_color");
-                break;
-            case "organization.theme.border.color" :
-                value = brandingIsEnabled && !StringUtils.isBlank(getBrandingPreferenceByTheme(brandingPreferences, theme, "/colors/outlined/default"))
-                        ? getBrandingPreferenceByTheme(brandingPreferences, theme, "/colors/outlined/default")
-                        : theme.equals(NotificationConstants.EmailNotification.BRANDING_PREFERENCES_LIGHT_THEME)
-                            ? brandingFallbacks.get("light_border_color")
-                            : brandingFallbacks.get("dark_border_color");
-                break;
-            default: break;
-        }
-
-        return value;
-    }
-
-    private static String getBrandingPreferenceByTheme(JsonNode brandingPreferences, String theme, String path) {
-
-        return brandingPreferences.at("/theme/" + theme + path).asText();
+        return BrandingSnapshot.resolveValue(key, brandingPreferences, brandingFallbacks);
     }
 
     public static Notification buildNotification(Event event, Map<String, String> placeHolderData)
             throws IdentityEventException, NotificationRuntimeException {
+
+        return buildNotification(event, new NotificationContext(Collections.<String, Object>emptyMap(),
+                placeHolderData));
+    }
+
+    /**
+     * Build the email notification of the event. Values resolved for the notification are set on the given context
+     * and the claims of the user are attached to it as the claim layer.
+     *
+     * @param event           Event.
+     * @param placeHolderData Notification context of the event.
+     * @return Email notification.
+     * @throws IdentityEventException       Error while building the notification.
+     * @throws NotificationRuntimeException Error while retrieving the email template.
+     */
+    public static Notification buildNotification(Event event, NotificationContext placeHolderData)
+            throws IdentityEventException, NotificationRuntimeException {
         //send-to parameter will be set by the event senders. Here it is first read from the request parameter and
         //if it is not there, then assume this sent-to parameter should read from user's email claim only.
         String sendTo = placeHolderData.get(NotificationConstants.EmailNotification.ARBITRARY_SEND_TO);
-        Map<String, String> userClaims = new HashMap<>();
         String notificationEvent = (String) event.getEventProperties().get(NotificationConstants.EmailNotification.EMAIL_TEMPLATE_TYPE);
-        String username = (String) event.getEventProperties().get(IdentityEventConstants.EventProperty.USER_NAME);
-        org.wso2.carbon.user.core.UserStoreManager userStoreManager = (org.wso2.carbon.user.core.UserStoreManager) event.getEventProperties().get(
-                IdentityEventConstants.EventProperty.USER_STORE_MANAGER);
-        String userStoreDomainName = (String) event.getEventProperties().get(IdentityEventConstants.EventProperty.USER_STORE_DOMAIN);
         String tenantDomain = (String) event.getEventProperties().get(IdentityEventConstants.EventProperty.TENANT_DOMAIN);
         String sendFrom = (String) event.getEventProperties().get(NotificationConstants.EmailNotification.ARBITRARY_SEND_FROM);
 
-        if (StringUtils.isNotBlank(username) && userStoreManager != null) {
-            userClaims = NotificationUtil.getUserClaimValues(username, userStoreManager);
-        } else if (StringUtils.isNotBlank(username) && StringUtils.isNotBlank(userStoreDomainName) &&
-                StringUtils.isNotBlank(tenantDomain)) {
-            userClaims = NotificationUtil.getUserClaimValues(username, userStoreDomainName, tenantDomain);
-        }
+        // Only the claims needed to select the template and the recipient are retrieved before the template is
+        // resolved. The claims used in the template are retrieved afterwards.
+        Set<String> retrievedClaimUris = new HashSet<>(Arrays.asList(
+                NotificationConstants.EmailNotification.CLAIM_URI_LOCALE,
+                NotificationConstants.EmailNotification.CLAIM_URI_EMAIL));
+        Map<String, String> userClaims = NotificationUtil.getUserClaimValues(event, retrievedClaimUris);
+        placeHolderData.setUserClaims(userClaims);
 
         String locale = getNotificationLocale();
         if (userClaims.containsKey(NotificationConstants.EmailNotification.CLAIM_URI_LOCALE)) {
@@ -662,7 +951,10 @@ public class NotificationUtil {
         int currentYear = Calendar.getInstance().get(Calendar.YEAR);
         placeHolderData.put("current-year", String.valueOf(currentYear));
 
-        NotificationUtil.getPlaceholderValues(emailTemplate, placeHolderData, userClaims);
+        CompiledNotificationTemplate compiledTemplate = getCompiledNotificationTemplate(emailTemplate,
+                NotificationChannels.EMAIL_CHANNEL.getChannelType(), tenantDomain);
+        addTemplateClaimValues(event, compiledTemplate, retrievedClaimUris, userClaims);
+        NotificationUtil.getPlaceholderValues(emailTemplate, compiledTemplate, placeHolderData, userClaims);
 
         if (StringUtils.isBlank(placeHolderData.get(ORGANIZATION_NAME_PLACEHOLDER))) {
             // If the organization display name is not configured with branding,
@@ -675,6 +967,7 @@ public class NotificationUtil {
                 new Notification.EmailNotificationBuilder(sendTo);
         builder.setSendFrom(sendFrom);
         builder.setTemplate(emailTemplate);
+        builder.setCompiledTemplate(compiledTemplate);
         builder.setPlaceHolderData(placeHolderData);
         Notification emailNotification = builder.build();
         return emailNotification;
@@ -689,11 +982,42 @@ public class NotificationUtil {
      */
     private static String resolveHumanReadableOrganizationName(String tenantDomain) throws IdentityEventException {
 
+        if (SUPER_TENANT_DOMAIN_NAME.equals(tenantDomain)) {
+            return tenantDomain;
+        }
+
+        OrganizationNameCacheKey cacheKey = new OrganizationNameCacheKey(tenantDomain);
+        OrganizationNameCacheEntry cacheEntry =
+                OrganizationNameCache.getInstance().getValueFromCache(cacheKey, tenantDomain);
+        if (cacheEntry != null) {
+            return cacheEntry.getOrganizationName();
+        }
+
+        String organizationName = getAssociatedOrganizationName(tenantDomain);
+        OrganizationNameCache.getInstance().addToCache(cacheKey, new OrganizationNameCacheEntry(organizationName),
+                tenantDomain);
+        return organizationName;
+    }
+
+    /**
+     * Clear the cached organization name of the given tenant. This should be called when the tenant or its
+     * associated organization is updated.
+     *
+     * @param tenantDomain Tenant domain.
+     */
+    public static void clearOrganizationNameCache(String tenantDomain) {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Clearing the notification organization name cache of tenant: " + tenantDomain);
+        }
+        OrganizationNameCache.getInstance().clearCacheEntry(new OrganizationNameCacheKey(tenantDomain),
+                tenantDomain);
+    }
+
+    private static String getAssociatedOrganizationName(String tenantDomain) throws IdentityEventException {
+
         String organizationName = tenantDomain;
         try {
-            if (SUPER_TENANT_DOMAIN_NAME.equals(tenantDomain)) {
-                return organizationName;
-            }
             RealmService realmService = NotificationHandlerDataHolder.getInstance().getRealmService();
             int tenantId = IdentityTenantUtil.getTenantId(tenantDomain);
             Tenant tenant = realmService.getTenantManager().getTenant(tenantId);
@@ -724,9 +1048,7 @@ public class NotificationUtil {
      */
     public static String getNotificationLocale() {
 
-        return StringUtils.isNotBlank(IdentityUtil.getProperty(NotificationConstants.NOTIFICATION_DEFAULT_LOCALE))
-                ? IdentityUtil.getProperty(NotificationConstants.NOTIFICATION_DEFAULT_LOCALE)
-                : NotificationConstants.EmailNotification.LOCALE_DEFAULT;
+        return getNotificationConfig().getNotificationLocale();
     }
 }
 
@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.testng.PowerMockTestCase;
+import org.powermock.reflect.Whitebox;
+import org.testng.Assert;
+import org.testng.IObjectFactory;
+import org.testng.SkipException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.ObjectFactory;
+import org.testng.annotations.Test;
+import org.wso2.carbon.base.CarbonBaseConstants;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.email.mgt.model.EmailTemplate;
+import org.wso2.carbon.event.publisher.core.EventPublisherService;
+import org.wso2.carbon.identity.central.log.mgt.utils.LoggerUtils;
+import org.wso2.carbon.identity.event.IdentityEventConstants;
+import org.wso2.carbon.identity.event.event.Event;
+import org.wso2.carbon.identity.event.handler.notification.email.bean.Notification;
+import org.wso2.carbon.identity.event.handler.notification.internal.NotificationHandlerDataHolder;
+import org.wso2.carbon.identity.event.handler.notification.template.CompiledNotificationTemplate;
+import org.wso2.carbon.identity.event.handler.notification.util.NotificationConfigSnapshot;
+import org.wso2.carbon.identity.event.handler.notification.util.NotificationContext;
+import org.wso2.carbon.identity.event.handler.notification.util.NotificationPublishQueue;
+import org.wso2.carbon.identity.event.handler.notification.util.NotificationUtil;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.powermock.api.mockito.PowerMockito.doAnswer;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.spy;
+
+/**
+ * Benchmark of {@link NotificationHandler#handleEvent(Event)} up to the event being enqueued by
+ * {@link NotificationHandler#publishToStream(Notification, Map)}, with the full and the lean payload. The template
+ * and the user claims are not retrieved, since {@link NotificationUtil#buildNotification(Event, NotificationContext)}
+ * is replaced with a stub that only renders a compiled template with the notification context. The allocation is
+ * measured on the request thread, so the figures include the dispatch of the stubbed call but not the publishing
+ * done by the workers of the publish queue. Benchmarks are not run by the default build. Run them with
+ * {@code mvn test -Pbenchmark}.
+ */
+@PrepareForTest({NotificationUtil.class, LoggerUtils.class})
+public class NotificationHandlerBenchmark extends PowerMockTestCase {
+
+    private static final Log log = LogFactory.getLog(NotificationHandlerBenchmark.class);
+
+    private static final int EVENT_PROPERTY_COUNT = 24;
+    private static final int WARMUP_ITERATIONS = 2000;
+    private static final int MEASURED_ROUNDS = 10;
+    private static final int ROUND_ITERATIONS = 1000;
+    private static final int PUBLISH_QUEUE_CAPACITY = 10000;
+    private static final String STREAM_ID = "id_gov_notify_stream:1.0.0";
+
+    private NotificationPublishQueue publishQueue;
+
+    @ObjectFactory
+    public IObjectFactory getObjectFactory() {
+
+        return new org.powermock.modules.testng.PowerMockObjectFactory();
+    }
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        String carbonHome = Paths.get(System.getProperty("user.dir"), "target", "test-classes").toString();
+        System.setProperty(CarbonBaseConstants.CARBON_HOME, carbonHome);
+        PrivilegedCarbonContext.startTenantFlow();
+        PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantId(MultitenantConstants.SUPER_TENANT_ID);
+        PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantDomain(
+                MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
+
+        mockStatic(LoggerUtils.class);
+        when(LoggerUtils.isDiagnosticLogsEnabled()).thenReturn(false);
+
+        EmailTemplate emailTemplate = buildEmailTemplate();
+        CompiledNotificationTemplate compiledTemplate = CompiledNotificationTemplate.compile(emailTemplate);
+        spy(NotificationUtil.class);
+        doAnswer(invocation -> {
+            NotificationContext notificationContext = (NotificationContext) invocation.getArguments()[1];
+            notificationContext.put("current-year", "2026");
+            Notification.EmailNotificationBuilder builder = new Notification.EmailNotificationBuilder(
+                    notificationContext.get(NotificationConstants.EmailNotification.ARBITRARY_SEND_TO));
+            builder.setTemplate(emailTemplate);
+            builder.setCompiledTemplate(compiledTemplate);
+            builder.setPlaceHolderData(notificationContext);
+            return builder.build();
+        }).when(NotificationUtil.class, "buildNotification", any(Event.class), any(NotificationContext.class));
+
+        EventPublisherService eventPublisherService = mock(EventPublisherService.class);
+        when(eventPublisherService.getAllActiveEventPublisherConfigurations(anyString()))
+                .thenReturn(Collections.emptyList());
+        NotificationHandlerDataHolder.getInstance().setEventPublisherService(eventPublisherService);
+
+        publishQueue = new NotificationPublishQueue(2, PUBLISH_QUEUE_CAPACITY,
+                NotificationPublishQueue.RejectionPolicy.CALLER_RUNS, (tenantId, tenantDomain, event) -> {
+        });
+        NotificationHandlerDataHolder.getInstance().setNotificationPublishQueue(publishQueue);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        publishQueue.shutdown(5, TimeUnit.SECONDS);
+        NotificationHandlerDataHolder.getInstance().setNotificationPublishQueue(null);
+        NotificationHandlerDataHolder.getInstance().setNotificationConfig(null);
+        NotificationHandlerDataHolder.getInstance().setEventPublisherService(null);
+        PrivilegedCarbonContext.endTenantFlow();
+    }
+
+    @Test
+    public void benchmarkHandleEvent() throws Exception {
+
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (!(threadMXBean instanceof com.sun.management.ThreadMXBean)) {
+            throw new SkipException("Thread allocation measurement is not supported by the JVM.");
+        }
+        com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadMXBean;
+        if (!allocationBean.isThreadAllocatedMemorySupported() || !allocationBean.isThreadAllocatedMemoryEnabled()) {
+            throw new SkipException("Thread allocation measurement is not enabled.");
+        }
+
+        NotificationHandler notificationHandler = new BenchmarkNotificationHandler();
+        Event event = buildEvent();
+        for (boolean leanPayloadEnabled : new boolean[]{false, true}) {
+            NotificationHandlerDataHolder.getInstance().setNotificationConfig(buildConfig(leanPayloadEnabled));
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                notificationHandler.handleEvent(event);
+            }
+
+            // The fastest round is reported, since the slower rounds are skewed by GC and JIT pauses.
+            long time = Long.MAX_VALUE;
+            long allocatedBytes = Long.MAX_VALUE;
+            long threadId = Thread.currentThread().getId();
+            for (int round = 0; round < MEASURED_ROUNDS; round++) {
+                long startBytes = allocationBean.getThreadAllocatedBytes(threadId);
+                long start = System.nanoTime();
+                for (int i = 0; i < ROUND_ITERATIONS; i++) {
+                    notificationHandler.handleEvent(event);
+                }
+                time = Math.min(time, System.nanoTime() - start);
+                allocatedBytes = Math.min(allocatedBytes,
+                        allocationBean.getThreadAllocatedBytes(threadId) - startBytes);
+            }
+
+            Assert.assertEquals(event.getEventProperties().size(), EVENT_PROPERTY_COUNT);
+            log.info(String.format("Notification handling with the %s payload and %d event properties: %d ns and " +
+                            "%d bytes allocated per notification.", leanPayloadEnabled ? "lean" : "full",
+                    EVENT_PROPERTY_COUNT, time / ROUND_ITERATIONS, allocatedBytes / ROUND_ITERATIONS));
+        }
+    }
+
+    private static Event buildEvent() {
+
+        Map<String, Object> eventProperties = new HashMap<>();
+        eventProperties.put(IdentityEventConstants.EventProperty.USER_NAME, "john");
+        eventProperties.put(IdentityEventConstants.EventProperty.USER_STORE_DOMAIN, "PRIMARY");
+        eventProperties.put(IdentityEventConstants.EventProperty.TENANT_DOMAIN,
+                MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
+        eventProperties.put(NotificationConstants.EmailNotification.EMAIL_TEMPLATE_TYPE, "AccountConfirmation");
+        eventProperties.put(NotificationConstants.EmailNotification.ARBITRARY_SEND_TO, "john@wso2.com");
+        eventProperties.put("confirmation-code", "3f4d8a2c-2b1e-4c6a-9d7f-0e5b1a2c3d4e");
+        for (int i = eventProperties.size(); i < EVENT_PROPERTY_COUNT; i++) {
+            eventProperties.put("property-" + i, "value-" + i);
+        }
+        return new Event("TRIGGER_NOTIFICATION", eventProperties);
+    }
+
+    private static EmailTemplate buildEmailTemplate() {
+
+        EmailTemplate emailTemplate = new EmailTemplate();
+        emailTemplate.setTemplateDisplayName("AccountConfirmation");
+        emailTemplate.setTemplateType("accountconfirmation");
+        emailTemplate.setLocale("en_US");
+        emailTemplate.setEmailContentType("text/html");
+        emailTemplate.setSubject("WSO2 - Account Confirmation of {{user-name}}");
+        emailTemplate.setBody("<p>Hi {{user-name}},</p><p>Confirm your account with the code " +
+                "{{confirmation-code}} before it expires.</p><p>Your user store is {{user-store-domain}}.</p>");
+        emailTemplate.setFooter("<p>&copy; {{current-year}} WSO2 LLC. All rights reserved.</p>");
+        return emailTemplate;
+    }
+
+    private static NotificationConfigSnapshot buildConfig(boolean leanPayloadEnabled) throws Exception {
+
+        Set<String> leanPayloadKeys = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(
+                NotificationConstants.EmailNotification.DEFAULT_LEAN_PAYLOAD_KEYS)));
+        return Whitebox.invokeConstructor(NotificationConfigSnapshot.class,
+                new Class<?>[]{Map.class, Map.class, String.class, boolean.class, boolean.class, Set.class,
+                        long.class},
+                new Object[]{Collections.emptyMap(), Collections.emptyMap(),
+                        NotificationConstants.EmailNotification.LOCALE_DEFAULT, false, leanPayloadEnabled,
+                        leanPayloadKeys, 0L});
+    }
+
+    /**
+     * Notification handler with a fixed stream and without a subscription template, which are otherwise read from
+     * the module configuration of the handler.
+     */
+    private static class BenchmarkNotificationHandler extends NotificationHandler {
+
+        @Override
+        protected String getNotificationTemplate(Event event) {
+
+            return null;
+        }
+
+        @Override
+        public String getStreamDefinitionID(Event event) {
+
+            return STREAM_ID;
+        }
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.cache;
+
+import org.mockito.Matchers;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.testng.PowerMockTestCase;
+import org.testng.Assert;
+import org.testng.IObjectFactory;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.ObjectFactory;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.branding.preference.management.core.BrandingPreferenceManagerImpl;
+import org.wso2.carbon.identity.branding.preference.management.core.constant.BrandingPreferenceMgtConstants;
+import org.wso2.carbon.identity.branding.preference.management.core.exception.BrandingPreferenceMgtException;
+import org.wso2.carbon.identity.branding.preference.management.core.model.BrandingPreference;
+import org.wso2.carbon.identity.branding.preference.management.core.model.CustomText;
+import org.wso2.carbon.identity.event.IdentityEventConstants;
+import org.wso2.carbon.identity.event.event.Event;
+import org.wso2.carbon.identity.event.handler.notification.NotificationConstants;
+import org.wso2.carbon.identity.event.handler.notification.internal.NotificationHandlerDataHolder;
+import org.wso2.carbon.identity.event.handler.notification.listener.BrandingPreferenceUpdateEventHandler;
+import org.wso2.carbon.identity.event.handler.notification.util.NotificationConfigSnapshot;
+import org.wso2.carbon.identity.event.handler.notification.util.NotificationUtil;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.whenNew;
+
+/**
+ * Class that contains the test cases for the caching of the branding and custom text preferences in
+ * {@link BrandingPreferenceCache}.
+ */
+@PrepareForTest({NotificationUtil.class, BrandingPreferenceCache.class, NotificationConfigSnapshot.class})
+public class BrandingPreferenceCacheTest extends PowerMockTestCase {
+
+    private static final String TENANT_DOMAIN = "wso2.com";
+    private static final long MAX_AGE_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private final Map<BrandingPreferenceCacheKey, BrandingPreferenceCacheEntry> cachedEntries = new HashMap<>();
+    private BrandingPreferenceManagerImpl brandingPreferenceManager;
+
+    @ObjectFactory
+    public IObjectFactory getObjectFactory() {
+
+        return new org.powermock.modules.testng.PowerMockObjectFactory();
+    }
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        // The cache is backed by a map, so that the entries added by NotificationUtil are read back.
+        cachedEntries.clear();
+        BrandingPreferenceCache brandingPreferenceCache = mock(BrandingPreferenceCache.class);
+        mockStatic(BrandingPreferenceCache.class);
+        when(BrandingPreferenceCache.getInstance()).thenReturn(brandingPreferenceCache);
+        when(brandingPreferenceCache.getValueFromCache(Matchers.any(BrandingPreferenceCacheKey.class),
+                Matchers.eq(TENANT_DOMAIN))).thenAnswer(invocation -> cachedEntries.get(invocation.getArguments()[0]));
+        doAnswer(invocation -> cachedEntries.put((BrandingPreferenceCacheKey) invocation.getArguments()[0],
+                (BrandingPreferenceCacheEntry) invocation.getArguments()[1])).when(brandingPreferenceCache)
+                .addToCache(Matchers.any(BrandingPreferenceCacheKey.class),
+                        Matchers.any(BrandingPreferenceCacheEntry.class), Matchers.eq(TENANT_DOMAIN));
+        doAnswer(invocation -> {
+            cachedEntries.clear();
+            return null;
+        }).when(brandingPreferenceCache).clear(TENANT_DOMAIN);
+
+        brandingPreferenceManager = mock(BrandingPreferenceManagerImpl.class);
+        whenNew(BrandingPreferenceManagerImpl.class).withNoArguments().thenReturn(brandingPreferenceManager);
+
+        NotificationConfigSnapshot notificationConfig = PowerMockito.mock(NotificationConfigSnapshot.class);
+        when(notificationConfig.isOrganizationLevelEmailBrandingEnabled()).thenReturn(true);
+        when(notificationConfig.getBrandingFallbacks()).thenReturn(Collections.<String, String>emptyMap());
+        when(notificationConfig.getBrandingPreferenceCacheMaxAgeMillis()).thenReturn(MAX_AGE_MILLIS);
+        NotificationHandlerDataHolder.getInstance().setNotificationConfig(notificationConfig);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        NotificationHandlerDataHolder.getInstance().setNotificationConfig(null);
+    }
+
+    @Test
+    public void testBrandingPreferenceIsServedFromCache() throws Exception {
+
+        mockBrandingPreference("WSO2");
+
+        Assert.assertEquals(NotificationUtil.getBrandingPreferences(TENANT_DOMAIN)
+                .at(NotificationConstants.EmailNotification.BRANDING_PREFERENCES_DISPLAY_NAME_PATH).asText(), "WSO2");
+        Assert.assertEquals(NotificationUtil.getBrandingSnapshot(TENANT_DOMAIN).getValue(
+                NotificationConstants.EmailNotification.ORGANIZATION_NAME_PLACEHOLDER), "WSO2");
+        Assert.assertNotNull(NotificationUtil.getBrandingPreferences(TENANT_DOMAIN));
+
+        verifyBrandingPreferenceRetrievals(1);
+        // The snapshot is built before the entry is cached.
+        Assert.assertNotNull(cachedEntries.get(BrandingPreferenceCacheKey.forBrandingPreference(
+                BrandingPreferenceMgtConstants.DEFAULT_LOCALE)).getBrandingSnapshot());
+    }
+
+    @Test
+    public void testMissingBrandingPreferenceIsCached() throws Exception {
+
+        mockBrandingPreferenceError(BrandingPreferenceMgtConstants.ErrorMessages
+                .ERROR_CODE_BRANDING_PREFERENCE_NOT_EXISTS.getCode());
+
+        Assert.assertNull(NotificationUtil.getBrandingPreferences(TENANT_DOMAIN));
+        Assert.assertNull(NotificationUtil.getBrandingPreferences(TENANT_DOMAIN));
+        Assert.assertFalse(NotificationUtil.getBrandingSnapshot(TENANT_DOMAIN).isBrandingEnabled());
+
+        verifyBrandingPreferenceRetrievals(1);
+    }
+
+    @Test
+    public void testFailedBrandingPreferenceRetrievalIsNotCached() throws Exception {
+
+        mockBrandingPreferenceError("BPM-65001");
+
+        Assert.assertNull(NotificationUtil.getBrandingPreferences(TENANT_DOMAIN));
+        Assert.assertNull(NotificationUtil.getBrandingPreferences(TENANT_DOMAIN));
+
+        verifyBrandingPreferenceRetrievals(2);
+        Assert.assertTrue(cachedEntries.isEmpty());
+    }
+
+    @Test
+    public void testExpiredBrandingPreferenceIsRetrievedAgain() throws Exception {
+
+        mockBrandingPreference("WSO2");
+        cachedEntries.put(BrandingPreferenceCacheKey.forBrandingPreference(BrandingPreferenceMgtConstants
+                .DEFAULT_LOCALE), new BrandingPreferenceCacheEntry(null, null,
+                System.currentTimeMillis() - MAX_AGE_MILLIS - 1));
+
+        Assert.assertNotNull(NotificationUtil.getBrandingPreferences(TENANT_DOMAIN));
+        Assert.assertNotNull(NotificationUtil.getBrandingPreferences(TENANT_DOMAIN));
+
+        verifyBrandingPreferenceRetrievals(1);
+    }
+
+    @Test
+    public void testCustomTextIsCachedPerLocale() throws Exception {
+
+        mockCustomText("en-US", "Copyright EN");
+        mockCustomText("fr-FR", "Copyright FR");
+
+        Assert.assertEquals(NotificationUtil.getCopyrightPlaceholderValueFromCustomTexts(TENANT_DOMAIN, "en-US"),
+                "Copyright EN");
+        Assert.assertEquals(NotificationUtil.getCopyrightPlaceholderValueFromCustomTexts(TENANT_DOMAIN, "fr-FR"),
+                "Copyright FR");
+        Assert.assertEquals(NotificationUtil.getCopyrightPlaceholderValueFromCustomTexts(TENANT_DOMAIN, "en-US"),
+                "Copyright EN");
+
+        verify(brandingPreferenceManager, times(1)).resolveCustomText(
+                BrandingPreferenceMgtConstants.ORGANIZATION_TYPE, TENANT_DOMAIN,
+                NotificationConstants.EmailNotification.CUSTOM_TEXT_COMMON_SCREEN, "en-US");
+        verify(brandingPreferenceManager, times(1)).resolveCustomText(
+                BrandingPreferenceMgtConstants.ORGANIZATION_TYPE, TENANT_DOMAIN,
+                NotificationConstants.EmailNotification.CUSTOM_TEXT_COMMON_SCREEN, "fr-FR");
+    }
+
+    @Test
+    public void testBrandingPreferenceUpdateEventClearsCache() throws Exception {
+
+        mockBrandingPreference("WSO2");
+        mockCustomText("en-US", "Copyright EN");
+        NotificationUtil.getBrandingPreferences(TENANT_DOMAIN);
+        NotificationUtil.getCopyrightPlaceholderValueFromCustomTexts(TENANT_DOMAIN, "en-US");
+
+        new BrandingPreferenceUpdateEventHandler().handleEvent(new Event(
+                NotificationConstants.POST_UPDATE_BRANDING_PREFERENCE, Collections.<String, Object>singletonMap(
+                IdentityEventConstants.EventProperty.TENANT_DOMAIN, TENANT_DOMAIN)));
+
+        mockBrandingPreference("WSO2 Updated");
+        Assert.assertEquals(NotificationUtil.getBrandingPreferences(TENANT_DOMAIN)
+                .at(NotificationConstants.EmailNotification.BRANDING_PREFERENCES_DISPLAY_NAME_PATH).asText(),
+                "WSO2 Updated");
+        NotificationUtil.getCopyrightPlaceholderValueFromCustomTexts(TENANT_DOMAIN, "en-US");
+        verify(brandingPreferenceManager, times(2)).resolveCustomText(
+                BrandingPreferenceMgtConstants.ORGANIZATION_TYPE, TENANT_DOMAIN,
+                NotificationConstants.EmailNotification.CUSTOM_TEXT_COMMON_SCREEN, "en-US");
+    }
+
+    private void mockBrandingPreference(String displayName) throws BrandingPreferenceMgtException {
+
+        Map<String, Object> configs = Collections.<String, Object>singletonMap("isBrandingEnabled", true);
+        Map<String, Object> organizationDetails = Collections.<String, Object>singletonMap("displayName",
+                displayName);
+        Map<String, Object> preference = new HashMap<>();
+        preference.put("configs", configs);
+        preference.put("organizationDetails", organizationDetails);
+
+        BrandingPreference brandingPreference = mock(BrandingPreference.class);
+        when(brandingPreference.getPreference()).thenReturn(preference);
+        when(brandingPreferenceManager.resolveBrandingPreference(BrandingPreferenceMgtConstants.ORGANIZATION_TYPE,
+                TENANT_DOMAIN, BrandingPreferenceMgtConstants.DEFAULT_LOCALE)).thenReturn(brandingPreference);
+    }
+
+    private void mockBrandingPreferenceError(String errorCode) throws BrandingPreferenceMgtException {
+
+        BrandingPreferenceMgtException exception = mock(BrandingPreferenceMgtException.class);
+        when(exception.getErrorCode()).thenReturn(errorCode);
+        when(brandingPreferenceManager.resolveBrandingPreference(BrandingPreferenceMgtConstants.ORGANIZATION_TYPE,
+                TENANT_DOMAIN, BrandingPreferenceMgtConstants.DEFAULT_LOCALE)).thenThrow(exception);
+    }
+
+    private void mockCustomText(String locale, String copyright) throws BrandingPreferenceMgtException {
+
+        CustomText customText = mock(CustomText.class);
+        when(customText.getPreference()).thenReturn(Collections.singletonMap("text",
+                Collections.singletonMap("copyright", copyright)));
+        when(brandingPreferenceManager.resolveCustomText(BrandingPreferenceMgtConstants.ORGANIZATION_TYPE,
+                TENANT_DOMAIN, NotificationConstants.EmailNotification.CUSTOM_TEXT_COMMON_SCREEN, locale))
+                .thenReturn(customText);
+    }
+
+    private void verifyBrandingPreferenceRetrievals(int count) throws BrandingPreferenceMgtException {
+
+        verify(brandingPreferenceManager, times(count)).resolveBrandingPreference(
+                BrandingPreferenceMgtConstants.ORGANIZATION_TYPE, TENANT_DOMAIN,
+                BrandingPreferenceMgtConstants.DEFAULT_LOCALE);
+    }
+}
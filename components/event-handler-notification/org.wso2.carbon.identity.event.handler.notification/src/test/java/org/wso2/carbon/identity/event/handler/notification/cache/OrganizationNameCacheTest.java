@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.cache;
+
+import org.mockito.Matchers;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.testng.PowerMockTestCase;
+import org.powermock.reflect.Whitebox;
+import org.testng.Assert;
+import org.testng.IObjectFactory;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.ObjectFactory;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.event.IdentityEventException;
+import org.wso2.carbon.identity.event.handler.notification.internal.NotificationHandlerDataHolder;
+import org.wso2.carbon.identity.event.handler.notification.util.NotificationUtil;
+import org.wso2.carbon.identity.organization.management.service.OrganizationManager;
+import org.wso2.carbon.identity.organization.management.service.exception.OrganizationManagementClientException;
+import org.wso2.carbon.identity.organization.management.service.exception.OrganizationManagementException;
+import org.wso2.carbon.user.core.service.RealmService;
+import org.wso2.carbon.user.core.tenant.Tenant;
+import org.wso2.carbon.user.core.tenant.TenantManager;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.wso2.carbon.identity.organization.management.service.constant.OrganizationManagementConstants.ErrorMessages.ERROR_CODE_ORGANIZATION_NOT_FOUND_FOR_TENANT;
+
+/**
+ * Class that contains the test cases for the caching of the organization names of the tenants in
+ * {@link OrganizationNameCache}.
+ */
+@PrepareForTest({OrganizationNameCache.class, IdentityTenantUtil.class})
+public class OrganizationNameCacheTest extends PowerMockTestCase {
+
+    private static final String TENANT_DOMAIN = "c2cb5a8e-8a2b-4f38-a1e4-4fe1e3a6e4b1";
+    private static final int TENANT_ID = 3;
+    private static final String ORGANIZATION_ID = "10084a8d-113f-4211-a0d5-efe36b082211";
+
+    private final Map<OrganizationNameCacheKey, OrganizationNameCacheEntry> cachedEntries = new HashMap<>();
+    private TenantManager tenantManager;
+    private Tenant tenant;
+    private OrganizationManager organizationManager;
+
+    @ObjectFactory
+    public IObjectFactory getObjectFactory() {
+
+        return new org.powermock.modules.testng.PowerMockObjectFactory();
+    }
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        // The cache is backed by a map, so that the entries added by NotificationUtil are read back.
+        cachedEntries.clear();
+        OrganizationNameCache organizationNameCache = mock(OrganizationNameCache.class);
+        mockStatic(OrganizationNameCache.class);
+        when(OrganizationNameCache.getInstance()).thenReturn(organizationNameCache);
+        when(organizationNameCache.getValueFromCache(Matchers.any(OrganizationNameCacheKey.class),
+                Matchers.eq(TENANT_DOMAIN))).thenAnswer(invocation -> cachedEntries.get(invocation.getArguments()[0]));
+        doAnswer(invocation -> cachedEntries.put((OrganizationNameCacheKey) invocation.getArguments()[0],
+                (OrganizationNameCacheEntry) invocation.getArguments()[1])).when(organizationNameCache)
+                .addToCache(Matchers.any(OrganizationNameCacheKey.class),
+                        Matchers.any(OrganizationNameCacheEntry.class), Matchers.eq(TENANT_DOMAIN));
+        doAnswer(invocation -> cachedEntries.remove(invocation.getArguments()[0])).when(organizationNameCache)
+                .clearCacheEntry(Matchers.any(OrganizationNameCacheKey.class), Matchers.eq(TENANT_DOMAIN));
+
+        mockStatic(IdentityTenantUtil.class);
+        when(IdentityTenantUtil.getTenantId(TENANT_DOMAIN)).thenReturn(TENANT_ID);
+
+        tenant = mock(Tenant.class);
+        tenantManager = mock(TenantManager.class);
+        when(tenantManager.getTenant(TENANT_ID)).thenReturn(tenant);
+        RealmService realmService = mock(RealmService.class);
+        when(realmService.getTenantManager()).thenReturn(tenantManager);
+        organizationManager = mock(OrganizationManager.class);
+        NotificationHandlerDataHolder.getInstance().setRealmService(realmService);
+        NotificationHandlerDataHolder.getInstance().setOrganizationManager(organizationManager);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        NotificationHandlerDataHolder.getInstance().setRealmService(null);
+        NotificationHandlerDataHolder.getInstance().setOrganizationManager(null);
+    }
+
+    @Test
+    public void testCacheKeyEquality() {
+
+        Assert.assertEquals(new OrganizationNameCacheKey(TENANT_DOMAIN), new OrganizationNameCacheKey(TENANT_DOMAIN));
+        Assert.assertEquals(new OrganizationNameCacheKey(TENANT_DOMAIN).hashCode(),
+                new OrganizationNameCacheKey(TENANT_DOMAIN).hashCode());
+        Assert.assertNotEquals(new OrganizationNameCacheKey(TENANT_DOMAIN), new OrganizationNameCacheKey("wso2.com"));
+    }
+
+    @Test
+    public void testOrganizationNameIsServedFromCache() throws Exception {
+
+        when(tenant.getAssociatedOrganizationUUID()).thenReturn(ORGANIZATION_ID);
+        when(organizationManager.getOrganizationNameById(ORGANIZATION_ID)).thenReturn("Sub Org");
+
+        Assert.assertEquals(resolveOrganizationName(), "Sub Org");
+        Assert.assertEquals(resolveOrganizationName(), "Sub Org");
+
+        verify(organizationManager, times(1)).getOrganizationNameById(ORGANIZATION_ID);
+    }
+
+    @Test
+    public void testTenantDomainIsCachedWhenTenantHasNoOrganization() throws Exception {
+
+        when(tenant.getAssociatedOrganizationUUID()).thenReturn(null);
+
+        Assert.assertEquals(resolveOrganizationName(), TENANT_DOMAIN);
+        Assert.assertEquals(resolveOrganizationName(), TENANT_DOMAIN);
+
+        verify(tenantManager, times(1)).getTenant(TENANT_ID);
+        Assert.assertEquals(cachedEntries.get(new OrganizationNameCacheKey(TENANT_DOMAIN)).getOrganizationName(),
+                TENANT_DOMAIN);
+    }
+
+    @Test
+    public void testTenantDomainIsCachedWhenOrganizationIsNotFound() throws Exception {
+
+        OrganizationManagementClientException exception = mock(OrganizationManagementClientException.class);
+        when(exception.getErrorCode()).thenReturn(ERROR_CODE_ORGANIZATION_NOT_FOUND_FOR_TENANT.getCode());
+        when(tenant.getAssociatedOrganizationUUID()).thenReturn(ORGANIZATION_ID);
+        when(organizationManager.getOrganizationNameById(ORGANIZATION_ID)).thenThrow(exception);
+
+        Assert.assertEquals(resolveOrganizationName(), TENANT_DOMAIN);
+        Assert.assertEquals(resolveOrganizationName(), TENANT_DOMAIN);
+
+        verify(organizationManager, times(1)).getOrganizationNameById(ORGANIZATION_ID);
+    }
+
+    @Test
+    public void testOrganizationNameIsNotCachedOnFailure() throws Exception {
+
+        when(tenant.getAssociatedOrganizationUUID()).thenReturn(ORGANIZATION_ID);
+        when(organizationManager.getOrganizationNameById(ORGANIZATION_ID))
+                .thenThrow(mock(OrganizationManagementException.class));
+
+        try {
+            resolveOrganizationName();
+            Assert.fail("Organization name resolution should fail when the organization cannot be retrieved.");
+        } catch (IdentityEventException e) {
+            // Expected since the organization cannot be retrieved.
+        }
+        Assert.assertTrue(cachedEntries.isEmpty());
+    }
+
+    @Test
+    public void testOrganizationNameIsResolvedAgainAfterCacheIsCleared() throws Exception {
+
+        when(tenant.getAssociatedOrganizationUUID()).thenReturn(null);
+        Assert.assertEquals(resolveOrganizationName(), TENANT_DOMAIN);
+
+        // The tenant is associated with an organization afterwards.
+        NotificationUtil.clearOrganizationNameCache(TENANT_DOMAIN);
+        when(tenant.getAssociatedOrganizationUUID()).thenReturn(ORGANIZATION_ID);
+        when(organizationManager.getOrganizationNameById(ORGANIZATION_ID)).thenReturn("Sub Org");
+
+        Assert.assertEquals(resolveOrganizationName(), "Sub Org");
+    }
+
+    private String resolveOrganizationName() throws Exception {
+
+        return Whitebox.invokeMethod(NotificationUtil.class, "resolveHumanReadableOrganizationName", TENANT_DOMAIN);
+    }
+}
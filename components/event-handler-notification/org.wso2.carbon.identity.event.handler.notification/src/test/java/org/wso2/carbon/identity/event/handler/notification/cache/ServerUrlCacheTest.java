@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.cache;
+
+import org.mockito.Matchers;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.testng.PowerMockTestCase;
+import org.testng.Assert;
+import org.testng.IObjectFactory;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.ObjectFactory;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.application.authentication.framework.config.ConfigurationFacade;
+import org.wso2.carbon.identity.core.ServiceURL;
+import org.wso2.carbon.identity.core.ServiceURLBuilder;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.event.handler.notification.NotificationConstants;
+import org.wso2.carbon.identity.event.handler.notification.placeholder.PlaceholderResolutionContext;
+import org.wso2.carbon.identity.event.handler.notification.placeholder.ServerUrlPlaceholderResolver;
+import org.wso2.carbon.identity.event.handler.notification.util.NotificationUtil;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.ACCOUNT_RECOVERY_ENDPOINT_PLACEHOLDER;
+import static org.wso2.carbon.identity.event.handler.notification.NotificationConstants.EmailNotification.CARBON_PRODUCT_URL_WITH_USER_TENANT_TEMPLATE_PLACEHOLDER;
+
+/**
+ * Class that contains the test cases for the caching of the server and endpoint URLs in {@link ServerUrlCache}.
+ */
+@PrepareForTest({ServerUrlCache.class, IdentityTenantUtil.class, ConfigurationFacade.class, ServiceURLBuilder.class})
+public class ServerUrlCacheTest extends PowerMockTestCase {
+
+    private static final String TENANT_DOMAIN = "wso2.com";
+    private static final String RECOVERY_ENDPOINT_URL = "https://localhost:9443/accountrecoveryendpoint";
+
+    private final Map<ServerUrlCacheKey, ServerUrlCacheEntry> cachedEntries = new HashMap<>();
+    private ConfigurationFacade configurationFacade;
+    private ServiceURL serviceURL;
+
+    @ObjectFactory
+    public IObjectFactory getObjectFactory() {
+
+        return new org.powermock.modules.testng.PowerMockObjectFactory();
+    }
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        // The cache is backed by a map, so that the entries added by the resolver are read back.
+        cachedEntries.clear();
+        ServerUrlCache serverUrlCache = mock(ServerUrlCache.class);
+        mockStatic(ServerUrlCache.class);
+        when(ServerUrlCache.getInstance()).thenReturn(serverUrlCache);
+        when(serverUrlCache.getValueFromCache(Matchers.any(ServerUrlCacheKey.class), Matchers.eq(TENANT_DOMAIN)))
+                .thenAnswer(invocation -> cachedEntries.get(invocation.getArguments()[0]));
+        doAnswer(invocation -> cachedEntries.put((ServerUrlCacheKey) invocation.getArguments()[0],
+                (ServerUrlCacheEntry) invocation.getArguments()[1])).when(serverUrlCache)
+                .addToCache(Matchers.any(ServerUrlCacheKey.class), Matchers.any(ServerUrlCacheEntry.class),
+                        Matchers.eq(TENANT_DOMAIN));
+        doAnswer(invocation -> {
+            cachedEntries.clear();
+            return null;
+        }).when(serverUrlCache).clear(TENANT_DOMAIN);
+
+        mockStatic(IdentityTenantUtil.class);
+        when(IdentityTenantUtil.getTenantDomainFromContext()).thenReturn(TENANT_DOMAIN);
+        when(IdentityTenantUtil.isTenantQualifiedUrlsEnabled()).thenReturn(true);
+
+        configurationFacade = mock(ConfigurationFacade.class);
+        mockStatic(ConfigurationFacade.class);
+        when(ConfigurationFacade.getInstance()).thenReturn(configurationFacade);
+        when(configurationFacade.getAccountRecoveryEndpointAbsolutePath()).thenReturn(RECOVERY_ENDPOINT_URL);
+
+        ServiceURLBuilder serviceURLBuilder = mock(ServiceURLBuilder.class);
+        serviceURL = mock(ServiceURL.class);
+        mockStatic(ServiceURLBuilder.class);
+        when(ServiceURLBuilder.create()).thenReturn(serviceURLBuilder);
+        when(serviceURLBuilder.build()).thenReturn(serviceURL);
+        when(serviceURL.getAbsolutePublicUrlWithoutPath()).thenReturn("https://localhost:9443");
+    }
+
+    @Test
+    public void testCacheKeyEquality() {
+
+        Assert.assertEquals(new ServerUrlCacheKey(ACCOUNT_RECOVERY_ENDPOINT_PLACEHOLDER, null),
+                new ServerUrlCacheKey(ACCOUNT_RECOVERY_ENDPOINT_PLACEHOLDER, null));
+        Assert.assertEquals(new ServerUrlCacheKey(ACCOUNT_RECOVERY_ENDPOINT_PLACEHOLDER, null).hashCode(),
+                new ServerUrlCacheKey(ACCOUNT_RECOVERY_ENDPOINT_PLACEHOLDER, null).hashCode());
+        Assert.assertNotEquals(new ServerUrlCacheKey(CARBON_PRODUCT_URL_WITH_USER_TENANT_TEMPLATE_PLACEHOLDER,
+                "abc.com"), new ServerUrlCacheKey(CARBON_PRODUCT_URL_WITH_USER_TENANT_TEMPLATE_PLACEHOLDER,
+                "xyz.com"));
+        Assert.assertNotEquals(new ServerUrlCacheKey(ACCOUNT_RECOVERY_ENDPOINT_PLACEHOLDER, null),
+                new ServerUrlCacheKey(CARBON_PRODUCT_URL_WITH_USER_TENANT_TEMPLATE_PLACEHOLDER, null));
+    }
+
+    @Test
+    public void testServerUrlIsServedFromCache() {
+
+        ServerUrlPlaceholderResolver resolver = new ServerUrlPlaceholderResolver();
+
+        Assert.assertEquals(resolver.resolve(ACCOUNT_RECOVERY_ENDPOINT_PLACEHOLDER, buildContext(TENANT_DOMAIN)),
+                RECOVERY_ENDPOINT_URL);
+        Assert.assertEquals(resolver.resolve(ACCOUNT_RECOVERY_ENDPOINT_PLACEHOLDER, buildContext(TENANT_DOMAIN)),
+                RECOVERY_ENDPOINT_URL);
+
+        verify(configurationFacade, times(1)).getAccountRecoveryEndpointAbsolutePath();
+    }
+
+    @Test
+    public void testUserTenantUrlIsCachedPerUserTenant() {
+
+        ServerUrlPlaceholderResolver resolver = new ServerUrlPlaceholderResolver();
+
+        Assert.assertEquals(resolver.resolve(CARBON_PRODUCT_URL_WITH_USER_TENANT_TEMPLATE_PLACEHOLDER,
+                buildContext("abc.com")), "https://localhost:9443/t/abc.com");
+        Assert.assertEquals(resolver.resolve(CARBON_PRODUCT_URL_WITH_USER_TENANT_TEMPLATE_PLACEHOLDER,
+                buildContext("xyz.com")), "https://localhost:9443/t/xyz.com");
+        Assert.assertEquals(resolver.resolve(CARBON_PRODUCT_URL_WITH_USER_TENANT_TEMPLATE_PLACEHOLDER,
+                buildContext("abc.com")), "https://localhost:9443/t/abc.com");
+
+        verify(serviceURL, times(2)).getAbsolutePublicUrlWithoutPath();
+        Assert.assertEquals(cachedEntries.size(), 2);
+    }
+
+    @Test
+    public void testServerUrlIsBuiltAgainAfterCacheIsCleared() {
+
+        ServerUrlPlaceholderResolver resolver = new ServerUrlPlaceholderResolver();
+        resolver.resolve(ACCOUNT_RECOVERY_ENDPOINT_PLACEHOLDER, buildContext(TENANT_DOMAIN));
+
+        NotificationUtil.clearServerUrlCache(TENANT_DOMAIN);
+        String updatedUrl = "https://wso2.com/accountrecoveryendpoint";
+        when(configurationFacade.getAccountRecoveryEndpointAbsolutePath()).thenReturn(updatedUrl);
+
+        Assert.assertEquals(resolver.resolve(ACCOUNT_RECOVERY_ENDPOINT_PLACEHOLDER, buildContext(TENANT_DOMAIN)),
+                updatedUrl);
+        verify(configurationFacade, times(2)).getAccountRecoveryEndpointAbsolutePath();
+    }
+
+    private PlaceholderResolutionContext buildContext(String userTenantDomain) {
+
+        return new PlaceholderResolutionContext(Collections.singletonMap(NotificationConstants.TENANT_DOMAIN,
+                userTenantDomain), null, null);
+    }
+}
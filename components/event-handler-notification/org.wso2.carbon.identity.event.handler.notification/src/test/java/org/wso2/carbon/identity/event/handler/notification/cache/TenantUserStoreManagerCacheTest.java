@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.cache;
+
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.testng.PowerMockTestCase;
+import org.testng.Assert;
+import org.testng.IObjectFactory;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.ObjectFactory;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.event.handler.notification.internal.NotificationHandlerDataHolder;
+import org.wso2.carbon.user.core.UserRealm;
+import org.wso2.carbon.user.core.UserStoreManager;
+import org.wso2.carbon.user.core.service.RealmService;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+
+/**
+ * Class that contains the test cases for TenantUserStoreManagerCache class.
+ */
+@PrepareForTest({IdentityTenantUtil.class})
+public class TenantUserStoreManagerCacheTest extends PowerMockTestCase {
+
+    private static final String TENANT_DOMAIN = "wso2.com";
+    private static final int TENANT_ID = 1;
+    private static final String OTHER_TENANT_DOMAIN = "abc.com";
+    private static final int OTHER_TENANT_ID = 2;
+
+    private RealmService realmService;
+    private UserRealm userRealm;
+    private UserRealm otherUserRealm;
+    private UserStoreManager userStoreManager;
+    private UserStoreManager otherUserStoreManager;
+
+    @ObjectFactory
+    public IObjectFactory getObjectFactory() {
+
+        return new org.powermock.modules.testng.PowerMockObjectFactory();
+    }
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        mockStatic(IdentityTenantUtil.class);
+        when(IdentityTenantUtil.getTenantId(TENANT_DOMAIN)).thenReturn(TENANT_ID);
+        when(IdentityTenantUtil.getTenantId(OTHER_TENANT_DOMAIN)).thenReturn(OTHER_TENANT_ID);
+
+        userStoreManager = mock(UserStoreManager.class);
+        otherUserStoreManager = mock(UserStoreManager.class);
+        userRealm = mock(UserRealm.class);
+        otherUserRealm = mock(UserRealm.class);
+        when(userRealm.getUserStoreManager()).thenReturn(userStoreManager);
+        when(otherUserRealm.getUserStoreManager()).thenReturn(otherUserStoreManager);
+        realmService = mock(RealmService.class);
+        when(realmService.getTenantUserRealm(TENANT_ID)).thenReturn(userRealm);
+        when(realmService.getTenantUserRealm(OTHER_TENANT_ID)).thenReturn(otherUserRealm);
+        NotificationHandlerDataHolder.getInstance().setRealmService(realmService);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        TenantUserStoreManagerCache.getInstance().clear(TENANT_DOMAIN);
+        TenantUserStoreManagerCache.getInstance().clear(OTHER_TENANT_DOMAIN);
+        NotificationHandlerDataHolder.getInstance().setRealmService(null);
+    }
+
+    @Test
+    public void testUserStoreManagerIsServedFromCache() throws Exception {
+
+        TenantUserStoreManagerCache cache = TenantUserStoreManagerCache.getInstance();
+
+        Assert.assertSame(cache.getUserStoreManager(TENANT_DOMAIN), userStoreManager);
+        Assert.assertSame(cache.getUserStoreManager(TENANT_DOMAIN), userStoreManager);
+        Assert.assertSame(cache.getUserStoreManager(OTHER_TENANT_DOMAIN), otherUserStoreManager);
+
+        verify(realmService, times(1)).getTenantUserRealm(TENANT_ID);
+        verify(realmService, times(1)).getTenantUserRealm(OTHER_TENANT_ID);
+    }
+
+    @Test
+    public void testMissingUserStoreManagerIsNotCached() throws Exception {
+
+        when(userRealm.getUserStoreManager()).thenReturn(null);
+        TenantUserStoreManagerCache cache = TenantUserStoreManagerCache.getInstance();
+
+        Assert.assertNull(cache.getUserStoreManager(TENANT_DOMAIN));
+        when(userRealm.getUserStoreManager()).thenReturn(userStoreManager);
+        Assert.assertSame(cache.getUserStoreManager(TENANT_DOMAIN), userStoreManager);
+
+        verify(realmService, times(2)).getTenantUserRealm(TENANT_ID);
+    }
+
+    @Test
+    public void testClearByTenantDomain() throws Exception {
+
+        TenantUserStoreManagerCache cache = TenantUserStoreManagerCache.getInstance();
+        cache.getUserStoreManager(TENANT_DOMAIN);
+        cache.getUserStoreManager(OTHER_TENANT_DOMAIN);
+
+        cache.clear(TENANT_DOMAIN);
+        cache.getUserStoreManager(TENANT_DOMAIN);
+        cache.getUserStoreManager(OTHER_TENANT_DOMAIN);
+
+        verify(realmService, times(2)).getTenantUserRealm(TENANT_ID);
+        verify(realmService, times(1)).getTenantUserRealm(OTHER_TENANT_ID);
+    }
+
+    @Test
+    public void testClearByTenantId() throws Exception {
+
+        TenantUserStoreManagerCache cache = TenantUserStoreManagerCache.getInstance();
+        cache.getUserStoreManager(TENANT_DOMAIN);
+        cache.getUserStoreManager(OTHER_TENANT_DOMAIN);
+
+        // The realm of the tenant is rebuilt after the tenant is deactivated or deleted.
+        UserStoreManager rebuiltUserStoreManager = mock(UserStoreManager.class);
+        when(userRealm.getUserStoreManager()).thenReturn(rebuiltUserStoreManager);
+        cache.clear(TENANT_ID);
+
+        Assert.assertSame(cache.getUserStoreManager(TENANT_DOMAIN), rebuiltUserStoreManager);
+        Assert.assertSame(cache.getUserStoreManager(OTHER_TENANT_DOMAIN), otherUserStoreManager);
+        verify(realmService, times(1)).getTenantUserRealm(OTHER_TENANT_ID);
+    }
+}
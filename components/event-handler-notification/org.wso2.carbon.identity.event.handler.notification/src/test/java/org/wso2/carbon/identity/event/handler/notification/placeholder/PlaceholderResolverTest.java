@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.placeholder;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.email.mgt.model.EmailTemplate;
+import org.wso2.carbon.identity.event.IdentityEventConstants;
+import org.wso2.carbon.identity.event.event.Event;
+import org.wso2.carbon.identity.event.handler.notification.internal.NotificationHandlerDataHolder;
+import org.wso2.carbon.identity.event.handler.notification.template.CompiledNotificationTemplate;
+import org.wso2.carbon.identity.event.handler.notification.util.NotificationUtil;
+import org.wso2.carbon.user.api.UserStoreManager;
+import org.wso2.carbon.user.core.UserCoreConstants;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Class that contains the test cases for placeholder resolution through PlaceholderResolver implementations.
+ */
+public class PlaceholderResolverTest {
+
+    private RecordingResolver orderResolver;
+    private RecordingResolver overridingResolver;
+    private UserClaimPlaceholderResolver userClaimResolver;
+
+    @BeforeMethod
+    public void setUp() {
+
+        orderResolver = new RecordingResolver("OrderResolver", 0, "order.", "default");
+        overridingResolver = new RecordingResolver("OverridingResolver", 10, "order.id", "override");
+        userClaimResolver = new UserClaimPlaceholderResolver();
+        NotificationHandlerDataHolder.getInstance().registerPlaceholderResolver(orderResolver);
+        NotificationHandlerDataHolder.getInstance().registerPlaceholderResolver(overridingResolver);
+        NotificationHandlerDataHolder.getInstance().registerPlaceholderResolver(userClaimResolver);
+        PlaceholderResolverMetrics.getInstance().reset();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        NotificationHandlerDataHolder.getInstance().unregisterPlaceholderResolver(orderResolver);
+        NotificationHandlerDataHolder.getInstance().unregisterPlaceholderResolver(overridingResolver);
+        NotificationHandlerDataHolder.getInstance().unregisterPlaceholderResolver(userClaimResolver);
+    }
+
+    @Test
+    public void testResolversAreNotCalledForUnusedPlaceholders() {
+
+        Map<String, String> placeholderData = resolve("Your one time password is {{otp}}.", new HashMap<>());
+
+        Assert.assertTrue(orderResolver.resolvedPlaceholders.isEmpty());
+        Assert.assertTrue(overridingResolver.resolvedPlaceholders.isEmpty());
+        Assert.assertFalse(placeholderData.containsKey("order.id"));
+        Assert.assertTrue(PlaceholderResolverMetrics.getInstance().getStatistics().isEmpty());
+    }
+
+    @Test
+    public void testResolverWithHighestPriorityIsUsed() {
+
+        Map<String, String> placeholderData = resolve("Order {{order.id}} of {{url:order.name}}",
+                new HashMap<>());
+
+        Assert.assertEquals(placeholderData.get("order.id"), "override");
+        Assert.assertEquals(placeholderData.get("order.name"), "default");
+        Assert.assertEquals(overridingResolver.resolvedPlaceholders.size(), 1);
+        Assert.assertEquals(orderResolver.resolvedPlaceholders.size(), 1);
+        Assert.assertEquals(PlaceholderResolverMetrics.getInstance().getStatistics("OverridingResolver")
+                .getInvocationCount(), 1);
+        Assert.assertEquals(PlaceholderResolverMetrics.getInstance().getStatistics("OrderResolver")
+                .getInvocationCount(), 1);
+    }
+
+    @Test
+    public void testUserClaimPlaceholders() {
+
+        Map<String, String> userClaims = new HashMap<>();
+        userClaims.put("http://wso2.org/claims/givenname", "John");
+        userClaims.put("http://wso2.org/claims/identity/accountState", "LOCKED");
+
+        Map<String, String> placeholderData = resolve("{{user.claim.givenname}} {{user.claim.identity.accountState}}" +
+                " {{user.claim.lastname}}", userClaims);
+
+        Assert.assertEquals(placeholderData.get("user.claim.givenname"), "John");
+        Assert.assertEquals(placeholderData.get("user.claim.identity.accountState"), "LOCKED");
+        Assert.assertEquals(placeholderData.get("user.claim.lastname"), "");
+    }
+
+    @Test
+    public void testOnlyTemplateClaimsAreRetrieved() throws Exception {
+
+        UserStoreManager userStoreManager = Mockito.mock(UserStoreManager.class);
+        Map<String, String> storedClaims = new HashMap<>();
+        storedClaims.put("http://wso2.org/claims/givenname", "John");
+        storedClaims.put("http://wso2.org/claims/identity/accountState", "LOCKED");
+        Mockito.when(userStoreManager.getUserClaimValues(Mockito.eq("john"), Mockito.any(String[].class),
+                Mockito.eq(UserCoreConstants.DEFAULT_PROFILE))).thenReturn(storedClaims);
+
+        Map<String, Object> eventProperties = new HashMap<>();
+        eventProperties.put(IdentityEventConstants.EventProperty.USER_NAME, "john");
+        eventProperties.put(IdentityEventConstants.EventProperty.USER_STORE_MANAGER, userStoreManager);
+        Event event = new Event("TRIGGER_NOTIFICATION", eventProperties);
+
+        EmailTemplate template = new EmailTemplate();
+        template.setBody("Hi {{user.claim.givenname}}, your account is {{user.claim.identity.accountState}}. " +
+                "Contact {{user.claim.emailaddress}}.");
+        Set<String> retrievedClaimUris = new HashSet<>(Arrays.asList("http://wso2.org/claims/emailaddress"));
+        Map<String, String> userClaims = new HashMap<>();
+        NotificationUtil.addTemplateClaimValues(event, CompiledNotificationTemplate.compile(template),
+                retrievedClaimUris, userClaims);
+
+        ArgumentCaptor<String[]> claimUris = ArgumentCaptor.forClass(String[].class);
+        Mockito.verify(userStoreManager).getUserClaimValues(Mockito.eq("john"), claimUris.capture(),
+                Mockito.eq(UserCoreConstants.DEFAULT_PROFILE));
+        Assert.assertEquals(new HashSet<>(Arrays.asList(claimUris.getValue())), new HashSet<>(Arrays.asList(
+                "http://wso2.org/claims/givenname", "http://wso2.org/claims/identity/accountState")));
+        Assert.assertEquals(userClaims.get("http://wso2.org/claims/givenname"), "John");
+        Assert.assertEquals(retrievedClaimUris.size(), 3);
+    }
+
+    private Map<String, String> resolve(String body, Map<String, String> userClaims) {
+
+        EmailTemplate template = new EmailTemplate();
+        template.setBody(body);
+        return NotificationUtil.getPlaceholderValues(template, CompiledNotificationTemplate.compile(template),
+                new HashMap<>(), userClaims);
+    }
+
+    private static class RecordingResolver implements PlaceholderResolver {
+
+        private final String name;
+        private final int priority;
+        private final String prefix;
+        private final String value;
+        private final List<String> resolvedPlaceholders = new ArrayList<>();
+
+        private RecordingResolver(String name, int priority, String prefix, String value) {
+
+            this.name = name;
+            this.priority = priority;
+            this.prefix = prefix;
+            this.value = value;
+        }
+
+        @Override
+        public String getName() {
+
+            return name;
+        }
+
+        @Override
+        public int getPriority() {
+
+            return priority;
+        }
+
+        @Override
+        public boolean canResolve(String placeholder) {
+
+            return placeholder.startsWith(prefix);
+        }
+
+        @Override
+        public String resolve(String placeholder, PlaceholderResolutionContext context) {
+
+            resolvedPlaceholders.add(placeholder);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.template;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.regex.Matcher;
+
+/**
+ * Class that contains the test cases for CompiledTemplate class.
+ */
+public class CompiledTemplateTest {
+
+    @DataProvider(name = "templateContentProvider")
+    public Object[][] templateContentProvider() {
+
+        return new Object[][]{
+                {"Plain content without placeholders."},
+                {""},
+                {"Hi {{user-name}},"},
+                {"{{user-name}}"},
+                {"<a href=\"{{carbon.product-url}}/accountrecoveryendpoint/confirmrecovery.do?confirmation=" +
+                        "{{confirmation-code}}&userstoredomain={{userstore-domain}}&username={{url:user-name}}" +
+                        "&tenantdomain={{tenant-domain}}\">Verify</a>"},
+                {"Dear {{user.claim.givenname}}, your OTP is {{otp}}. {{unknown}} stays as it is."},
+                {"Unclosed {{user-name and {{otp}}"},
+                {"Nested {{{{otp}} and {{{otp}}} braces"},
+                {"Line break {{user-\nname}} is not a placeholder but {{otp}} is."},
+                {"Special characters in values {{special}} and {{url:special}}."},
+                {"Empty {{}} placeholder and {{url:}} placeholder."},
+        };
+    }
+
+    @Test(dataProvider = "templateContentProvider")
+    public void testRenderMatchesRegexReplacement(String content) throws Exception {
+
+        Map<String, String> placeholderValues = new HashMap<>();
+        placeholderValues.put("user-name", "John Doe+1@example.com");
+        placeholderValues.put("carbon.product-url", "https://localhost:9443");
+        placeholderValues.put("confirmation-code", "a1b2c3");
+        placeholderValues.put("userstore-domain", "PRIMARY");
+        placeholderValues.put("tenant-domain", "carbon.super");
+        placeholderValues.put("user.claim.givenname", "John");
+        placeholderValues.put("otp", "123456");
+        placeholderValues.put("special", "$1 \\ & ?=");
+
+        Assert.assertEquals(CompiledTemplate.compile(content).render(placeholderValues),
+                replaceTags(content, placeholderValues));
+    }
+
+    @Test
+    public void testGetPlaceholderNames() {
+
+        CompiledTemplate template = CompiledTemplate.compile(
+                "{{user-name}} {{url:user-name}} {{otp}} {{user-name}} {{user-\nname}}");
+        Assert.assertEquals(template.getPlaceholderNames(),
+                new LinkedHashSet<>(Arrays.asList("user-name", "url:user-name", "otp")));
+    }
+
+    @Test
+    public void testRenderPrefixedValue() {
+
+        Map<String, String> placeholderValues = new HashMap<>();
+        placeholderValues.put("url:user.claim.givenname", "John Doe");
+
+        Assert.assertEquals(CompiledTemplate.compile("Hi {{url:user.claim.givenname}}").render(placeholderValues),
+                "Hi John Doe");
+    }
+
+    /**
+     * Regex based placeholder replacement which was used before templates were compiled.
+     */
+    private static String replaceTags(String content, Map<String, String> tagsData)
+            throws UnsupportedEncodingException {
+
+        for (Map.Entry<String, String> entry : tagsData.entrySet()) {
+            content = content.replaceAll("\\{\\{url:" + entry.getKey() + "\\}\\}",
+                    Matcher.quoteReplacement(URLEncoder.encode(entry.getValue(), "UTF-8")));
+            content = content.replaceAll("\\{\\{" + entry.getKey() + "\\}\\}",
+                    Matcher.quoteReplacement(entry.getValue()));
+        }
+        return content;
+    }
+}
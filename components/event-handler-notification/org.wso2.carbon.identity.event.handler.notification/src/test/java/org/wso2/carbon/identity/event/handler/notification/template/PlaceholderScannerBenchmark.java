@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.template;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+/**
+ * Benchmark of the placeholder extraction of {@link PlaceholderScanner} against the regex based extraction, on the
+ * default templates shipped in email-admin-config.xml. Benchmarks are not run by the default build. Run them with
+ * {@code mvn test -Pbenchmark}.
+ */
+public class PlaceholderScannerBenchmark {
+
+    private static final Log log = LogFactory.getLog(PlaceholderScannerBenchmark.class);
+
+    private static final int WARMUP_ITERATIONS = 2000;
+    private static final int MEASURED_ROUNDS = 10;
+    private static final int ROUND_ITERATIONS = 1000;
+
+    private int sink;
+
+    @Test
+    public void benchmarkDefaultTemplates() throws Exception {
+
+        List<String> templates = PlaceholderScannerTest.loadDefaultTemplates();
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += runRegex(templates) + runScanner(templates);
+        }
+
+        // The fastest round of each approach is reported, since the slower rounds are skewed by GC and JIT pauses.
+        long regexTime = Long.MAX_VALUE;
+        long scannerTime = Long.MAX_VALUE;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < ROUND_ITERATIONS; i++) {
+                sink += runRegex(templates);
+            }
+            regexTime = Math.min(regexTime, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            for (int i = 0; i < ROUND_ITERATIONS; i++) {
+                sink += runScanner(templates);
+            }
+            scannerTime = Math.min(scannerTime, System.nanoTime() - start);
+        }
+
+        Assert.assertTrue(sink > 0);
+        log.info(String.format("Placeholder extraction of %d template contents: regex %d ns, scanner %d ns per " +
+                        "pass, speedup %.2fx.", templates.size(), regexTime / ROUND_ITERATIONS,
+                scannerTime / ROUND_ITERATIONS, (double) regexTime / scannerTime));
+    }
+
+    private static int runRegex(List<String> templates) {
+
+        int count = 0;
+        for (String template : templates) {
+            count += PlaceholderScannerTest.extractWithRegex(template).size();
+        }
+        return count;
+    }
+
+    private static int runScanner(List<String> templates) {
+
+        int count = 0;
+        for (String template : templates) {
+            count += PlaceholderScanner.getPlaceholderNames(template).size();
+        }
+        return count;
+    }
+}
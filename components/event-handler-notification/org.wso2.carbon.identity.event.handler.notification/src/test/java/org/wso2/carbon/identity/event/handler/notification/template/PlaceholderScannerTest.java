@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.event.handler.notification.template;
+
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import java.io.File;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+/**
+ * Class that contains the test cases for PlaceholderScanner class.
+ */
+public class PlaceholderScannerTest {
+
+    private static final String EMAIL_ADMIN_CONFIG_PATH = Paths.get("..", "..", "..", "features",
+            "org.wso2.carbon.email.mgt.server.feature", "resources", "email-admin-config.xml").toString();
+    private static final String[] TEMPLATE_ELEMENTS = {"subject", "body", "footer"};
+
+    @DataProvider(name = "templateContentProvider")
+    public Object[][] templateContentProvider() {
+
+        return new Object[][]{
+                {""},
+                {"Plain content without placeholders."},
+                {"{{user-name}}"},
+                {"Hi {{user-name}}, {{url:user-name}} and {{user-name}} again."},
+                {"Line break {{user-\nname}} is not a placeholder but {{otp}} is."},
+                {"Empty {{}} placeholder and {{url:}} placeholder."},
+        };
+    }
+
+    @Test(dataProvider = "templateContentProvider")
+    public void testGetPlaceholderNamesMatchesRegex(String content) {
+
+        Assert.assertEquals(PlaceholderScanner.getPlaceholderNames(content), extractWithRegex(content));
+    }
+
+    @DataProvider(name = "unbalancedTemplateContentProvider")
+    public Object[][] unbalancedTemplateContentProvider() {
+
+        return new Object[][]{
+                {"Unclosed {{user-name and {{otp}}", new String[]{"otp"}},
+                {"Nested {{{{otp}} and {{{otp}}} braces", new String[]{"otp"}},
+                {"}}{{ reversed braces {{a}}}}{{b}}", new String[]{"a", "b"}},
+        };
+    }
+
+    @Test(dataProvider = "unbalancedTemplateContentProvider")
+    public void testGetPlaceholderNamesOfUnbalancedBraces(String content, String[] expectedNames) {
+
+        // Only the placeholders which are replaced when rendering are reported.
+        Assert.assertEquals(PlaceholderScanner.getPlaceholderNames(content),
+                new LinkedHashSet<>(Arrays.asList(expectedNames)));
+    }
+
+    @Test
+    public void testUrlPlaceholder() {
+
+        PlaceholderScanner scanner = new PlaceholderScanner("{{user-name}} {{url:user-name}}");
+
+        Assert.assertTrue(scanner.next());
+        Assert.assertFalse(scanner.isUrlPlaceholder());
+        Assert.assertEquals(scanner.getName(), "user-name");
+        Assert.assertEquals(scanner.getKey(), "user-name");
+        Assert.assertEquals(scanner.getStart(), 0);
+        Assert.assertEquals(scanner.getEnd(), 13);
+
+        Assert.assertTrue(scanner.next());
+        Assert.assertTrue(scanner.isUrlPlaceholder());
+        Assert.assertEquals(scanner.getName(), "url:user-name");
+        Assert.assertEquals(scanner.getKey(), "user-name");
+
+        Assert.assertFalse(scanner.next());
+    }
+
+    @Test
+    public void testGetPlaceholderNamesOfNullContent() {
+
+        Assert.assertTrue(PlaceholderScanner.getPlaceholderNames(null).isEmpty());
+    }
+
+    @Test
+    public void testGetPlaceholderNamesMatchesRegexOnDefaultTemplates() throws Exception {
+
+        for (String template : loadDefaultTemplates()) {
+            Assert.assertEquals(PlaceholderScanner.getPlaceholderNames(template), extractWithRegex(template));
+        }
+    }
+
+    /**
+     * Load the subject, body and footer of the default templates shipped in email-admin-config.xml.
+     */
+    static List<String> loadDefaultTemplates() throws Exception {
+
+        File configFile = new File(System.getProperty("basedir", System.getProperty("user.dir")),
+                EMAIL_ADMIN_CONFIG_PATH);
+        if (!configFile.isFile()) {
+            throw new SkipException("Default email templates are not available at " + configFile.getPath());
+        }
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+        factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+        Document document = factory.newDocumentBuilder().parse(configFile);
+
+        List<String> templates = new ArrayList<>();
+        NodeList configurations = document.getElementsByTagName("configuration");
+        for (int i = 0; i < configurations.getLength(); i++) {
+            Element configuration = (Element) configurations.item(i);
+            for (String elementName : TEMPLATE_ELEMENTS) {
+                NodeList elements = configuration.getElementsByTagName(elementName);
+                if (elements.getLength() > 0) {
+                    templates.add(elements.item(0).getTextContent());
+                }
+            }
+        }
+        Assert.assertFalse(templates.isEmpty());
+        return templates;
+    }
+
+    /**
+     * Regex based placeholder extraction which was used before the scanner was introduced.
+     */
+    static Set<String> extractWithRegex(String value) {
+
+        Pattern pattern = Pattern.compile("\\{\\{(.*?)\\}\\}");
+        Matcher matcher = pattern.matcher(value);
+        Set<String> placeHolders = new LinkedHashSet<>();
+        while (matcher.find()) {
+            placeHolders.add(matcher.group().replace("{{", "").replace("}}", ""));
+        }
+        return placeHolders;
+    }
+}
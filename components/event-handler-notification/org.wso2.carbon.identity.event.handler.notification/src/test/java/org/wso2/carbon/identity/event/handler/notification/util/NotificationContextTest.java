@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.util;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Class that contains the test cases for NotificationContext class.
+ */
+public class NotificationContextTest {
+
+    @Test
+    public void testValuesAreLayeredOverEventProperties() {
+
+        Map<String, Object> eventProperties = new HashMap<>();
+        eventProperties.put("user-name", "john");
+        eventProperties.put("send-to", "john@wso2.com");
+        eventProperties.put("user-store-manager", new Object());
+
+        NotificationContext context = new NotificationContext(eventProperties);
+        context.put("send-to", "admin@wso2.com");
+        context.put("current-year", "2026");
+
+        Assert.assertEquals(context.get("user-name"), "john");
+        Assert.assertEquals(context.get("send-to"), "admin@wso2.com");
+        Assert.assertFalse(context.containsKey("user-store-manager"));
+        Assert.assertEquals(context.size(), 3);
+        Map<String, String> expected = new HashMap<>();
+        expected.put("user-name", "john");
+        expected.put("send-to", "admin@wso2.com");
+        expected.put("current-year", "2026");
+        Assert.assertEquals(new HashMap<>(context), expected);
+        Assert.assertEquals(eventProperties.get("send-to"), "john@wso2.com");
+    }
+
+    @Test
+    public void testRemoveHidesEventProperty() {
+
+        Map<String, Object> eventProperties = new HashMap<>();
+        eventProperties.put("tmp-stream-id", "id_gov_notify_stream:1.0.0");
+
+        NotificationContext context = new NotificationContext(eventProperties);
+
+        Assert.assertEquals(context.remove("tmp-stream-id"), "id_gov_notify_stream:1.0.0");
+        Assert.assertNull(context.get("tmp-stream-id"));
+        Assert.assertTrue(context.isEmpty());
+        Assert.assertTrue(eventProperties.containsKey("tmp-stream-id"));
+        context.put("tmp-stream-id", "id_gov_sms_notify_stream:1.0.0");
+        Assert.assertEquals(context.get("tmp-stream-id"), "id_gov_sms_notify_stream:1.0.0");
+    }
+
+    @Test
+    public void testLookupFallsBackToUserClaims() {
+
+        NotificationContext context = new NotificationContext(Collections.<String, Object>singletonMap(
+                "user-name", "john"));
+        context.setUserClaims(Collections.singletonMap("http://wso2.org/claims/givenname", "John"));
+
+        Assert.assertEquals(context.lookup("user-name"), "john");
+        Assert.assertEquals(context.lookup("http://wso2.org/claims/givenname"), "John");
+        Assert.assertNull(context.get("http://wso2.org/claims/givenname"));
+        Assert.assertNull(context.lookup("http://wso2.org/claims/lastname"));
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.event.handler.notification.util;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.databridge.commons.Event;
+import org.wso2.carbon.identity.event.handler.notification.exception.NotificationRuntimeException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Class that contains the test cases for NotificationPublishQueue class.
+ */
+public class NotificationPublishQueueTest {
+
+    private static final String EMAIL_STREAM = "id_gov_notify_stream:1.0.0";
+    private static final String SMS_STREAM = "id_gov_sms_notify_stream:1.0.0";
+    private static final String TENANT_DOMAIN = "carbon.super";
+
+    @Test
+    public void testEventsOfSameRecipientArePublishedInOrder() throws InterruptedException {
+
+        RecordingPublisher publisher = new RecordingPublisher(3);
+        NotificationPublishQueue publishQueue = new NotificationPublishQueue(4, 20,
+                NotificationPublishQueue.RejectionPolicy.REJECT, publisher);
+        Event first = buildEvent(EMAIL_STREAM);
+        Event second = buildEvent(SMS_STREAM);
+        Event third = buildEvent(EMAIL_STREAM);
+        try {
+            for (Event event : Arrays.asList(first, second, third)) {
+                publishQueue.enqueue(new NotificationPublishQueue.QueuedEvent(event, -1234, TENANT_DOMAIN), "john");
+            }
+
+            Assert.assertTrue(publisher.published.await(5, TimeUnit.SECONDS));
+            Assert.assertEquals(publisher.events, Arrays.asList(first, second, third));
+            Assert.assertEquals(publisher.publisherThreads.size(), 1);
+            Assert.assertFalse(publisher.publisherThreads.contains(Thread.currentThread()));
+        } finally {
+            publishQueue.shutdown(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testEventsWithoutRecipientAreSpreadOverWorkers() throws InterruptedException {
+
+        RecordingPublisher publisher = new RecordingPublisher(4);
+        NotificationPublishQueue publishQueue = new NotificationPublishQueue(4, 20,
+                NotificationPublishQueue.RejectionPolicy.REJECT, publisher);
+        try {
+            for (int i = 0; i < 4; i++) {
+                publishQueue.enqueue(new NotificationPublishQueue.QueuedEvent(buildEvent(EMAIL_STREAM), -1234,
+                        TENANT_DOMAIN), null);
+            }
+
+            Assert.assertTrue(publisher.published.await(5, TimeUnit.SECONDS));
+            Assert.assertEquals(publisher.publisherThreads.size(), 4);
+        } finally {
+            publishQueue.shutdown(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testEventIsRejectedWhenQueueIsFull() throws InterruptedException {
+
+        BlockingPublisher publisher = new BlockingPublisher();
+        NotificationPublishQueue publishQueue = new NotificationPublishQueue(1, 1,
+                NotificationPublishQueue.RejectionPolicy.REJECT, publisher);
+        try {
+            fillQueue(publishQueue, publisher);
+            Assert.assertEquals(publishQueue.getQueueDepth(), 1);
+            try {
+                publishQueue.enqueue(new NotificationPublishQueue.QueuedEvent(buildEvent(EMAIL_STREAM), -1234,
+                        TENANT_DOMAIN), "john");
+                Assert.fail("Event should be rejected when the publish queue is full.");
+            } catch (NotificationRuntimeException e) {
+                // Expected since the queue is full.
+            }
+            Assert.assertEquals(publishQueue.getRejectedCount(), 1);
+        } finally {
+            publisher.release.countDown();
+            publishQueue.shutdown(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testEventIsPublishedByCallerWhenQueueIsFull() throws InterruptedException {
+
+        BlockingPublisher publisher = new BlockingPublisher();
+        NotificationPublishQueue publishQueue = new NotificationPublishQueue(1, 1,
+                NotificationPublishQueue.RejectionPolicy.CALLER_RUNS, publisher);
+        try {
+            fillQueue(publishQueue, publisher);
+            publishQueue.enqueue(new NotificationPublishQueue.QueuedEvent(buildEvent(EMAIL_STREAM), -1234,
+                    TENANT_DOMAIN), "john");
+            Assert.assertTrue(publisher.publisherThreads.contains(Thread.currentThread()));
+        } finally {
+            publisher.release.countDown();
+            publishQueue.shutdown(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testRejectionPolicyFromName() {
+
+        Assert.assertEquals(NotificationPublishQueue.RejectionPolicy.fromName("caller-runs",
+                NotificationPublishQueue.RejectionPolicy.BLOCK), NotificationPublishQueue.RejectionPolicy.CALLER_RUNS);
+        Assert.assertEquals(NotificationPublishQueue.RejectionPolicy.fromName("invalid",
+                NotificationPublishQueue.RejectionPolicy.BLOCK), NotificationPublishQueue.RejectionPolicy.BLOCK);
+        Assert.assertEquals(NotificationPublishQueue.RejectionPolicy.fromName(null,
+                NotificationPublishQueue.RejectionPolicy.REJECT), NotificationPublishQueue.RejectionPolicy.REJECT);
+    }
+
+    private void fillQueue(NotificationPublishQueue publishQueue, BlockingPublisher publisher)
+            throws InterruptedException {
+
+        // The only worker waits in the publisher, so the next event stays in the queue.
+        publishQueue.enqueue(new NotificationPublishQueue.QueuedEvent(buildEvent(EMAIL_STREAM), -1234,
+                TENANT_DOMAIN), "john");
+        Assert.assertTrue(publisher.entered.await(5, TimeUnit.SECONDS));
+        publishQueue.enqueue(new NotificationPublishQueue.QueuedEvent(buildEvent(EMAIL_STREAM), -1234,
+                TENANT_DOMAIN), "john");
+    }
+
+    private Event buildEvent(String streamId) {
+
+        Event event = new Event();
+        event.setStreamId(streamId);
+        return event;
+    }
+
+    private static class RecordingPublisher implements NotificationPublishQueue.EventPublisher {
+
+        private final List<Event> events = Collections.synchronizedList(new ArrayList<>());
+        private final Set<Thread> publisherThreads = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        private final CountDownLatch published;
+
+        private RecordingPublisher(int expectedEvents) {
+
+            this.published = new CountDownLatch(expectedEvents);
+        }
+
+        @Override
+        public void publish(int tenantId, String tenantDomain, Event event) {
+
+            publisherThreads.add(Thread.currentThread());
+            events.add(event);
+            published.countDown();
+        }
+    }
+
+    private static class BlockingPublisher implements NotificationPublishQueue.EventPublisher {
+
+        private final AtomicBoolean blocked = new AtomicBoolean();
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final List<Thread> publisherThreads = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void publish(int tenantId, String tenantDomain, Event event) {
+
+            publisherThreads.add(Thread.currentThread());
+            // Only the first event is held, so that the events published by the caller are not blocked.
+            if (!blocked.compareAndSet(false, true)) {
+                return;
+            }
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -22,12 +22,24 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.lang.StringUtils;
+import org.mockito.Mockito;
 import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
+import org.wso2.carbon.event.publisher.core.config.EventPublisherConfiguration;
+import org.wso2.carbon.event.publisher.core.config.mapping.TextOutputMapping;
+import org.wso2.carbon.identity.event.IdentityEventConstants;
+import org.wso2.carbon.identity.event.event.Event;
+import org.wso2.carbon.identity.event.handler.notification.NotificationConstants;
+import org.wso2.carbon.user.api.UserStoreManager;
+import org.wso2.carbon.user.core.UserCoreConstants;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Class that contains the test cases for NotificationUtil class.
@@ -242,4 +254,95 @@ public class NotificationUtilTest {
             Assert.assertEquals(themeBorderColor, ORGANIZATION_LIGHT_BORDER_COLOR_FALLBACK);
         }
     }
+
+    @Test
+    public void testUserClaimsAreRetrievedOncePerEvent() throws Exception {
+
+        UserStoreManager userStoreManager = Mockito.mock(UserStoreManager.class);
+        Mockito.when(userStoreManager.getUserClaimValues(Mockito.eq("john"), Mockito.any(String[].class),
+                Mockito.eq(UserCoreConstants.DEFAULT_PROFILE)))
+                .thenReturn(Collections.singletonMap("http://wso2.org/claims/emailaddress", "john@example.com"));
+
+        Event event = buildUserEvent(userStoreManager);
+
+        // Claims retrieved by the first handler of the event are reused by the second handler.
+        NotificationUtil.getUserClaimValues(event, Arrays.asList("http://wso2.org/claims/emailaddress"));
+        Map<String, String> userClaims = NotificationUtil.getUserClaimValues(event,
+                Arrays.asList("http://wso2.org/claims/emailaddress"));
+        Assert.assertEquals(userClaims.get("http://wso2.org/claims/emailaddress"), "john@example.com");
+        Mockito.verify(userStoreManager, Mockito.times(1)).getUserClaimValues(Mockito.eq("john"),
+                Mockito.any(String[].class), Mockito.eq(UserCoreConstants.DEFAULT_PROFILE));
+        // The shared claims are not kept in the event properties, which the handlers modify without synchronization.
+        Assert.assertEquals(event.getEventProperties().size(), 2);
+
+        // Claims are retrieved again for a different event.
+        NotificationUtil.getUserClaimValues(buildUserEvent(userStoreManager),
+                Arrays.asList("http://wso2.org/claims/emailaddress"));
+        Mockito.verify(userStoreManager, Mockito.times(2)).getUserClaimValues(Mockito.eq("john"),
+                Mockito.any(String[].class), Mockito.eq(UserCoreConstants.DEFAULT_PROFILE));
+    }
+
+    @Test
+    public void testNoKeysMissingWhenOutputMappingUsesLeanPayloadKeys() {
+
+        EventPublisherConfiguration eventPublisherConfiguration = buildEventPublisherConfiguration(
+                NotificationConstants.EmailNotification.OUTPUT_MAPPING_TEXT,
+                NotificationConstants.EmailNotification.OUTPUT_ADAPTOR_DYNAMIC_EMAIL_ADD_VALUE);
+        Set<String> leanPayloadKeys = new HashSet<>(Arrays.asList(
+                NotificationConstants.EmailNotification.DEFAULT_LEAN_PAYLOAD_KEYS));
+
+        Assert.assertTrue(NotificationUtil.getKeysMissingFromLeanPayload(
+                Collections.singletonList(eventPublisherConfiguration), leanPayloadKeys).isEmpty());
+    }
+
+    @Test
+    public void testKeysMissingWhenOutputMappingUsesOtherKeys() {
+
+        EventPublisherConfiguration mappingTextPublisher = buildEventPublisherConfiguration("{{body}}{{user-name}}",
+                NotificationConstants.EmailNotification.OUTPUT_ADAPTOR_DYNAMIC_EMAIL_ADD_VALUE);
+        EventPublisherConfiguration adapterPropertyPublisher = buildEventPublisherConfiguration(
+                NotificationConstants.EmailNotification.OUTPUT_MAPPING_TEXT, "{{tenant-domain}}");
+        Set<String> leanPayloadKeys = new HashSet<>(Arrays.asList(
+                NotificationConstants.EmailNotification.DEFAULT_LEAN_PAYLOAD_KEYS));
+
+        Set<String> missingKeys = NotificationUtil.getKeysMissingFromLeanPayload(
+                Arrays.asList(mappingTextPublisher, adapterPropertyPublisher), leanPayloadKeys);
+        Assert.assertEquals(missingKeys, new HashSet<>(Arrays.asList("user-name", "tenant-domain")));
+    }
+
+    @Test
+    public void testDefaultOutputMappingIsNotCheckedAgainstLeanPayloadKeys() {
+
+        EventPublisherConfiguration eventPublisherConfiguration = buildEventPublisherConfiguration(
+                "{{user-name}}", "{{tenant-domain}}");
+        eventPublisherConfiguration.getOutputMapping().setCustomMappingEnabled(false);
+
+        Assert.assertTrue(NotificationUtil.getKeysMissingFromLeanPayload(
+                Collections.singletonList(eventPublisherConfiguration), Collections.emptySet()).isEmpty());
+    }
+
+    private EventPublisherConfiguration buildEventPublisherConfiguration(String mappingText,
+                                                                         String sendToPropertyValue) {
+
+        TextOutputMapping textOutputMapping = new TextOutputMapping();
+        textOutputMapping.setCustomMappingEnabled(true);
+        textOutputMapping.setRegistryResource(false);
+        textOutputMapping.setMappingText(mappingText);
+        EventPublisherConfiguration eventPublisherConfiguration = new EventPublisherConfiguration();
+        eventPublisherConfiguration.setEventPublisherName(NotificationConstants.EmailNotification.EVENT_PUBLISHER_NAME);
+        eventPublisherConfiguration.setOutputMapping(textOutputMapping);
+        Map<String, String> adapterDynamicProperties = new HashMap<>();
+        adapterDynamicProperties.put(NotificationConstants.EmailNotification.OUTPUT_ADAPTOR_DYNAMIC_EMAIL_ADD_PROPERTY,
+                sendToPropertyValue);
+        eventPublisherConfiguration.setToAdapterDynamicProperties(adapterDynamicProperties);
+        return eventPublisherConfiguration;
+    }
+
+    private Event buildUserEvent(UserStoreManager userStoreManager) {
+
+        Map<String, Object> eventProperties = new HashMap<>();
+        eventProperties.put(IdentityEventConstants.EventProperty.USER_NAME, "john");
+        eventProperties.put(IdentityEventConstants.EventProperty.USER_STORE_MANAGER, userStoreManager);
+        return new Event("TRIGGER_NOTIFICATION", eventProperties);
+    }
 }